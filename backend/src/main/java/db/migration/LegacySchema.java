@@ -0,0 +1,62 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Catalog lookups for the V1_x migrations, which bring a database created before migrations
+ * existed up to the V1 schema. Every step checks first, so on a database created by V1 they
+ * change nothing.
+ */
+final class LegacySchema {
+
+    private LegacySchema() {
+    }
+
+    static boolean hasTable(Connection connection, String table) throws SQLException {
+        return exists(connection, "select 1 from information_schema.tables where table_schema = database() and table_name = ?",
+            table);
+    }
+
+    static boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        return exists(connection, "select 1 from information_schema.columns where table_schema = database() "
+            + "and table_name = ? and column_name = ?", table, column);
+    }
+
+    static boolean hasIndex(Connection connection, String table, String index) throws SQLException {
+        return exists(connection, "select 1 from information_schema.statistics where table_schema = database() "
+            + "and table_name = ? and index_name = ?", table, index);
+    }
+
+    static void addColumn(Connection connection, String table, String column, String definition) throws SQLException {
+        if (!hasColumn(connection, table, column)) {
+            execute(connection, "alter table " + table + " add column " + column + " " + definition);
+        }
+    }
+
+    static void addIndex(Connection connection, String table, String index, String columns) throws SQLException {
+        if (!hasIndex(connection, table, index)) {
+            execute(connection, "create index " + index + " on " + table + " (" + columns + ")");
+        }
+    }
+
+    static int execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            return statement.executeUpdate(sql);
+        }
+    }
+
+    private static boolean exists(Connection connection, String sql, String... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setString(i + 1, parameters[i]);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package db.migration;
+
+import static db.migration.LegacySchema.addColumn;
+import static db.migration.LegacySchema.addIndex;
+import static db.migration.LegacySchema.execute;
+import static db.migration.LegacySchema.hasColumn;
+import static db.migration.LegacySchema.hasTable;
+
+import java.sql.Connection;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Adds the tables, columns and indexes of V1 that a database created before migrations is
+ * missing. Such a database is baselined at V1 without running it, and may have been left by
+ * any earlier version of the entities under ddl-auto=update. The data held in the legacy
+ * columns is moved by the following V1_x migrations.
+ */
+public class V1_1__Legacy_schema extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+
+        addColumn(connection, "charging_outlet", "idle_fee_per_minute", "float(53) not null");
+        addColumn(connection, "charging_outlet", "idle_grace_minutes", "integer not null");
+        addColumn(connection, "charging_outlet", "price_per_kwh", "float(53) not null");
+
+        boolean settlementAdded = !hasColumn(connection, "charging_session", "settlement_status");
+        addColumn(connection, "charging_session", "last_activity_at", "datetime(6)");
+        addColumn(connection, "charging_session", "settled_at", "datetime(6)");
+        addColumn(connection, "charging_session", "settlement_failure", "varchar(255)");
+        addColumn(connection, "charging_session", "settlement_status", "enum ('FAILED','PENDING','SETTLED')");
+        if (settlementAdded) {
+            // Sessions used to be priced and charged as they ended, keep the settlement worker off them
+            execute(connection, "update charging_session set settlement_status = 'SETTLED', settled_at = end_time "
+                + "where end_time is not null");
+        }
+
+        addColumn(connection, "consumer", "wallet_cents", "bigint not null");
+
+        addColumn(connection, "reservation", "created_at", "datetime(6)");
+        addColumn(connection, "reservation", "end_at", "datetime(6)");
+        addColumn(connection, "reservation", "start_at", "datetime(6)");
+
+        if (!hasTable(connection, "idempotency_record")) {
+            execute(connection, """
+                create table idempotency_record (
+                    status integer not null,
+                    expires_at datetime(6) not null,
+                    fingerprint varchar(64) not null,
+                    content_type varchar(255),
+                    idempotency_key varchar(255) not null,
+                    body longblob,
+                    primary key (idempotency_key)
+                ) engine=InnoDB""");
+        }
+        if (!hasTable(connection, "meter_chunk")) {
+            execute(connection, """
+                create table meter_chunk (
+                    sample_count integer not null,
+                    end_at datetime(6) not null,
+                    id bigint not null auto_increment,
+                    session_id bigint not null,
+                    start_at datetime(6) not null,
+                    data tinyblob not null,
+                    primary key (id)
+                ) engine=InnoDB""");
+        }
+        if (!hasTable(connection, "outlet_tariff_band")) {
+            execute(connection, """
+                create table outlet_tariff_band (
+                    cost_per_hour float(53) not null,
+                    end_minute integer not null,
+                    position integer not null,
+                    start_minute integer not null,
+                    id bigint not null auto_increment,
+                    outlet_id bigint not null,
+                    primary key (id)
+                ) engine=InnoDB""");
+        }
+        if (!hasTable(connection, "wallet_snapshot")) {
+            execute(connection, """
+                create table wallet_snapshot (
+                    balance_cents bigint not null,
+                    consumer_id bigint not null,
+                    id bigint not null auto_increment,
+                    last_transaction_id bigint not null,
+                    taken_at datetime(6) not null,
+                    primary key (id)
+                ) engine=InnoDB""");
+        }
+        if (!hasTable(connection, "wallet_transaction")) {
+            execute(connection, """
+                create table wallet_transaction (
+                    amount_cents bigint not null,
+                    consumer_id bigint not null,
+                    created_at datetime(6) not null,
+                    id bigint not null auto_increment,
+                    reference varchar(255),
+                    type enum ('ADJUSTMENT','OPENING','RESERVATION_FEE','SESSION_CHARGE','TOP_UP') not null,
+                    primary key (id)
+                ) engine=InnoDB""");
+        }
+
+        addIndex(connection, "charging_session", "idx_session_status_start", "status, start_time");
+        addIndex(connection, "charging_session", "idx_session_settlement", "settlement_status, end_time");
+        addIndex(connection, "charging_station", "idx_station_lat_lon", "latitude, longitude");
+        addIndex(connection, "idempotency_record", "idx_idempotency_expires", "expires_at");
+        addIndex(connection, "meter_chunk", "idx_meter_chunk_session_time", "session_id, start_at, end_at");
+        addIndex(connection, "outlet_tariff_band", "idx_tariff_band_outlet", "outlet_id, position");
+        addIndex(connection, "reservation", "idx_reservation_outlet_time", "outlet_id, start_at, end_at");
+        addIndex(connection, "reservation", "idx_reservation_status_created", "status, created_at");
+        addIndex(connection, "reservation", "idx_reservation_consumer", "consumer_id, id");
+        addIndex(connection, "wallet_snapshot", "idx_wallet_snapshot_consumer", "consumer_id, last_transaction_id");
+        addIndex(connection, "wallet_transaction", "idx_wallet_tx_consumer", "consumer_id, id");
+    }
+}
@@ -0,0 +1,48 @@
+package db.migration;
+
+import static db.migration.LegacySchema.execute;
+import static db.migration.LegacySchema.hasColumn;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Moves the balances of the legacy {@code consumer.wallet} column into {@code wallet_cents}
+ * and the ledger, then drops the column, which has no default and would reject every new
+ * consumer under strict mode.
+ */
+public class V1_2__Legacy_wallet extends BaseJavaMigration {
+
+    // Exact-value rounding, half away from zero like WalletService.toCents
+    private static final String LEGACY_CENTS = "round(cast(wallet * 100 as decimal(20, 4)))";
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        if (!hasColumn(connection, "consumer", "wallet")) {
+            return;
+        }
+
+        long lastTransactionId;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select coalesce(max(id), 0) from wallet_transaction")) {
+            rs.next();
+            lastTransactionId = rs.getLong(1);
+        }
+
+        // Added rather than copied: under ddl-auto=update wallet_cents started at 0 and only
+        // moved by what was booked after the switch, all of which is already in the ledger
+        execute(connection, "update consumer set wallet_cents = wallet_cents + " + LEGACY_CENTS);
+        execute(connection, "insert into wallet_transaction (consumer_id, amount_cents, type, reference, created_at) "
+            + "select id, " + LEGACY_CENTS + ", 'OPENING', null, now(6) from consumer where " + LEGACY_CENTS + " <> 0");
+        // The opening entry is each consumer's newest, so a snapshot at it holds the whole balance
+        execute(connection, "insert into wallet_snapshot (consumer_id, last_transaction_id, balance_cents, taken_at) "
+            + "select t.consumer_id, t.id, c.wallet_cents, now(6) from wallet_transaction t "
+            + "join consumer c on c.id = t.consumer_id where t.id > " + lastTransactionId);
+        execute(connection, "alter table consumer drop column wallet");
+    }
+}
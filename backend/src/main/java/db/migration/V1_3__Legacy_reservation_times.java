@@ -0,0 +1,86 @@
+package db.migration;
+
+import static db.migration.LegacySchema.execute;
+import static db.migration.LegacySchema.hasColumn;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Fills {@code start_at} and {@code end_at} from the legacy {@code start_time} text and the
+ * duration, then drops the text column. Reservations without them are invisible to the
+ * overlap check and the schedule index, so a live one would be booked over.
+ */
+public class V1_3__Legacy_reservation_times extends BaseJavaMigration {
+
+    private static final Set<String> LIVE = Set.of("PENDING", "CONFIRMED", "IN_PROGRESS");
+
+    private record Times(long id, LocalDateTime startAt, LocalDateTime endAt) {}
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        if (!hasColumn(connection, "reservation", "start_time")) {
+            return;
+        }
+
+        List<Times> times = new ArrayList<>();
+        List<Long> unreadable = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select id, start_time, duration, status from reservation "
+                 + "where start_at is null and start_time is not null")) {
+            while (rs.next()) {
+                long id = rs.getLong(1);
+                LocalDateTime startAt = parse(rs.getString(2));
+                double duration = rs.getDouble(3);
+                boolean noDuration = rs.wasNull();
+                if (startAt == null) {
+                    if (LIVE.contains(rs.getString(4))) {
+                        unreadable.add(id);
+                    }
+                    continue;
+                }
+                // Same rounding as Reservation.updateEndAt
+                times.add(new Times(id, startAt, noDuration ? null : startAt.plusMinutes((long) (duration * 60))));
+            }
+        }
+        if (!unreadable.isEmpty()) {
+            throw new FlywayException("Live reservations " + unreadable + " have a start_time that is not an ISO date-time; "
+                + "correct or cancel them and migrate again");
+        }
+
+        try (PreparedStatement update = connection.prepareStatement("update reservation set start_at = ?, end_at = ? where id = ?")) {
+            for (Times t : times) {
+                update.setTimestamp(1, Timestamp.valueOf(t.startAt()));
+                update.setTimestamp(2, t.endAt() == null ? null : Timestamp.valueOf(t.endAt()));
+                update.setLong(3, t.id());
+                update.addBatch();
+            }
+            update.executeBatch();
+        }
+        // Creation times were never recorded; unpaid ones get the full payment window from now
+        execute(connection, "update reservation set created_at = now(6) where created_at is null");
+        execute(connection, "alter table reservation drop column start_time");
+    }
+
+    // The text was always written and read back with LocalDateTime.parse
+    private static LocalDateTime parse(String startTime) {
+        try {
+            return LocalDateTime.parse(startTime.trim());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
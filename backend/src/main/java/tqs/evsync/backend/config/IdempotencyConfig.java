@@ -0,0 +1,41 @@
+package tqs.evsync.backend.config;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import tqs.evsync.backend.idempotency.IdempotencyStore;
+import tqs.evsync.backend.idempotency.InMemoryIdempotencyStore;
+import tqs.evsync.backend.idempotency.JpaIdempotencyStore;
+import tqs.evsync.backend.repository.IdempotencyRecordRepository;
+
+/**
+ * Picks the store behind the Idempotency-Key header: in memory by default, or the
+ * database with {@code evsync.idempotency.store=jpa}.
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    @Value("${evsync.idempotency.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${evsync.idempotency.ttl:24h}")
+    private Duration ttl;
+
+    @Bean
+    @ConditionalOnProperty(name = "evsync.idempotency.store", havingValue = "memory", matchIfMissing = true)
+    public IdempotencyStore inMemoryIdempotencyStore() {
+        return new InMemoryIdempotencyStore(maxEntries, ttl, Clock.systemUTC());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "evsync.idempotency.store", havingValue = "jpa")
+    public IdempotencyStore jpaIdempotencyStore(IdempotencyRecordRepository repository) {
+        return new JpaIdempotencyStore(repository, new InMemoryIdempotencyStore(maxEntries, ttl, Clock.systemUTC()),
+            ttl, Clock.systemUTC());
+    }
+}
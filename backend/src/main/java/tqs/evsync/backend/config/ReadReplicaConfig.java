@@ -0,0 +1,81 @@
+package tqs.evsync.backend.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import tqs.evsync.backend.routing.ReadOnlyCacheModeListener;
+import tqs.evsync.backend.routing.ReplicaRoutingDataSource;
+
+/**
+ * Splits reads from writes once {@code evsync.datasource.replica-urls} lists one or more
+ * replicas: {@code @Transactional(readOnly = true)} service methods run on a replica, all
+ * other work stays on the {@code spring.datasource} primary. Without replicas Spring Boot's
+ * single datasource is left as it is.
+ */
+@Configuration
+@ConditionalOnProperty("evsync.datasource.replica-urls")
+public class ReadReplicaConfig {
+
+    // A replica that is down should cost a read (or the heartbeat check) at most this long
+    private static final long REPLICA_CONNECTION_TIMEOUT_MS = 1000;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource, DataSourceProperties properties, MeterRegistry meterRegistry,
+            @Value("${evsync.datasource.replica-urls}") String[] replicaUrls,
+            @Value("${evsync.datasource.replica-username:${spring.datasource.username:}}") String username,
+            @Value("${evsync.datasource.replica-password:${spring.datasource.password:}}") String password,
+            @Value("${evsync.datasource.replica-max-lag:5s}") Duration maxLag) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url.trim())
+                .username(username)
+                .password(password)
+                .build();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setReadOnly(true);
+            replica.setConnectionTimeout(REPLICA_CONNECTION_TIMEOUT_MS);
+            // Start even if the replica is down, the heartbeat check keeps reads away from it
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReadOnlyCacheModeListener readOnlyCacheModeListener(EntityManagerFactory entityManagerFactory) {
+        return new ReadOnlyCacheModeListener(entityManagerFactory);
+    }
+}
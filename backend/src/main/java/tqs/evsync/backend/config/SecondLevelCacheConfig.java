@@ -0,0 +1,86 @@
+package tqs.evsync.backend.config;
+
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Hibernate second-level and query cache for the station/outlet catalogue. Every region is
+ * created up front in a Caffeine-backed JCache manager so it gets a size bound (JCache
+ * caches are unbounded by default) and statistics, published as the {@code cache.*} meters
+ * tagged with the region name. Hibernate refuses to start if an entity asks for a region
+ * that is not declared here.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String STATIONS = "catalogue.station";
+    public static final String STATION_OUTLETS = "catalogue.station.outlets";
+    public static final String OUTLETS = "catalogue.outlet";
+    public static final String USERS = "catalogue.user";
+
+    private final CacheManager cacheManager;
+
+    public SecondLevelCacheConfig(MeterRegistry meterRegistry,
+                                  @Value("${evsync.cache.catalogue.max-entries:10000}") long catalogueMaxEntries,
+                                  @Value("${evsync.cache.query.max-entries:1000}") long queryMaxEntries) {
+        // One manager per application context: test contexts share the JVM and must not share regions
+        cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager(URI.create("evsync:l2:" + UUID.randomUUID()), getClass().getClassLoader());
+
+        for (String region : List.of(STATIONS, STATION_OUTLETS, OUTLETS, USERS)) {
+            createRegion(region, OptionalLong.of(catalogueMaxEntries), meterRegistry);
+        }
+        createRegion(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, OptionalLong.of(queryMaxEntries), meterRegistry);
+        // Holds one entry per table, and evicting one would let stale query results through
+        createRegion(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, OptionalLong.empty(), meterRegistry);
+    }
+
+    private void createRegion(String name, OptionalLong maximumSize, MeterRegistry meterRegistry) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(maximumSize);
+        configuration.setStatisticsEnabled(true);
+        // Hibernate already stores disassembled state, copying it again on every read buys nothing
+        configuration.setStoreByValue(false);
+        Cache<Object, Object> cache = cacheManager.createCache(name, configuration);
+        JCacheMetrics.monitor(meterRegistry, cache);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            // Outlets are saved and deleted on their own, and the station's cached outlet list must follow
+            properties.put(AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @PreDestroy
+    public void close() {
+        cacheManager.close();
+    }
+}
@@ -1,15 +1,21 @@
 package tqs.evsync.backend.controller;
 
+import java.util.NoSuchElementException;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import tqs.evsync.backend.dto.TariffDefinition;
 import tqs.evsync.backend.model.ChargingOutlet;
 import tqs.evsync.backend.model.ChargingStation;
+import tqs.evsync.backend.paging.Keyset;
+import tqs.evsync.backend.paging.Pagination;
 import tqs.evsync.backend.repository.ChargingOutletRepository;
 import tqs.evsync.backend.repository.ChargingStationRepository;
+import tqs.evsync.backend.service.TariffService;
 
 @CrossOrigin(origins = "http://localhost:3000")
 @RestController
@@ -22,6 +28,12 @@ public class ChargingOutletController {
     @Autowired
     private ChargingStationRepository stationRepository;
 
+    @Autowired
+    private TariffService tariffService;
+
+    @Autowired
+    private Pagination pagination;
+
     @PostMapping("/{stationId}")
     public ResponseEntity<ChargingOutlet> createOutlet(
             @PathVariable Long stationId,
@@ -38,8 +50,33 @@ public class ChargingOutletController {
         return ResponseEntity.ok(savedOutlet);
     }
 
+    @GetMapping("/{id}/tariff")
+    public ResponseEntity<?> getTariff(@PathVariable Long id) {
+        return tariffService.getDefinition(id)
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("Outlet not found"));
+    }
+
+    @PutMapping("/{id}/tariff")
+    public ResponseEntity<?> updateTariff(@PathVariable Long id, @RequestBody TariffDefinition tariff) {
+        try {
+            return ResponseEntity.ok(tariffService.updateTariff(id, tariff));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping
-    public ResponseEntity<?> listOutlets() {
-        return ResponseEntity.ok(outletRepository.findAll());
+    public ResponseEntity<?> listOutlets(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            Keyset keyset = pagination.keyset(cursor, limit);
+            return keyset.page(outletRepository.findByIdGreaterThanOrderByIdAsc(keyset.after(), keyset.fetch()), ChargingOutlet::getId).toResponse();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 }
@@ -1,7 +1,13 @@
 package tqs.evsync.backend.controller;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -11,13 +17,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import tqs.evsync.backend.dto.StationSummary;
 import tqs.evsync.backend.model.ChargingOutlet;
 import tqs.evsync.backend.model.ChargingStation;
 import tqs.evsync.backend.model.enums.ChargingStationStatus;
+import tqs.evsync.backend.paging.KeysetPage;
+import tqs.evsync.backend.paging.Pagination;
 import tqs.evsync.backend.service.ChargingStationService;
+import tqs.evsync.backend.service.StationImportService;
 
 @CrossOrigin(origins = "http://localhost:3000")
 @Controller
@@ -26,12 +37,24 @@ public class ChargingStationController {
     @Autowired
     private ChargingStationService chargingStationService;
 
+    @Autowired
+    private Pagination pagination;
+
+    @Autowired
+    private StationImportService stationImportService;
+
 
     // GET ENDPOINTS
 
     @GetMapping
-    public ResponseEntity<?> getAllChargingStations() {
-        return ResponseEntity.ok(chargingStationService.getAllStations());
+    public ResponseEntity<?> getAllChargingStations(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return chargingStationService.getStations(pagination.keyset(cursor, limit)).toResponse();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/{id}")
@@ -48,7 +71,7 @@ public class ChargingStationController {
             @PathVariable double lat,
             @PathVariable double lon,
             @PathVariable double maxDistanceKm) {
-        return ResponseEntity.ok(chargingStationService.getStationsNear(lat, lon, maxDistanceKm));
+        return ResponseEntity.ok(chargingStationService.getStationSummariesNear(lat, lon, maxDistanceKm, null));
     }
 
     @GetMapping("/available-nearby/{lat}/{lon}/{maxDistanceKm}")
@@ -56,16 +79,35 @@ public class ChargingStationController {
             @PathVariable double lat,
             @PathVariable double lon,
             @PathVariable double maxDistanceKm) {
-        return ResponseEntity.ok(chargingStationService.getAvailableStationsNear(lat, lon, maxDistanceKm));
+        return ResponseEntity.ok(chargingStationService.getStationSummariesNear(lat, lon, maxDistanceKm, ChargingStationStatus.AVAILABLE));
+    }
+
+    @GetMapping("/nearest/{lat}/{lon}")
+    public ResponseEntity<?> getNearestChargingStations(
+            @PathVariable double lat,
+            @PathVariable double lon,
+            @RequestParam(defaultValue = "10") int k,
+            @RequestParam(required = false) ChargingStationStatus status) {
+        try {
+            return ResponseEntity.ok(chargingStationService.getNearestStations(lat, lon, k, status));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("operator/{operatorId}")
-    public ResponseEntity<?> getChargingStationsByOperator(@PathVariable Long operatorId) {
-        List<ChargingStation> stations = chargingStationService.getStationsByOperator(operatorId);
-        if (stations.isEmpty()) {
-            return ResponseEntity.notFound().build();
-        }else {
-            return ResponseEntity.ok(stations);
+    public ResponseEntity<?> getChargingStationsByOperator(
+            @PathVariable Long operatorId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            KeysetPage<StationSummary> stations = chargingStationService.getStationsByOperator(operatorId, pagination.keyset(cursor, limit));
+            if (stations.items().isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            return stations.toResponse();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
     
@@ -113,6 +155,20 @@ public class ChargingStationController {
         return ResponseEntity.ok(savedStation);
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<?> importChargingStations(
+            @RequestParam Long operatorId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        try {
+            return ResponseEntity.ok(stationImportService.importStations(operatorId, MediaType.parseMediaType(contentType), body));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     // DELETE ENDPOINTS
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteChargingStation(@PathVariable Long id) {
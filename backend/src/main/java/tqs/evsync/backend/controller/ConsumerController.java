@@ -6,9 +6,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import tqs.evsync.backend.dto.ReservationView;
 import tqs.evsync.backend.model.ChargingSession;
 import tqs.evsync.backend.model.Consumer;
+import tqs.evsync.backend.model.enums.WalletTransactionType;
+import tqs.evsync.backend.paging.Keyset;
+import tqs.evsync.backend.paging.Pagination;
 import tqs.evsync.backend.repository.ConsumerRepository;
+import tqs.evsync.backend.repository.ReservationRepository;
+import tqs.evsync.backend.service.WalletService;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
@@ -21,21 +27,37 @@ public class ConsumerController {
     @Autowired
     private ConsumerRepository consumerRepository;
 
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private Pagination pagination;
+
     @PostMapping
     public ResponseEntity<Consumer> createConsumer(@RequestBody Consumer consumer) {
-        Consumer savedConsumer = consumerRepository.save(consumer);
+        Consumer savedConsumer = walletService.register(consumer);
         return ResponseEntity.ok(savedConsumer);
     }
 
     @GetMapping
-    public ResponseEntity<?> getAllConsumers() {
-        return ResponseEntity.ok(consumerRepository.findAll());
+    public ResponseEntity<?> getAllConsumers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            Keyset keyset = pagination.keyset(cursor, limit);
+            return keyset.page(consumerRepository.findByIdGreaterThanOrderByIdAsc(keyset.after(), keyset.fetch()), Consumer::getId).toResponse();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @PostMapping("/signup")
     public ResponseEntity<Consumer> signup(@RequestBody Consumer incoming) {
         // you may want to hash the password!
-        Consumer saved = consumerRepository.save(incoming);
+        Consumer saved = walletService.register(incoming);
         return ResponseEntity.ok(saved);
     }
 
@@ -64,10 +86,10 @@ public class ConsumerController {
         Consumer consumer = optionalConsumer.get();
         consumer.setEmail(consumerDetails.getEmail());
         consumer.setPassword(consumerDetails.getPassword());
-        consumer.setWallet(consumerDetails.getWallet());
-        
-        Consumer updatedConsumer = consumerRepository.save(consumer);
-        return ResponseEntity.ok(updatedConsumer);
+        consumerRepository.save(consumer);
+        walletService.setBalance(id, consumerDetails.getWalletCents());
+
+        return ResponseEntity.ok(consumerRepository.findById(id).orElseThrow());
     }
 
     @DeleteMapping("/{id}")
@@ -89,38 +111,53 @@ public class ConsumerController {
 
     @PutMapping("/{id}/wallet")
     public ResponseEntity<?> addToWallet(@PathVariable Long id, @RequestParam Double amount) {
-        if (amount <= 0) {
+        // Amounts under half a cent round to nothing
+        long cents = WalletService.toCents(amount);
+        if (cents <= 0) {
             return ResponseEntity.badRequest().body("Valor deve ser positivo");
         }
 
-        Optional<Consumer> optionalConsumer = consumerRepository.findById(id);
-        if (optionalConsumer.isEmpty()) {
-            return ResponseEntity.notFound().build();
+        try {
+            walletService.credit(id, cents, WalletTransactionType.TOP_UP, null);
+        } catch (IllegalArgumentException e) {
+            if (!consumerRepository.existsById(id)) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
-
-        Consumer consumer = optionalConsumer.get();
-        consumer.setWallet(consumer.getWallet() + amount);
-        consumerRepository.save(consumer);
-        return ResponseEntity.ok(consumer);
+        return ResponseEntity.ok(consumerRepository.findById(id).orElseThrow());
     }
 
     @GetMapping("/{id}/wallet")
     public ResponseEntity<?> getWalletBalance(@PathVariable Long id) {
-        Optional<Consumer> optionalConsumer = consumerRepository.findById(id);
-        if (optionalConsumer.isEmpty()) {
+        return consumerRepository.findWalletCents(id)
+            .<ResponseEntity<?>>map(cents -> ResponseEntity.ok(cents / 100.0))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/wallet/transactions")
+    public ResponseEntity<?> getWalletTransactions(@PathVariable Long id) {
+        if (!consumerRepository.existsById(id)) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(optionalConsumer.get().getWallet());
+        return ResponseEntity.ok(walletService.getTransactions(id));
     }
 
     @GetMapping("/{id}/reservations")
-    public ResponseEntity<?> getReservationsByConsumerId(@PathVariable Long id) {
-        Optional<Consumer> optionalConsumer = consumerRepository.findById(id);
-        if (optionalConsumer.isEmpty()) {
+    public ResponseEntity<?> getReservationsByConsumerId(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (!consumerRepository.existsById(id)) {
             return ResponseEntity.notFound().build();
         }
-        Consumer consumer = optionalConsumer.get();
-        return ResponseEntity.ok(consumer.getReservations());
+        try {
+            Keyset keyset = pagination.keyset(cursor, limit);
+            return keyset.page(reservationRepository.findViewsByConsumerId(id, keyset.after(), keyset.fetch()),
+                ReservationView::id).toResponse();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
 
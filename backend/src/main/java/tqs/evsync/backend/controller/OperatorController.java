@@ -7,7 +7,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import tqs.evsync.backend.model.Operator;
+import tqs.evsync.backend.paging.Keyset;
+import tqs.evsync.backend.paging.Pagination;
 import tqs.evsync.backend.repository.OperatorRepository;
+import tqs.evsync.backend.service.ChargingStationService;
 
 @CrossOrigin(origins = "http://localhost:3000")
 @RestController
@@ -17,6 +20,12 @@ public class OperatorController {
     @Autowired
     private OperatorRepository operatorRepository;
 
+    @Autowired
+    private ChargingStationService chargingStationService;
+
+    @Autowired
+    private Pagination pagination;
+
     @PostMapping
     public ResponseEntity<Operator> createOperator(@RequestBody Operator operator) {
         Operator savedOperator = operatorRepository.save(operator);
@@ -24,8 +33,15 @@ public class OperatorController {
     }
 
     @GetMapping
-    public ResponseEntity<?> getAllOperators() {
-        return ResponseEntity.ok(operatorRepository.findAll());
+    public ResponseEntity<?> getAllOperators(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            Keyset keyset = pagination.keyset(cursor, limit);
+            return keyset.page(operatorRepository.findByIdGreaterThanOrderByIdAsc(keyset.after(), keyset.fetch()), Operator::getId).toResponse();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/{id}")
@@ -67,11 +83,21 @@ public class OperatorController {
                        .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    // The operator lookup is served by the second-level cache, the stations by the operator station cache
     @GetMapping("/{id}/charging-stations")
-    public ResponseEntity<?> getOperatorChargingStations(@PathVariable Long id) {
-        return operatorRepository.findById(id)
-                .map(operator -> ResponseEntity.ok(operator.getChargingStation()))
-                .orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<?> getOperatorChargingStations(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            Keyset keyset = pagination.keyset(cursor, limit);
+            if (operatorRepository.findById(id).isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            return chargingStationService.getStationsByOperator(id, keyset).toResponse();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
 }
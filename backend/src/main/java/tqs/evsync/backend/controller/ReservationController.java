@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import tqs.evsync.backend.dto.ReservationView;
 import tqs.evsync.backend.model.Reservation;
 import tqs.evsync.backend.service.ReservationService;
 
@@ -25,7 +26,7 @@ public class ReservationController {
     ) {
         try {
             Reservation reservation = reservationService.createReservation(consumerId, stationId, startTime, duration);
-            return ResponseEntity.ok(reservation);
+            return ResponseEntity.ok(ReservationView.of(reservation));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -35,8 +36,7 @@ public class ReservationController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getReservation(@PathVariable Long id) {
         try {
-            Reservation r = reservationService.getReservationById(id);
-            return ResponseEntity.ok(r);
+            return ResponseEntity.ok(reservationService.getReservationView(id));
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
@@ -47,7 +47,7 @@ public class ReservationController {
     public ResponseEntity<?> confirmReservation(@PathVariable Long id) {
         try {
             Reservation confirmed = reservationService.confirmReservation(id);
-            return ResponseEntity.ok(confirmed);
+            return ResponseEntity.ok(ReservationView.of(confirmed));
         } catch (IllegalStateException e) {
             return ResponseEntity.status(402).body("Pagamento falhou: " + e.getMessage());
         } catch (Exception e) {
@@ -59,7 +59,7 @@ public class ReservationController {
     @PostMapping("/{id}/cancel")
     public ResponseEntity<?> cancelReservation(@PathVariable Long id) {
         try {
-            return ResponseEntity.ok(reservationService.cancelReservation(id));
+            return ResponseEntity.ok(ReservationView.of(reservationService.cancelReservation(id)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -5,9 +5,16 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import tqs.evsync.backend.dto.IngestResult;
+import tqs.evsync.backend.dto.MeterSample;
+import tqs.evsync.backend.index.ActiveSessionRegistry.ActiveSession;
 import tqs.evsync.backend.model.ChargingSession;
+import tqs.evsync.backend.paging.Pagination;
+import tqs.evsync.backend.service.MeterIngestionService;
 import tqs.evsync.backend.service.SessionService;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
@@ -19,6 +26,13 @@ public class SessionController {
     @Autowired
     private SessionService sessionService;
 
+    @Autowired
+    private MeterIngestionService meterIngestionService;
+
+    @Autowired
+    private Pagination pagination;
+
+
 
 
     @PostMapping("/start")
@@ -32,6 +46,18 @@ public class SessionController {
     }
 
 
+    @GetMapping("/active")
+    public List<ActiveSession> getActiveSessions(@RequestParam(required = false) Long stationId) {
+        return sessionService.getActiveSessions(stationId);
+    }
+
+    @GetMapping("/active/outlet/{outletId}")
+    public ResponseEntity<?> getActiveSessionForOutlet(@PathVariable Long outletId) {
+        return sessionService.getActiveSessionForOutlet(outletId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("No active session on this outlet."));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getSessionById(@PathVariable Long id) {
         return sessionService.getSessionById(id)
@@ -40,8 +66,14 @@ public class SessionController {
     }
 
     @GetMapping
-    public List<ChargingSession> getAllSessions() {
-        return sessionService.getAllSessions();
+    public ResponseEntity<?> getAllSessions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return sessionService.getSessions(pagination.keyset(cursor, limit)).toResponse();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @PutMapping("/{id}/end")
@@ -51,11 +83,55 @@ public class SessionController {
 
             ChargingSession ended = sessionService.endSession(id, energyUsed);
             return ResponseEntity.ok(ended);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
     }
 
+    @GetMapping("/{id}/settlement")
+    public ResponseEntity<?> getSettlement(@PathVariable Long id) {
+        return sessionService.getSettlement(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("No settlement for this session."));
+    }
+
+    // Batched meter samples from chargers, possibly for many sessions. Queued, not yet stored.
+    @PostMapping("/samples")
+    public ResponseEntity<?> ingestSamples(@RequestBody List<MeterSample> samples) {
+        IngestResult result = meterIngestionService.ingest(samples);
+        if (result.accepted() == 0 && result.dropped() > 0) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(result);
+        }
+        return ResponseEntity.accepted().body(result);
+    }
+
+    @GetMapping("/{id}/samples")
+    public ResponseEntity<?> getSamples(
+        @PathVariable Long id,
+        @RequestParam(required = false) Instant from,
+        @RequestParam(required = false) Instant to
+    ) {
+        return ResponseEntity.ok(meterIngestionService.getSamples(id,
+            from == null ? Instant.EPOCH : from, to == null ? Instant.now().plusSeconds(1) : to));
+    }
+
+    // Downsampled series, e.g. ?from=2025-06-01T09:00:00Z&to=2025-06-01T10:00:00Z&step=PT1M
+    @GetMapping("/{id}/series")
+    public ResponseEntity<?> getSeries(
+        @PathVariable Long id,
+        @RequestParam Instant from,
+        @RequestParam Instant to,
+        @RequestParam(defaultValue = "PT1M") Duration step
+    ) {
+        try {
+            return ResponseEntity.ok(meterIngestionService.getSeries(id, from, to, step));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteSession(@PathVariable Long id) {
         try {
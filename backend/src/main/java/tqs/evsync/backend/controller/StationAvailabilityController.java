@@ -0,0 +1,36 @@
+package tqs.evsync.backend.controller;
+
+import java.time.LocalDate;
+import java.util.NoSuchElementException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import tqs.evsync.backend.service.ReservationService;
+
+@CrossOrigin(origins = "http://localhost:3000")
+@RestController
+@RequestMapping("/api/stations")
+public class StationAvailabilityController {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    // Free booking windows per outlet, so clients don't have to probe POST /api/reservations
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<?> getAvailability(
+        @PathVariable Long id,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+        @RequestParam(required = false) Integer slotMinutes
+    ) {
+        try {
+            return ResponseEntity.ok(reservationService.getStationAvailability(id, date, slotMinutes));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package tqs.evsync.backend.controller;
+
+import java.util.HashSet;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import tqs.evsync.backend.events.StatusBroadcaster;
+import tqs.evsync.backend.events.StatusFilter;
+
+@CrossOrigin(origins = "http://localhost:3000")
+@RestController
+@RequestMapping("/api/events")
+public class StatusStreamController {
+
+    @Autowired
+    private StatusBroadcaster broadcaster;
+
+    // Live station/outlet/reservation/session status changes instead of polling the catalogue.
+    // Filter with ?stationIds=1,2 or a full box ?minLat=&maxLat=&minLon=&maxLon=
+    @GetMapping(path = "/status", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStatus(
+        @RequestParam(required = false) List<Long> stationIds,
+        @RequestParam(required = false) Double minLat,
+        @RequestParam(required = false) Double maxLat,
+        @RequestParam(required = false) Double minLon,
+        @RequestParam(required = false) Double maxLon
+    ) {
+        StatusFilter filter = new StatusFilter(stationIds == null ? new HashSet<>() : new HashSet<>(stationIds),
+            minLat, maxLat, minLon, maxLon);
+        boolean anyBound = minLat != null || maxLat != null || minLon != null || maxLon != null;
+        if (anyBound && !filter.hasBoundingBox()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Bounding box needs minLat, maxLat, minLon and maxLon");
+        }
+        return broadcaster.subscribe(filter);
+    }
+}
@@ -0,0 +1,14 @@
+package tqs.evsync.backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Just the columns needed to put an ACTIVE session back into the active-session registry.
+ */
+public interface ActiveSessionRow {
+    Long getId();
+    Long getOutletId();
+    Long getStationId();
+    Long getReservationId();
+    LocalDateTime getStartTime();
+}
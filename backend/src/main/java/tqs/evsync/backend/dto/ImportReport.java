@@ -0,0 +1,12 @@
+package tqs.evsync.backend.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. {@code errors} lists the rejected rows by line number, up to a
+ * configured maximum; {@code rowsRejected} always has the full count.
+ */
+public record ImportReport(int stationsImported, int outletsImported, int rowsRejected, List<RowError> errors) {
+
+    public record RowError(long line, String message) {}
+}
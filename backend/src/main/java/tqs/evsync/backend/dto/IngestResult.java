@@ -0,0 +1,7 @@
+package tqs.evsync.backend.dto;
+
+/**
+ * Outcome of a batch of meter samples: how many were queued, failed validation, were
+ * dropped because the ingestion buffer was full or named a session that is not active.
+ */
+public record IngestResult(int accepted, int invalid, int dropped, int unknownSession) {}
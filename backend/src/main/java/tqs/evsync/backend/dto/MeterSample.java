@@ -0,0 +1,15 @@
+package tqs.evsync.backend.dto;
+
+import java.time.Instant;
+
+/**
+ * One reading from a charger: energy delivered so far in the session and the current power.
+ */
+public record MeterSample(Long sessionId, Instant sampledAt, Double energyKwh, Double powerKw) {
+
+    public boolean isValid() {
+        return sessionId != null && sampledAt != null
+            && energyKwh != null && energyKwh >= 0
+            && powerKw != null && powerKw >= 0;
+    }
+}
@@ -0,0 +1,5 @@
+package tqs.evsync.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+public record NearbyStation(@JsonUnwrapped StationSummary station, double distanceKm) {}
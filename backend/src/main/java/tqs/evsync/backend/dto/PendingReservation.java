@@ -0,0 +1,11 @@
+package tqs.evsync.backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Id and creation time of a PENDING reservation, enough to put it back on the expiry wheel.
+ */
+public interface PendingReservation {
+    Long getId();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,18 @@
+package tqs.evsync.backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * What the settlement worker needs to price and charge one stopped session, read in a
+ * single query instead of walking session, outlet, reservation and consumer entities.
+ */
+public interface PendingSettlement {
+    Long getId();
+    LocalDateTime getStartTime();
+    LocalDateTime getEndTime();
+    Long getOutletId();
+    Double getEnergyConsumed();
+    Double getReservationFee();
+    LocalDateTime getReservedUntil();
+    Long getConsumerId();
+}
@@ -0,0 +1,13 @@
+package tqs.evsync.backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Just the columns needed to place a reservation on its outlet's schedule.
+ */
+public interface ReservationSlot {
+    Long getId();
+    Long getOutletId();
+    LocalDateTime getStartAt();
+    LocalDateTime getEndAt();
+}
@@ -0,0 +1,30 @@
+package tqs.evsync.backend.dto;
+
+import java.time.LocalDateTime;
+
+import tqs.evsync.backend.model.Reservation;
+import tqs.evsync.backend.model.enums.ReservationStatus;
+
+/**
+ * Reservation as returned by the API: its own fields plus the ids of what it points at,
+ * instead of the embedded consumer, station and outlet graphs.
+ */
+public record ReservationView(Long id, Long consumerId, Long stationId, Long outletId, String startTime,
+                              Double duration, double reservationFee, ReservationStatus status,
+                              LocalDateTime createdAt) {
+
+    public ReservationView(Long id, Long consumerId, Long stationId, Long outletId, LocalDateTime startAt,
+                           Double duration, double reservationFee, ReservationStatus status,
+                           LocalDateTime createdAt) {
+        this(id, consumerId, stationId, outletId, startAt == null ? null : startAt.toString(),
+            duration, reservationFee, status, createdAt);
+    }
+
+    public static ReservationView of(Reservation r) {
+        return new ReservationView(r.getId(),
+            r.getConsumer() == null ? null : r.getConsumer().getId(),
+            r.getStation() == null ? null : r.getStation().getId(),
+            r.getOutlet() == null ? null : r.getOutlet().getId(),
+            r.getStartAt(), r.getDuration(), r.getReservationFee(), r.getStatus(), r.getCreatedAt());
+    }
+}
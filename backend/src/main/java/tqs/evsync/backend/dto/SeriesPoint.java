@@ -0,0 +1,9 @@
+package tqs.evsync.backend.dto;
+
+import java.time.Instant;
+
+/**
+ * One bucket of a downsampled meter series: energy at the last sample of the bucket and
+ * the average and peak power over it.
+ */
+public record SeriesPoint(Instant time, double energyKwh, double avgPowerKw, double maxPowerKw, int samples) {}
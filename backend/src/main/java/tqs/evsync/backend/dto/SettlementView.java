@@ -0,0 +1,8 @@
+package tqs.evsync.backend.dto;
+
+import java.time.LocalDateTime;
+
+import tqs.evsync.backend.model.enums.SettlementStatus;
+
+public record SettlementView(Long sessionId, SettlementStatus status, double totalCost,
+                             LocalDateTime endTime, LocalDateTime settledAt, String failureReason) {}
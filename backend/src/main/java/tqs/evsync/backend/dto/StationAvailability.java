@@ -0,0 +1,12 @@
+package tqs.evsync.backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record StationAvailability(Long stationId, LocalDate date, int slotMinutes, List<OutletAvailability> outlets) {
+
+    public record OutletAvailability(Long outletId, List<TimeWindow> freeWindows) {}
+
+    public record TimeWindow(LocalDateTime start, LocalDateTime end) {}
+}
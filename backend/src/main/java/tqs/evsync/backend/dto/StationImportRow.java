@@ -0,0 +1,14 @@
+package tqs.evsync.backend.dto;
+
+import java.util.List;
+
+import tqs.evsync.backend.model.enums.ChargingStationStatus;
+
+/**
+ * One station of a bulk import, with the outlets to create for it. NDJSON imports carry
+ * this shape on every line.
+ */
+public record StationImportRow(Double latitude, Double longitude, ChargingStationStatus status, List<Outlet> outlets) {
+
+    public record Outlet(int maxPower, double costPerHour) {}
+}
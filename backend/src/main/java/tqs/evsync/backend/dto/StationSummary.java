@@ -0,0 +1,20 @@
+package tqs.evsync.backend.dto;
+
+import tqs.evsync.backend.model.enums.ChargingStationStatus;
+
+/**
+ * What station lists and map markers show, read with one query instead of loading every
+ * station with its operator and outlets. The operator keeps the {@code {"id": ...}} shape
+ * clients already read from the full entity.
+ */
+public record StationSummary(Long id, Double latitude, Double longitude, ChargingStationStatus status,
+                             OperatorRef operator, long outletCount) {
+
+    public record OperatorRef(Long id) {}
+
+    public StationSummary(Long id, Double latitude, Double longitude, ChargingStationStatus status,
+                          Long operatorId, Long outletCount) {
+        this(id, latitude, longitude, status, operatorId == null ? null : new OperatorRef(operatorId),
+            outletCount == null ? 0 : outletCount);
+    }
+}
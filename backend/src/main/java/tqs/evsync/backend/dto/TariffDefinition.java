@@ -0,0 +1,19 @@
+package tqs.evsync.backend.dto;
+
+import java.util.List;
+
+/**
+ * Pricing rules of one outlet as they are stored and edited. {@code costPerHour} is the
+ * base time rate; a band replaces it between {@code startMinute} and {@code endMinute}
+ * (minutes after midnight, wrapping past midnight when the end is before the start).
+ * Idle minutes past the grace period are charged {@code idleFeePerMinute}.
+ */
+public record TariffDefinition(double costPerHour, double pricePerKwh, double idleFeePerMinute,
+                               int idleGraceMinutes, List<Band> bands) {
+
+    public record Band(int startMinute, int endMinute, double costPerHour) {}
+
+    public TariffDefinition {
+        bands = bands == null ? List.of() : List.copyOf(bands);
+    }
+}
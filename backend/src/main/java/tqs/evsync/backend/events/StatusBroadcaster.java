@@ -0,0 +1,76 @@
+package tqs.evsync.backend.events;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import tqs.evsync.backend.util.AfterCommit;
+
+/**
+ * Fans status changes out to the connected SSE clients. Each client is sent to from its own
+ * virtual thread, so a slow client only delays itself and gets its updates coalesced.
+ */
+@Component
+public class StatusBroadcaster {
+
+    private final Set<StatusSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final long emitterTimeoutMillis;
+
+    public StatusBroadcaster(MeterRegistry meterRegistry,
+                             @Value("${evsync.events.emitter-timeout:30m}") Duration emitterTimeout) {
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        Gauge.builder("evsync.events.subscribers", subscriptions, Set::size).register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(StatusFilter filter) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        StatusSubscription subscription = new StatusSubscription(emitter, filter);
+        Runnable remove = () -> {
+            subscription.close();
+            subscriptions.remove(subscription);
+        };
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        subscriptions.add(subscription);
+        return emitter;
+    }
+
+    /**
+     * Delivers the event once the current transaction commits, or right away outside one.
+     */
+    public void publish(StatusEvent event) {
+        AfterCommit.run(() -> dispatch(event));
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    private void dispatch(StatusEvent event) {
+        for (StatusSubscription subscription : subscriptions) {
+            if (subscription.isClosed()) {
+                subscriptions.remove(subscription);
+            } else if (subscription.offer(event)) {
+                senders.execute(subscription::drain);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.forEach(StatusSubscription::complete);
+        subscriptions.clear();
+        senders.shutdownNow();
+    }
+}
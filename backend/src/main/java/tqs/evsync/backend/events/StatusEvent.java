@@ -0,0 +1,30 @@
+package tqs.evsync.backend.events;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Compact change notification for one station, outlet, reservation or session. Only the
+ * fields a map client needs to patch its state are sent.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record StatusEvent(
+    String entity,
+    Long id,
+    Long stationId,
+    Long outletId,
+    String status,
+    Instant at,
+    @JsonIgnore Double latitude,
+    @JsonIgnore Double longitude
+) {
+    public static final String REMOVED = "REMOVED";
+
+    // Later events for the same entity replace earlier ones still waiting to be sent
+    @JsonIgnore
+    public String coalescingKey() {
+        return entity + ":" + id;
+    }
+}
@@ -0,0 +1,89 @@
+package tqs.evsync.backend.events;
+
+import java.time.Instant;
+
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import tqs.evsync.backend.model.ChargingOutlet;
+import tqs.evsync.backend.model.ChargingSession;
+import tqs.evsync.backend.model.ChargingStation;
+import tqs.evsync.backend.model.Reservation;
+
+/**
+ * Turns writes of stations, outlets, reservations and sessions into status events, so
+ * every change reaches subscribers whichever service or repository made it.
+ */
+@Component
+public class StatusEventListener {
+
+    private final StatusBroadcaster broadcaster;
+
+    public StatusEventListener(StatusBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        StatusEvent event = toEvent(entity, false);
+        if (event != null) {
+            broadcaster.publish(event);
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        StatusEvent event = toEvent(entity, true);
+        if (event != null) {
+            broadcaster.publish(event);
+        }
+    }
+
+    private static StatusEvent toEvent(Object entity, boolean removed) {
+        Instant now = Instant.now();
+        if (entity instanceof ChargingStation station) {
+            return new StatusEvent("station", station.getId(), station.getId(), null,
+                status(removed, station.getStatus()), now, station.getLatitude(), station.getLongitude());
+        }
+        if (entity instanceof ChargingOutlet outlet) {
+            ChargingStation station = outlet.getChargingStation();
+            return new StatusEvent("outlet", outlet.getId(), stationId(station), outlet.getId(),
+                status(removed, outlet.getStatus()), now, latitude(station), longitude(station));
+        }
+        if (entity instanceof Reservation reservation) {
+            ChargingStation station = reservation.getStation();
+            Long outletId = reservation.getOutlet() == null ? null : reservation.getOutlet().getId();
+            return new StatusEvent("reservation", reservation.getId(), stationId(station), outletId,
+                status(removed, reservation.getStatus()), now, latitude(station), longitude(station));
+        }
+        if (entity instanceof ChargingSession session) {
+            ChargingOutlet outlet = session.getOutlet();
+            ChargingStation station = outlet == null ? null : outlet.getChargingStation();
+            return new StatusEvent("session", session.getId(), stationId(station), outlet == null ? null : outlet.getId(),
+                status(removed, session.getStatus()), now, latitude(station), longitude(station));
+        }
+        return null;
+    }
+
+    private static String status(boolean removed, Enum<?> status) {
+        if (removed) {
+            return StatusEvent.REMOVED;
+        }
+        return status == null ? null : status.name();
+    }
+
+    private static Long stationId(ChargingStation station) {
+        return station == null ? null : station.getId();
+    }
+
+    private static Double latitude(ChargingStation station) {
+        return station == null ? null : station.getLatitude();
+    }
+
+    private static Double longitude(ChargingStation station) {
+        return station == null ? null : station.getLongitude();
+    }
+}
@@ -0,0 +1,32 @@
+package tqs.evsync.backend.events;
+
+import java.util.Set;
+
+/**
+ * What a subscriber wants to hear about: events of the given stations, events inside a
+ * lat/lon box, or everything when neither is set.
+ */
+public record StatusFilter(Set<Long> stationIds, Double minLat, Double maxLat, Double minLon, Double maxLon) {
+
+    public static StatusFilter all() {
+        return new StatusFilter(Set.of(), null, null, null, null);
+    }
+
+    public boolean hasBoundingBox() {
+        return minLat != null && maxLat != null && minLon != null && maxLon != null;
+    }
+
+    public boolean matches(StatusEvent event) {
+        if (!stationIds.isEmpty() && !stationIds.contains(event.stationId())) {
+            return false;
+        }
+        if (hasBoundingBox()) {
+            if (event.latitude() == null || event.longitude() == null) {
+                return false;
+            }
+            return event.latitude() >= minLat && event.latitude() <= maxLat
+                && event.longitude() >= minLon && event.longitude() <= maxLon;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,84 @@
+package tqs.evsync.backend.events;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * One connected client. Events wait in a map keyed by entity, so while the client is slow
+ * or a send is in progress a newer event for the same entity replaces the pending one and
+ * the backlog never grows beyond one entry per entity.
+ */
+public class StatusSubscription {
+
+    private final SseEmitter emitter;
+    private final StatusFilter filter;
+    private final Map<String, StatusEvent> pending = new LinkedHashMap<>();
+    private boolean sending;
+    private volatile boolean closed;
+
+    public StatusSubscription(SseEmitter emitter, StatusFilter filter) {
+        this.emitter = emitter;
+        this.filter = filter;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public void close() {
+        closed = true;
+    }
+
+    void complete() {
+        close();
+        emitter.complete();
+    }
+
+    /**
+     * Queues the event if it passes the filter. Returns true when the caller should start
+     * a send, i.e. nothing is being sent right now.
+     */
+    public synchronized boolean offer(StatusEvent event) {
+        if (closed || !filter.matches(event)) {
+            return false;
+        }
+        pending.remove(event.coalescingKey());
+        pending.put(event.coalescingKey(), event);
+        if (sending) {
+            return false;
+        }
+        sending = true;
+        return true;
+    }
+
+    /**
+     * Sends pending events until none are left. Runs on one thread at a time per subscriber.
+     */
+    public void drain() {
+        while (true) {
+            List<StatusEvent> batch;
+            synchronized (this) {
+                if (pending.isEmpty() || closed) {
+                    sending = false;
+                    return;
+                }
+                batch = new ArrayList<>(pending.values());
+                pending.clear();
+            }
+            try {
+                for (StatusEvent event : batch) {
+                    emitter.send(SseEmitter.event().name(event.entity()).data(event));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the broadcaster drops closed subscriptions
+                close();
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package tqs.evsync.backend.idempotency;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Makes mutating requests safe to retry. The first response to a request carrying an
+ * {@code Idempotency-Key} header is recorded and any later request with the same key gets
+ * that response back without reaching the controllers.
+ * <p>
+ * A key reused for a different request (method, path, parameters or body) is rejected with
+ * 422, and a retry that arrives while the first request is still running gets 409. Server
+ * errors are not recorded, so those can be retried. The body is read up front to compare it,
+ * so keyed requests are limited to {@code evsync.idempotency.max-body-size} and larger ones
+ * get 413.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final int maxBodyBytes;
+    private final Map<String, Boolean> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyFilter(IdempotencyStore store,
+                             @Value("${evsync.idempotency.max-body-size:1MB}") DataSize maxBodySize) {
+        this.store = store;
+        this.maxBodyBytes = (int) Math.min(maxBodySize.toBytes(), Integer.MAX_VALUE - 1);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        boolean mutating = "POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method) || "DELETE".equals(method);
+        return !mutating || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Invalid " + HEADER);
+            return;
+        }
+        // Parameters first: reading them consumes a form body, which is then covered by them
+        String parameters = parameters(request);
+        byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (body.length > maxBodyBytes) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Request body is too large for an " + HEADER);
+            return;
+        }
+        String fingerprint = fingerprint(request, parameters, body);
+
+        if (replay(key, fingerprint, response)) {
+            return;
+        }
+        if (inFlight.putIfAbsent(key, Boolean.TRUE) != null) {
+            response.sendError(HttpStatus.CONFLICT.value(), "A request with this " + HEADER + " is still in progress");
+            return;
+        }
+        try {
+            // The first request may have finished between the lookup and taking the key
+            if (replay(key, fingerprint, response)) {
+                return;
+            }
+            ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+            chain.doFilter(new CachedBodyRequest(request, body), wrapper);
+            if (wrapper.getStatus() < 500) {
+                store.save(key, new StoredResponse(fingerprint, wrapper.getStatus(), wrapper.getContentType(),
+                    wrapper.getContentAsByteArray()));
+            }
+            wrapper.copyBodyToResponse();
+        } finally {
+            inFlight.remove(key);
+        }
+    }
+
+    private boolean replay(String key, String fingerprint, HttpServletResponse response) throws IOException {
+        StoredResponse stored = store.find(key).orElse(null);
+        if (stored == null) {
+            return false;
+        }
+        if (!stored.fingerprint().equals(fingerprint)) {
+            response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(), HEADER + " was already used for a different request");
+            return true;
+        }
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+        return true;
+    }
+
+    // Sorted parameters, query string and form fields
+    private static String parameters(HttpServletRequest request) {
+        StringBuilder sb = new StringBuilder();
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) ->
+            sb.append('&').append(name).append('=').append(String.join(",", values)));
+        return sb.toString();
+    }
+
+    // SHA-256 of the method, path and parameters, followed by the SHA-256 of the body
+    private static String fingerprint(HttpServletRequest request, String parameters, byte[] body) {
+        String line = request.getMethod() + ' ' + request.getRequestURI() + parameters;
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update(line.getBytes(StandardCharsets.UTF_8));
+            sha256.update(MessageDigest.getInstance("SHA-256").digest(body));
+            return HexFormat.of().formatHex(sha256.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Hands the controllers the body that was already read for the fingerprint.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
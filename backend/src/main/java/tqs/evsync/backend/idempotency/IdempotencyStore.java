@@ -0,0 +1,10 @@
+package tqs.evsync.backend.idempotency;
+
+import java.util.Optional;
+
+public interface IdempotencyStore {
+
+    Optional<StoredResponse> find(String key);
+
+    void save(String key, StoredResponse response);
+}
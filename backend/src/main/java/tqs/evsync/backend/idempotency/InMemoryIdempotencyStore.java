@@ -0,0 +1,70 @@
+package tqs.evsync.backend.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded map of recent responses. Entries are kept in insertion order and all share the
+ * same TTL, so the oldest entry is always the next to expire and eviction only ever looks
+ * at the head of the map.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private record Entry(StoredResponse response, Instant expiresAt) {}
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    public InMemoryIdempotencyStore(int maxEntries, Duration ttl, Clock clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Idempotency store size must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized Optional<StoredResponse> find(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (!entry.expiresAt().isAfter(clock.instant())) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.response());
+    }
+
+    @Override
+    public synchronized void save(String key, StoredResponse response) {
+        Instant now = clock.instant();
+        evictExpired(now);
+        entries.remove(key);
+        entries.put(key, new Entry(response, now.plus(ttl)));
+        if (entries.size() > maxEntries) {
+            Iterator<String> oldest = entries.keySet().iterator();
+            oldest.next();
+            oldest.remove();
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void evictExpired(Instant now) {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext() && !it.next().getValue().expiresAt().isAfter(now)) {
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package tqs.evsync.backend.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import tqs.evsync.backend.model.IdempotencyRecord;
+import tqs.evsync.backend.repository.IdempotencyRecordRepository;
+
+/**
+ * Keeps responses in the database so retries still replay after a restart or on another
+ * instance. Recent keys are served from an in-memory store in front of the table.
+ */
+public class JpaIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotencyRecordRepository repository;
+    private final InMemoryIdempotencyStore nearCache;
+    private final Duration ttl;
+    private final Clock clock;
+
+    public JpaIdempotencyStore(IdempotencyRecordRepository repository, InMemoryIdempotencyStore nearCache,
+                               Duration ttl, Clock clock) {
+        this.repository = repository;
+        this.nearCache = nearCache;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<StoredResponse> find(String key) {
+        Optional<StoredResponse> cached = nearCache.find(key);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        return repository.findById(key)
+            .filter(r -> r.getExpiresAt().isAfter(clock.instant()))
+            .map(r -> new StoredResponse(r.getFingerprint(), r.getStatus(), r.getContentType(), r.getBody()));
+    }
+
+    @Override
+    public void save(String key, StoredResponse response) {
+        repository.save(new IdempotencyRecord(key, response.fingerprint(), response.status(), response.contentType(),
+            response.body(), clock.instant().plus(ttl)));
+        nearCache.save(key, response);
+    }
+
+    @Scheduled(fixedDelayString = "${evsync.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        repository.deleteExpired(clock.instant());
+    }
+}
@@ -0,0 +1,7 @@
+package tqs.evsync.backend.idempotency;
+
+/**
+ * Response recorded for an idempotency key, replayed as-is when the request is retried.
+ * {@code fingerprint} identifies the request the key was first used with.
+ */
+public record StoredResponse(String fingerprint, int status, String contentType, byte[] body) {}
@@ -0,0 +1,49 @@
+package tqs.evsync.backend.index;
+
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import tqs.evsync.backend.index.ActiveSessionRegistry.ActiveSession;
+import tqs.evsync.backend.model.ChargingOutlet;
+import tqs.evsync.backend.model.ChargingSession;
+import tqs.evsync.backend.model.enums.ChargingSessionStatus;
+import tqs.evsync.backend.util.AfterCommit;
+
+/**
+ * Mirrors session writes into {@link ActiveSessionRegistry}: a session is registered while
+ * it is ACTIVE and dropped as soon as it ends or is deleted, once the change commits.
+ */
+@Component
+public class ActiveSessionListener {
+
+    private final ActiveSessionRegistry registry;
+
+    public ActiveSessionListener(ActiveSessionRegistry registry) {
+        this.registry = registry;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(ChargingSession session) {
+        Long id = session.getId();
+        if (session.getStatus() != ChargingSessionStatus.ACTIVE) {
+            AfterCommit.run(() -> registry.remove(id));
+            return;
+        }
+        ChargingOutlet outlet = session.getOutlet();
+        ActiveSession active = new ActiveSession(id,
+                outlet == null ? null : outlet.getId(),
+                outlet == null || outlet.getChargingStation() == null ? null : outlet.getChargingStation().getId(),
+                session.getReservation() == null ? null : session.getReservation().getId(),
+                session.getStartTime());
+        AfterCommit.run(() -> registry.put(active));
+    }
+
+    @PostRemove
+    public void onRemove(ChargingSession session) {
+        Long id = session.getId();
+        AfterCommit.run(() -> registry.remove(id));
+    }
+}
@@ -0,0 +1,93 @@
+package tqs.evsync.backend.index;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * ACTIVE charging sessions keyed by session, outlet and station, so "is this outlet
+ * charging" and "what is charging at this station" are hash lookups instead of loading
+ * every session ever recorded.
+ */
+@Component
+public class ActiveSessionRegistry {
+
+    public record ActiveSession(Long sessionId, Long outletId, Long stationId, Long reservationId,
+                                LocalDateTime startTime) {}
+
+    private final Map<Long, ActiveSession> bySession = new ConcurrentHashMap<>();
+    private final Map<Long, ActiveSession> byOutlet = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> byStation = new ConcurrentHashMap<>();
+    private volatile boolean loaded = false;
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        return bySession.size();
+    }
+
+    public synchronized void rebuild(Collection<ActiveSession> sessions) {
+        bySession.clear();
+        byOutlet.clear();
+        byStation.clear();
+        sessions.forEach(this::put);
+        loaded = true;
+    }
+
+    public synchronized void put(ActiveSession session) {
+        remove(session.sessionId());
+        bySession.put(session.sessionId(), session);
+        if (session.outletId() != null) {
+            byOutlet.put(session.outletId(), session);
+        }
+        if (session.stationId() != null) {
+            byStation.computeIfAbsent(session.stationId(), id -> ConcurrentHashMap.newKeySet()).add(session.sessionId());
+        }
+    }
+
+    public synchronized void remove(Long sessionId) {
+        ActiveSession old = bySession.remove(sessionId);
+        if (old == null) {
+            return;
+        }
+        if (old.outletId() != null) {
+            byOutlet.remove(old.outletId(), old);
+        }
+        if (old.stationId() != null) {
+            Set<Long> ids = byStation.get(old.stationId());
+            if (ids != null) {
+                ids.remove(sessionId);
+                if (ids.isEmpty()) {
+                    byStation.remove(old.stationId());
+                }
+            }
+        }
+    }
+
+    public ActiveSession get(Long sessionId) {
+        return bySession.get(sessionId);
+    }
+
+    public ActiveSession byOutlet(Long outletId) {
+        return byOutlet.get(outletId);
+    }
+
+    public List<ActiveSession> byStation(Long stationId) {
+        Set<Long> ids = byStation.get(stationId);
+        if (ids == null) {
+            return List.of();
+        }
+        return ids.stream().map(bySession::get).filter(s -> s != null).toList();
+    }
+
+    public List<ActiveSession> all() {
+        return List.copyOf(bySession.values());
+    }
+}
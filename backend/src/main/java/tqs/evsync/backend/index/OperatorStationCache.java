@@ -0,0 +1,75 @@
+package tqs.evsync.backend.index;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import tqs.evsync.backend.dto.StationSummary;
+import tqs.evsync.backend.paging.Keyset;
+import tqs.evsync.backend.paging.KeysetPage;
+
+/**
+ * Pages of each operator's station list, which operator dashboards poll. Pages are keyed by
+ * operator and page request, so the number of pages is bounded however many distinct pages
+ * clients ask for, and the least recently used are evicted past the configured size. All
+ * pages of an operator are dropped together when one of its stations changes.
+ */
+@Component
+public class OperatorStationCache {
+
+    private record PageKey(Long operatorId, long generation, Keyset keyset) {}
+
+    private final Cache<PageKey, KeysetPage<StationSummary>> pages;
+    // One counter per operator that has had a station written, bumped on every invalidation
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+
+    public OperatorStationCache(MeterRegistry meterRegistry,
+                                @Value("${evsync.cache.operator-stations.max-entries:10000}") long maxPages) {
+        this.pages = Caffeine.newBuilder().maximumSize(maxPages).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "operator.stations");
+    }
+
+    /**
+     * The cached page, or the one {@code loader} reads. The operator's generation is taken
+     * before loading, so a page read while the operator is invalidated is stored under the
+     * old generation and never served.
+     */
+    public KeysetPage<StationSummary> get(Long operatorId, Keyset keyset, Supplier<KeysetPage<StationSummary>> loader) {
+        long generation = generations.getOrDefault(operatorId, 0L);
+        return pages.get(new PageKey(operatorId, generation, keyset), key -> loader.get());
+    }
+
+    /**
+     * Drops the operator's pages now and again once the surrounding transaction commits,
+     * so pages read before the commit are not served afterwards.
+     */
+    public void invalidate(Long operatorId) {
+        if (operatorId == null) {
+            return;
+        }
+        drop(operatorId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    drop(operatorId);
+                }
+            });
+        }
+    }
+
+    private void drop(Long operatorId) {
+        generations.merge(operatorId, 1L, Long::sum);
+        pages.asMap().keySet().removeIf(key -> key.operatorId().equals(operatorId));
+    }
+}
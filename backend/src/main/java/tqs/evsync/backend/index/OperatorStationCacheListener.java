@@ -0,0 +1,38 @@
+package tqs.evsync.backend.index;
+
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import tqs.evsync.backend.model.ChargingOutlet;
+import tqs.evsync.backend.model.ChargingStation;
+
+/**
+ * Invalidates the operator's cached station pages when one of its stations or their
+ * outlets is written. Listens on both stations and outlets.
+ */
+@Component
+public class OperatorStationCacheListener {
+
+    private final OperatorStationCache cache;
+
+    public OperatorStationCacheListener(OperatorStationCache cache) {
+        this.cache = cache;
+    }
+
+    // An outlet update may move it to another station, which changes the outlet counts;
+    // ChargingStationService invalidates the station it leaves
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(Object entity) {
+        invalidate(entity instanceof ChargingOutlet outlet ? outlet.getChargingStation() : (ChargingStation) entity);
+    }
+
+    private void invalidate(ChargingStation station) {
+        if (station != null && station.getOperator() != null) {
+            cache.invalidate(station.getOperator().getId());
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package tqs.evsync.backend.index;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-outlet sorted set of booked intervals. Checking a slot only looks at the bookings
+ * that start inside {@code [start - longestBooking, end)}, found with one tree lookup,
+ * instead of scanning every reservation in the system.
+ * <p>
+ * Each outlet also keeps one bitmap per booked day with a bit per {@value #SLOT_MINUTES}
+ * minute slot, set when any booking touches that slot, so a day view is a handful of
+ * word operations per outlet.
+ */
+@Component
+public class OutletScheduleIndex {
+    public static final int SLOT_MINUTES = 5;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    private static final int WORDS_PER_DAY = (SLOTS_PER_DAY + 63) / 64;
+
+    public record Booking(Long reservationId, Long outletId, LocalDateTime start, LocalDateTime end) {
+        public boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+            return start.isBefore(otherEnd) && end.isAfter(otherStart);
+        }
+    }
+
+    private final Map<Long, OutletSchedule> schedules = new ConcurrentHashMap<>();
+    private final Map<Long, Booking> byReservation = new ConcurrentHashMap<>();
+    private volatile boolean loaded = false;
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public synchronized void rebuild(Collection<Booking> bookings) {
+        schedules.clear();
+        byReservation.clear();
+        bookings.forEach(this::add);
+        loaded = true;
+    }
+
+    public boolean isFree(Long outletId, LocalDateTime start, LocalDateTime end) {
+        OutletSchedule schedule = schedules.get(outletId);
+        return schedule == null || !schedule.overlaps(start, end);
+    }
+
+    /**
+     * Busy-slot bitmap of one outlet for one day, bit {@code i} covering
+     * {@code [i * SLOT_MINUTES, (i + 1) * SLOT_MINUTES)} minutes after midnight.
+     */
+    public long[] dayBitmap(Long outletId, LocalDate day) {
+        OutletSchedule schedule = schedules.get(outletId);
+        return schedule == null ? new long[WORDS_PER_DAY] : schedule.dayBitmap(day);
+    }
+
+    public void add(Booking booking) {
+        remove(booking.reservationId());
+        byReservation.put(booking.reservationId(), booking);
+        schedules.computeIfAbsent(booking.outletId(), id -> new OutletSchedule()).add(booking);
+    }
+
+    public void remove(Long reservationId) {
+        Booking old = byReservation.remove(reservationId);
+        if (old != null) {
+            OutletSchedule schedule = schedules.get(old.outletId());
+            if (schedule != null) {
+                schedule.remove(old);
+            }
+        }
+    }
+
+    private static final class OutletSchedule {
+        private final TreeMap<LocalDateTime, List<Booking>> byStart = new TreeMap<>();
+        // Only ever grows, which keeps the lookup window correct after removals
+        private Duration longest = Duration.ZERO;
+        private final Map<LocalDate, long[]> days = new HashMap<>();
+
+        synchronized void add(Booking booking) {
+            byStart.computeIfAbsent(booking.start(), s -> new ArrayList<>(1)).add(booking);
+            Duration length = Duration.between(booking.start(), booking.end());
+            if (length.compareTo(longest) > 0) {
+                longest = length;
+            }
+            for (LocalDate day : daysOf(booking)) {
+                mark(days.computeIfAbsent(day, d -> new long[WORDS_PER_DAY]), day, booking);
+            }
+        }
+
+        synchronized void remove(Booking booking) {
+            List<Booking> atStart = byStart.get(booking.start());
+            if (atStart != null) {
+                atStart.removeIf(b -> b.reservationId().equals(booking.reservationId()));
+                if (atStart.isEmpty()) {
+                    byStart.remove(booking.start());
+                }
+            }
+            // Bits may be shared with other bookings, so rebuild the affected days from what is left
+            for (LocalDate day : daysOf(booking)) {
+                long[] bits = new long[WORDS_PER_DAY];
+                boolean any = false;
+                for (List<Booking> others : window(day.atStartOfDay(), day.plusDays(1).atStartOfDay()).values()) {
+                    for (Booking other : others) {
+                        if (other.overlaps(day.atStartOfDay(), day.plusDays(1).atStartOfDay())) {
+                            mark(bits, day, other);
+                            any = true;
+                        }
+                    }
+                }
+                if (any) {
+                    days.put(day, bits);
+                } else {
+                    days.remove(day);
+                }
+            }
+        }
+
+        synchronized long[] dayBitmap(LocalDate day) {
+            long[] bits = days.get(day);
+            return bits == null ? new long[WORDS_PER_DAY] : bits.clone();
+        }
+
+        synchronized boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            for (List<Booking> atStart : window(start, end).values()) {
+                for (Booking b : atStart) {
+                    if (b.overlaps(start, end)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private static List<LocalDate> daysOf(Booking booking) {
+            List<LocalDate> result = new ArrayList<>(1);
+            LocalDate last = booking.end().minusNanos(1).toLocalDate();
+            for (LocalDate day = booking.start().toLocalDate(); !day.isAfter(last); day = day.plusDays(1)) {
+                result.add(day);
+            }
+            return result;
+        }
+
+        // Sets the bits of every slot of the day that the booking touches, even partially
+        private static void mark(long[] bits, LocalDate day, Booking booking) {
+            LocalDateTime dayStart = day.atStartOfDay();
+            long fromMinute = Math.max(0, Duration.between(dayStart, booking.start()).toMinutes());
+            long toMinute = Math.min(24 * 60, (Duration.between(dayStart, booking.end()).toSeconds() + 59) / 60);
+            int from = (int) (fromMinute / SLOT_MINUTES);
+            int to = (int) ((toMinute + SLOT_MINUTES - 1) / SLOT_MINUTES);
+            for (int word = from >>> 6; word <= (to - 1) >>> 6 && from < to; word++) {
+                int lo = Math.max(from, word << 6) - (word << 6);
+                int hi = Math.min(to, (word + 1) << 6) - (word << 6);
+                long mask = (hi == 64 ? -1L : (1L << hi) - 1) & (-1L << lo);
+                bits[word] |= mask;
+            }
+        }
+
+        // Any booking overlapping [start, end) begins before end and no earlier than start - longest
+        private Map<LocalDateTime, List<Booking>> window(LocalDateTime start, LocalDateTime end) {
+            LocalDateTime from = start.minus(longest);
+            return from.isBefore(end) ? byStart.subMap(from, true, end, false) : Map.of();
+        }
+    }
+}
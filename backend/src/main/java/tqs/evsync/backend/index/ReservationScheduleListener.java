@@ -0,0 +1,44 @@
+package tqs.evsync.backend.index;
+
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import tqs.evsync.backend.index.OutletScheduleIndex.Booking;
+import tqs.evsync.backend.model.Reservation;
+import tqs.evsync.backend.model.enums.ReservationStatus;
+import tqs.evsync.backend.util.AfterCommit;
+
+/**
+ * Mirrors reservation writes into {@link OutletScheduleIndex}: a reservation holds its
+ * outlet slot until it is cancelled or deleted. Changes reach the index once they commit.
+ */
+@Component
+public class ReservationScheduleListener {
+
+    private final OutletScheduleIndex scheduleIndex;
+
+    public ReservationScheduleListener(OutletScheduleIndex scheduleIndex) {
+        this.scheduleIndex = scheduleIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Reservation reservation) {
+        Long id = reservation.getId();
+        if (reservation.getOutlet() == null || reservation.getStartAt() == null || reservation.getEndAt() == null
+                || reservation.getStatus() == ReservationStatus.CANCELLED) {
+            AfterCommit.run(() -> scheduleIndex.remove(id));
+            return;
+        }
+        Booking booking = new Booking(id, reservation.getOutlet().getId(), reservation.getStartAt(), reservation.getEndAt());
+        AfterCommit.run(() -> scheduleIndex.add(booking));
+    }
+
+    @PostRemove
+    public void onRemove(Reservation reservation) {
+        Long id = reservation.getId();
+        AfterCommit.run(() -> scheduleIndex.remove(id));
+    }
+}
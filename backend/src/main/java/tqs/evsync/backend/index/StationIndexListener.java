@@ -0,0 +1,41 @@
+package tqs.evsync.backend.index;
+
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import tqs.evsync.backend.model.ChargingStation;
+import tqs.evsync.backend.util.AfterCommit;
+
+/**
+ * Keeps {@link StationSpatialIndex} in step with every station write, whether it goes
+ * through {@code ChargingStationService} or straight through the repository, once it commits.
+ */
+@Component
+public class StationIndexListener {
+
+    private final StationSpatialIndex spatialIndex;
+
+    public StationIndexListener(StationSpatialIndex spatialIndex) {
+        this.spatialIndex = spatialIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(ChargingStation station) {
+        // Copied now, the entity may change again before the commit
+        ChargingStation point = new ChargingStation();
+        point.setId(station.getId());
+        point.setLatitude(station.getLatitude());
+        point.setLongitude(station.getLongitude());
+        point.setStatus(station.getStatus());
+        AfterCommit.run(() -> spatialIndex.put(point));
+    }
+
+    @PostRemove
+    public void onRemove(ChargingStation station) {
+        Long id = station.getId();
+        AfterCommit.run(() -> spatialIndex.remove(id));
+    }
+}
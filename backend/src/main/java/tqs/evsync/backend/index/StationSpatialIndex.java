@@ -0,0 +1,272 @@
+package tqs.evsync.backend.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import tqs.evsync.backend.model.ChargingStation;
+import tqs.evsync.backend.model.enums.ChargingStationStatus;
+
+/**
+ * Uniform lat/lon grid over station coordinates. Each cell holds the stations whose
+ * coordinates fall inside it, so a radius search only visits the cells overlapping the
+ * search circle instead of every station in the catalogue.
+ */
+@Component
+public class StationSpatialIndex {
+    public static final double EARTH_RADIUS_KM = 6378.0;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private final double cellSizeDeg;
+    private final int lonCells;
+
+    private final Map<Long, Map<Long, StationPoint>> cells = new ConcurrentHashMap<>();
+    private final Map<Long, StationPoint> points = new ConcurrentHashMap<>();
+    private volatile boolean loaded = false;
+
+    public StationSpatialIndex(@Value("${evsync.stations.index.cell-size-deg:0.1}") double cellSizeDeg) {
+        if (cellSizeDeg <= 0 || cellSizeDeg > 90) {
+            throw new IllegalArgumentException("Cell size must be in (0, 90] degrees");
+        }
+        this.cellSizeDeg = cellSizeDeg;
+        this.lonCells = (int) Math.ceil(360.0 / cellSizeDeg);
+    }
+
+    public record StationPoint(Long id, double latitude, double longitude, ChargingStationStatus status) {}
+
+    public record Neighbour(Long id, double distanceKm) {}
+
+    /**
+     * Lat/lon box enclosing a search circle. When the circle crosses the antimeridian
+     * {@code minLon} is below -180 or {@code maxLon} above 180.
+     */
+    public record BoundingBox(double minLat, double maxLat, double minLon, double maxLon) {
+        public boolean coversAllLongitudes() {
+            return minLon <= -180.0 && maxLon >= 180.0;
+        }
+    }
+
+    public static BoundingBox boundingBox(double lat, double lon, double radiusKm) {
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double minLat = Math.max(-90.0, lat - latDelta);
+        double maxLat = Math.min(90.0, lat + latDelta);
+
+        // Longitude degrees shrink towards the poles, so widen the window using the
+        // latitude closest to a pole that the search circle reaches.
+        double widestLat = Math.max(Math.abs(minLat), Math.abs(maxLat));
+        double cosLat = Math.cos(Math.toRadians(widestLat));
+        double lonDelta = cosLat <= 1e-9 ? 180.0 : radiusKm / (KM_PER_DEGREE * cosLat);
+        if (lonDelta >= 180.0) {
+            return new BoundingBox(minLat, maxLat, -180.0, 180.0);
+        }
+        return new BoundingBox(minLat, maxLat, lon - lonDelta, lon + lonDelta);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    public synchronized void rebuild(Collection<ChargingStation> stations) {
+        cells.clear();
+        points.clear();
+        stations.forEach(this::put);
+        loaded = true;
+    }
+
+    public synchronized void put(ChargingStation station) {
+        if (station.getId() == null || station.getLatitude() == null || station.getLongitude() == null) {
+            return;
+        }
+        remove(station.getId());
+
+        StationPoint point = new StationPoint(station.getId(), station.getLatitude(), station.getLongitude(), station.getStatus());
+        points.put(point.id(), point);
+        cells.computeIfAbsent(cellKey(point.latitude(), point.longitude()), k -> new ConcurrentHashMap<>())
+            .put(point.id(), point);
+    }
+
+    public synchronized void remove(Long stationId) {
+        StationPoint old = points.remove(stationId);
+        if (old == null) {
+            return;
+        }
+        long key = cellKey(old.latitude(), old.longitude());
+        Map<Long, StationPoint> cell = cells.get(key);
+        if (cell != null) {
+            cell.remove(stationId);
+            if (cell.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the ids of the stations within {@code radiusKm} of the given point, optionally
+     * restricted to one status ({@code null} matches every status).
+     */
+    public List<Long> idsWithin(double lat, double lon, double radiusKm, ChargingStationStatus status) {
+        List<Long> result = new ArrayList<>();
+        if (radiusKm < 0) {
+            return result;
+        }
+
+        BoundingBox box = boundingBox(lat, lon, radiusKm);
+        int minLatIdx = latIndex(box.minLat());
+        int maxLatIdx = latIndex(box.maxLat());
+        int lonSpan = box.coversAllLongitudes() ? lonCells
+            : (int) Math.min(lonCells, Math.ceil((box.maxLon() - box.minLon()) / cellSizeDeg) + 1);
+        int firstLonIdx = lonSpan == lonCells ? 0 : lonIndex(box.minLon());
+
+        long candidateCells = (long) (maxLatIdx - minLatIdx + 1) * lonSpan;
+        if (candidateCells > cells.size()) {
+            // Large radius over a sparse grid: cheaper to walk the occupied cells.
+            for (Map.Entry<Long, Map<Long, StationPoint>> entry : cells.entrySet()) {
+                int latIdx = (int) (entry.getKey() >> 32);
+                int lonIdx = (int) (long) entry.getKey();
+                if (latIdx >= minLatIdx && latIdx <= maxLatIdx && lonInWindow(lonIdx, firstLonIdx, lonSpan)) {
+                    collect(entry.getValue(), lat, lon, radiusKm, status, result);
+                }
+            }
+            return result;
+        }
+
+        for (int latIdx = minLatIdx; latIdx <= maxLatIdx; latIdx++) {
+            for (int i = 0; i < lonSpan; i++) {
+                Map<Long, StationPoint> cell = cells.get(key(latIdx, Math.floorMod(firstLonIdx + i, lonCells)));
+                if (cell != null) {
+                    collect(cell, lat, lon, radiusKm, status, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns up to {@code k} stations closest to the given point, nearest first. Cells are
+     * visited in rings of growing size around the query cell and the search stops as soon as
+     * no cell in the next ring can hold anything closer than the current k-th result.
+     */
+    public List<Neighbour> nearest(double lat, double lon, int k, ChargingStationStatus status) {
+        if (k <= 0 || points.isEmpty()) {
+            return List.of();
+        }
+        PriorityQueue<Neighbour> best = new PriorityQueue<>(k, Comparator.comparingDouble(Neighbour::distanceKm).reversed());
+
+        int centerLat = latIndex(lat);
+        int centerLon = lonIndex(lon);
+        int minLatIdx = latIndex(-90.0);
+        int maxLatIdx = latIndex(90.0);
+        long cellsVisited = 0;
+
+        for (int ring = 0; 2 * ring + 1 < lonCells; ring++) {
+            if (best.size() == k && best.peek().distanceKm() <= ringLowerBoundKm(lat, ring)) {
+                return sorted(best);
+            }
+            if (cellsVisited > 2L * cells.size()) {
+                // The rings have grown past the occupied part of the grid, finish with a plain scan
+                break;
+            }
+            for (int dLat = -ring; dLat <= ring; dLat++) {
+                int latIdx = centerLat + dLat;
+                if (latIdx < minLatIdx || latIdx > maxLatIdx) {
+                    continue;
+                }
+                int step = (dLat == -ring || dLat == ring) ? 1 : 2 * ring;
+                for (int dLon = -ring; dLon <= ring; dLon += step) {
+                    cellsVisited++;
+                    Map<Long, StationPoint> cell = cells.get(key(latIdx, Math.floorMod(centerLon + dLon, lonCells)));
+                    if (cell != null) {
+                        offer(best, k, cell.values(), lat, lon, status);
+                    }
+                }
+            }
+        }
+
+        best.clear();
+        offer(best, k, points.values(), lat, lon, status);
+        return sorted(best);
+    }
+
+    // No point in ring r is closer than r - 1 whole cells, measured where cells are narrowest
+    private double ringLowerBoundKm(double lat, int ring) {
+        if (ring <= 1) {
+            return 0.0;
+        }
+        double farthestLat = Math.min(90.0, Math.abs(lat) + (ring + 1) * cellSizeDeg);
+        double cellKm = cellSizeDeg * KM_PER_DEGREE * Math.cos(Math.toRadians(farthestLat));
+        return (ring - 1) * cellKm;
+    }
+
+    private void offer(PriorityQueue<Neighbour> best, int k, Collection<StationPoint> candidates,
+                       double lat, double lon, ChargingStationStatus status) {
+        for (StationPoint p : candidates) {
+            if (status != null && p.status() != status) {
+                continue;
+            }
+            double d = distanceKm(lat, lon, p.latitude(), p.longitude());
+            if (best.size() < k) {
+                best.add(new Neighbour(p.id(), d));
+            } else if (d < best.peek().distanceKm()) {
+                best.poll();
+                best.add(new Neighbour(p.id(), d));
+            }
+        }
+    }
+
+    private static List<Neighbour> sorted(PriorityQueue<Neighbour> best) {
+        return best.stream().sorted(Comparator.comparingDouble(Neighbour::distanceKm)).toList();
+    }
+
+    private void collect(Map<Long, StationPoint> cell, double lat, double lon, double radiusKm,
+                         ChargingStationStatus status, List<Long> result) {
+        for (StationPoint p : cell.values()) {
+            if ((status == null || p.status() == status)
+                    && distanceKm(lat, lon, p.latitude(), p.longitude()) <= radiusKm) {
+                result.add(p.id());
+            }
+        }
+    }
+
+    private boolean lonInWindow(int lonIdx, int firstLonIdx, int lonSpan) {
+        return lonSpan == lonCells || Math.floorMod(lonIdx - firstLonIdx, lonCells) < lonSpan;
+    }
+
+    private int latIndex(double lat) {
+        return (int) Math.floor(lat / cellSizeDeg);
+    }
+
+    private int lonIndex(double lon) {
+        return Math.floorMod((int) Math.floor((lon + 180.0) / cellSizeDeg), lonCells);
+    }
+
+    private long cellKey(double lat, double lon) {
+        return key(latIndex(lat), lonIndex(lon));
+    }
+
+    private static long key(int latIdx, int lonIdx) {
+        return ((long) latIdx << 32) | (lonIdx & 0xffffffffL);
+    }
+
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+
+        double a = Math.sin(dLat/2) * Math.sin(dLat/2)
+                 + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                 * Math.sin(dLon/2) * Math.sin(dLon/2);
+
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return EARTH_RADIUS_KM * c;
+    }
+}
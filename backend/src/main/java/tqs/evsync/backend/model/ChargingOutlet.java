@@ -2,7 +2,12 @@ package tqs.evsync.backend.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
@@ -10,15 +15,25 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import tqs.evsync.backend.config.SecondLevelCacheConfig;
+import tqs.evsync.backend.events.StatusEventListener;
+import tqs.evsync.backend.index.OperatorStationCacheListener;
 import tqs.evsync.backend.model.enums.OutletStatus;
+import tqs.evsync.backend.pricing.TariffCacheListener;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.OUTLETS)
+@EntityListeners({TariffCacheListener.class, OperatorStationCacheListener.class, StatusEventListener.class})
 public class ChargingOutlet {
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     private double costPerHour;
+    private double pricePerKwh;
+    private double idleFeePerMinute;
+    private int idleGraceMinutes;
     private int maxPower;
 	private boolean isAvailable = true;
 
@@ -45,6 +60,24 @@ public class ChargingOutlet {
 	public void setCostPerHour(double costPerHour) {
 	    	this.costPerHour = costPerHour;
 	}
+	public double getPricePerKwh() {
+		return pricePerKwh;
+	}
+	public void setPricePerKwh(double pricePerKwh) {
+		this.pricePerKwh = pricePerKwh;
+	}
+	public double getIdleFeePerMinute() {
+		return idleFeePerMinute;
+	}
+	public void setIdleFeePerMinute(double idleFeePerMinute) {
+		this.idleFeePerMinute = idleFeePerMinute;
+	}
+	public int getIdleGraceMinutes() {
+		return idleGraceMinutes;
+	}
+	public void setIdleGraceMinutes(int idleGraceMinutes) {
+		this.idleGraceMinutes = idleGraceMinutes;
+	}
 	public int getMaxPower() {
 	    	return maxPower;
 	}
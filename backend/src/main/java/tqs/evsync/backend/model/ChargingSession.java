@@ -2,17 +2,29 @@ package tqs.evsync.backend.model;
 
 import java.time.LocalDateTime;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import java.time.Duration;
+import tqs.evsync.backend.events.StatusEventListener;
+import tqs.evsync.backend.index.ActiveSessionListener;
 import tqs.evsync.backend.model.enums.ChargingSessionStatus;
+import tqs.evsync.backend.model.enums.SettlementStatus;
 
 @Entity
+@EntityListeners({ActiveSessionListener.class, StatusEventListener.class})
+@Table(indexes = {
+    @Index(name = "idx_session_status_start", columnList = "status, start_time"),
+    @Index(name = "idx_session_settlement", columnList = "settlement_status, end_time")
+})
 public class ChargingSession {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -29,9 +41,20 @@ public class ChargingSession {
     
     private LocalDateTime startTime;
     private LocalDateTime endTime;
+
+    // Latest meter sample seen for the session, used to spot sessions that went silent
+    private LocalDateTime lastActivityAt;
     private double energyConsumed;
     private double totalCost;
 
+    // Null while the session is running, PENDING once stopped until the worker charges it
+    @Enumerated(EnumType.STRING)
+    @Column(name = "settlement_status")
+    private SettlementStatus settlementStatus;
+
+    private LocalDateTime settledAt;
+    private String settlementFailure;
+
     public Long getId() {
         return id;
     }
@@ -105,4 +128,36 @@ public class ChargingSession {
     public void setStatus(ChargingSessionStatus status) {
         this.status = status;
     }
+
+    public SettlementStatus getSettlementStatus() {
+        return settlementStatus;
+    }
+
+    public void setSettlementStatus(SettlementStatus settlementStatus) {
+        this.settlementStatus = settlementStatus;
+    }
+
+    public LocalDateTime getSettledAt() {
+        return settledAt;
+    }
+
+    public void setSettledAt(LocalDateTime settledAt) {
+        this.settledAt = settledAt;
+    }
+
+    public String getSettlementFailure() {
+        return settlementFailure;
+    }
+
+    public void setSettlementFailure(String settlementFailure) {
+        this.settlementFailure = settlementFailure;
+    }
+
+    public LocalDateTime getLastActivityAt() {
+        return lastActivityAt;
+    }
+
+    public void setLastActivityAt(LocalDateTime lastActivityAt) {
+        this.lastActivityAt = lastActivityAt;
+    }
 }
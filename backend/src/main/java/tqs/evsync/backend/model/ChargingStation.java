@@ -4,11 +4,25 @@ import java.util.ArrayList;
 import java.util.List;
 
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import tqs.evsync.backend.config.SecondLevelCacheConfig;
+import tqs.evsync.backend.events.StatusEventListener;
+import tqs.evsync.backend.index.OperatorStationCacheListener;
+import tqs.evsync.backend.index.StationIndexListener;
 import tqs.evsync.backend.model.enums.ChargingStationStatus;
 
 import jakarta.persistence.*;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.STATIONS)
+@EntityListeners({StationIndexListener.class, OperatorStationCacheListener.class, StatusEventListener.class})
+@Table(indexes = {
+	@Index(name = "idx_station_lat_lon", columnList = "latitude, longitude"),
+	@Index(name = "idx_station_operator", columnList = "operator_id, id")
+})
 public class ChargingStation {
 
 
@@ -20,7 +34,8 @@ public class ChargingStation {
 	private Double longitude;
 	private ChargingStationStatus status;
 
-	@OneToMany(mappedBy = "chargingStation", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.STATION_OUTLETS)
+	@OneToMany(mappedBy = "chargingStation", cascade = CascadeType.ALL, orphanRemoval = true)
 	private List<ChargingOutlet> outlets = new ArrayList<>();
 
 
@@ -4,10 +4,15 @@ import java.util.List;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 
+// Not cached: the wallet moves through native updates on every booking and settlement
 @Entity
+@Cacheable(false)
 @DiscriminatorValue("CONSUMER")
 public class Consumer extends User {
-	private double wallet = 0;
+	// Whole cents. Never written by entity updates, only set on insert and then moved
+	// by the conditional statements in WalletService, so a stale entity can't overwrite it.
+	@Column(name = "wallet_cents", nullable = false, updatable = false)
+	private long walletCents = 0;
 	
 
 
@@ -16,15 +21,26 @@ public class Consumer extends User {
 	private List<Reservation> reservations;
 
 	public double getWallet() {
-		return wallet;
+		return walletCents / 100.0;
 	}
+
+	@JsonIgnore
+	public long getWalletCents() {
+		return walletCents;
+	}
+
 	public List<Reservation> getReservations() {
 		return reservations;
 	}
 
 	public void setWallet(double wallet) {
-		this.wallet = wallet;
+		this.walletCents = Math.round(wallet * 100);
 	}
+
+	public void setWalletCents(long walletCents) {
+		this.walletCents = walletCents;
+	}
+
 	public void setReservations(List<Reservation> reservations) {
 		this.reservations = reservations;
 	}
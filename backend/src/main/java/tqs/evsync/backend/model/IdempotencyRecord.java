@@ -0,0 +1,64 @@
+package tqs.evsync.backend.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "idempotency_record", indexes = @Index(name = "idx_idempotency_expires", columnList = "expires_at"))
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String key;
+
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    private int status;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Lob
+    private byte[] body;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    protected IdempotencyRecord() {
+    }
+
+    public IdempotencyRecord(String key, String fingerprint, int status, String contentType, byte[] body, Instant expiresAt) {
+        this.key = key;
+        this.fingerprint = fingerprint;
+        this.status = status;
+        this.contentType = contentType;
+        this.body = body;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
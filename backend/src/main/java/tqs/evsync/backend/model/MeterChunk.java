@@ -0,0 +1,60 @@
+package tqs.evsync.backend.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.*;
+
+/**
+ * A run of meter samples of one session, packed with MeterChunkCodec. Chunks are inserted
+ * in JDBC batches by MeterIngestionService, the entity defines the table and serves reads.
+ */
+@Entity
+@Table(name = "meter_chunk", indexes = @Index(name = "idx_meter_chunk_session_time", columnList = "session_id, start_at, end_at"))
+public class MeterChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    // First and last sample time in the chunk, both inclusive
+    @Column(name = "start_at", nullable = false)
+    private Instant startAt;
+
+    @Column(name = "end_at", nullable = false)
+    private Instant endAt;
+
+    @Column(name = "sample_count", nullable = false)
+    private int sampleCount;
+
+    // Sized for a mediumblob on MySQL, the default length would make it a 255-byte tinyblob
+    @Lob
+    @Column(nullable = false, length = 16_777_215)
+    private byte[] data;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getSessionId() {
+        return sessionId;
+    }
+
+    public Instant getStartAt() {
+        return startAt;
+    }
+
+    public Instant getEndAt() {
+        return endAt;
+    }
+
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+}
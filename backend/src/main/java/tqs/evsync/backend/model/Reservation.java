@@ -1,19 +1,41 @@
 package tqs.evsync.backend.model;
 
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.*;
 
+import tqs.evsync.backend.events.StatusEventListener;
+import tqs.evsync.backend.index.ReservationScheduleListener;
 import tqs.evsync.backend.model.enums.ReservationStatus;
 
 @Entity
+@EntityListeners({ReservationScheduleListener.class, StatusEventListener.class})
+@Table(indexes = {
+    @Index(name = "idx_reservation_outlet_time", columnList = "outlet_id, start_at, end_at"),
+    @Index(name = "idx_reservation_status_created", columnList = "status, created_at"),
+    @Index(name = "idx_reservation_consumer", columnList = "consumer_id, id"),
+    @Index(name = "idx_reservation_station", columnList = "station_id")
+})
 public class Reservation {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    private String startTime;
+    @Column(name = "start_at")
+    private LocalDateTime startAt;
+
+    // Derived from startAt + duration so overlap checks can run as an indexed range query
+    @Column(name = "end_at")
+    private LocalDateTime endAt;
+
     private Double duration;
     private double reservationFee;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
     
     @ManyToOne
     @JoinColumn(name = "station_id")
@@ -37,7 +59,17 @@ public class Reservation {
     }
 
     public String getStartTime() {
-        return startTime;
+        return startAt == null ? null : startAt.toString();
+    }
+
+    @JsonIgnore
+    public LocalDateTime getStartAt() {
+        return startAt;
+    }
+
+    @JsonIgnore
+    public LocalDateTime getEndAt() {
+        return endAt;
     }
 
     public Double getDuration() {
@@ -65,11 +97,36 @@ public class Reservation {
     }
 
     public void setStartTime(String startTime) {
-        this.startTime = startTime;
+        setStartAt(startTime == null ? null : LocalDateTime.parse(startTime));
+    }
+
+    public void setStartAt(LocalDateTime startAt) {
+        this.startAt = startAt;
+        updateEndAt();
     }
 
     public void setDuration(Double duration) {
         this.duration = duration;
+        updateEndAt();
+    }
+
+    private void updateEndAt() {
+        this.endAt = (startAt == null || duration == null) ? null : startAt.plusMinutes((long) (duration * 60));
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @PrePersist
+    private void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
     }
 
     public void setConsumer(Consumer consumer) {
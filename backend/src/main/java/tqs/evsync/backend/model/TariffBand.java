@@ -0,0 +1,68 @@
+package tqs.evsync.backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * One time-of-day band of an outlet's tariff. Bands only matter when a tariff is compiled,
+ * so they are kept out of the outlet entity and loaded by outlet id.
+ */
+@Entity
+@Table(name = "outlet_tariff_band", indexes = @Index(name = "idx_tariff_band_outlet", columnList = "outlet_id, position"))
+public class TariffBand {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "outlet_id", nullable = false)
+    private Long outletId;
+
+    // Later bands win where two overlap
+    @Column(nullable = false)
+    private int position;
+
+    private int startMinute;
+    private int endMinute;
+    private double costPerHour;
+
+    protected TariffBand() {
+    }
+
+    public TariffBand(Long outletId, int position, int startMinute, int endMinute, double costPerHour) {
+        this.outletId = outletId;
+        this.position = position;
+        this.startMinute = startMinute;
+        this.endMinute = endMinute;
+        this.costPerHour = costPerHour;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getOutletId() {
+        return outletId;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public int getStartMinute() {
+        return startMinute;
+    }
+
+    public int getEndMinute() {
+        return endMinute;
+    }
+
+    public double getCostPerHour() {
+        return costPerHour;
+    }
+}
@@ -1,9 +1,16 @@
 package tqs.evsync.backend.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.*;
+import tqs.evsync.backend.config.SecondLevelCacheConfig;
 
+// Hibernate caches a hierarchy in the root's region; Consumer opts out, see there
 @Entity
-@Table(name = "app_user")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USERS)
+@Table(name = "app_user", indexes = @Index(name = "idx_app_user_email", columnList = "email"))
 @Inheritance(strategy = InheritanceType.JOINED) 
 @DiscriminatorColumn(name = "user_type")
 public class User {
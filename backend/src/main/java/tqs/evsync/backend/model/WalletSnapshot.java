@@ -0,0 +1,63 @@
+package tqs.evsync.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/**
+ * Ledger balance of a consumer up to and including {@code lastTransactionId}, so the
+ * balance can be rebuilt from the latest snapshot plus the entries after it.
+ */
+@Entity
+@Table(name = "wallet_snapshot", indexes = {
+    @Index(name = "idx_wallet_snapshot_consumer", columnList = "consumer_id, last_transaction_id"),
+    @Index(name = "idx_wallet_snapshot_last_tx", columnList = "last_transaction_id")
+})
+public class WalletSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "consumer_id", nullable = false)
+    private Long consumerId;
+
+    @Column(name = "last_transaction_id", nullable = false)
+    private Long lastTransactionId;
+
+    @Column(name = "balance_cents", nullable = false)
+    private long balanceCents;
+
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+
+    protected WalletSnapshot() {
+    }
+
+    public WalletSnapshot(Long consumerId, Long lastTransactionId, long balanceCents) {
+        this.consumerId = consumerId;
+        this.lastTransactionId = lastTransactionId;
+        this.balanceCents = balanceCents;
+        this.takenAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getConsumerId() {
+        return consumerId;
+    }
+
+    public Long getLastTransactionId() {
+        return lastTransactionId;
+    }
+
+    public long getBalanceCents() {
+        return balanceCents;
+    }
+
+    public LocalDateTime getTakenAt() {
+        return takenAt;
+    }
+}
@@ -0,0 +1,71 @@
+package tqs.evsync.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+import tqs.evsync.backend.model.enums.WalletTransactionType;
+
+/**
+ * One append-only entry of a consumer's wallet ledger. Amounts are signed cents,
+ * credits positive and debits negative.
+ */
+@Entity
+@Table(name = "wallet_transaction", indexes = @Index(name = "idx_wallet_tx_consumer", columnList = "consumer_id, id"))
+public class WalletTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "consumer_id", nullable = false, updatable = false)
+    private Long consumerId;
+
+    @Column(name = "amount_cents", nullable = false, updatable = false)
+    private long amountCents;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private WalletTransactionType type;
+
+    @Column(updatable = false)
+    private String reference;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    protected WalletTransaction() {
+    }
+
+    public WalletTransaction(Long consumerId, long amountCents, WalletTransactionType type, String reference) {
+        this.consumerId = consumerId;
+        this.amountCents = amountCents;
+        this.type = type;
+        this.reference = reference;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getConsumerId() {
+        return consumerId;
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public WalletTransactionType getType() {
+        return type;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,7 @@
+package tqs.evsync.backend.model.enums;
+
+public enum SettlementStatus {
+    PENDING,    // Stopped, waiting for the settlement worker
+    SETTLED,    // Priced and charged to the wallet
+    FAILED      // Could not be charged (insufficient funds, unknown consumer)
+}
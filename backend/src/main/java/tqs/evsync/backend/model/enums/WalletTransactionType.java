@@ -0,0 +1,9 @@
+package tqs.evsync.backend.model.enums;
+
+public enum WalletTransactionType {
+	OPENING,			// Balance the consumer signed up with
+	TOP_UP,				// Money added by the consumer
+	RESERVATION_FEE,	// Fee charged when a reservation is confirmed
+	SESSION_CHARGE,		// Remaining cost charged when a session ends
+	ADJUSTMENT			// Balance set directly through the consumer update endpoint
+}
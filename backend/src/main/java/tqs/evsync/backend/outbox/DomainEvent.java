@@ -0,0 +1,35 @@
+package tqs.evsync.backend.outbox;
+
+import java.time.Instant;
+
+/**
+ * A committed change to a reservation, session or station as handed to the
+ * {@link DomainEventListener}s. {@code id} increases with every event and {@code payload}
+ * is a JSON snapshot of the aggregate right after the change.
+ */
+public record DomainEvent(long id, String aggregateType, long aggregateId, String type, String payload,
+                          Instant occurredAt) {
+
+    public static final String RESERVATION = "reservation";
+    public static final String SESSION = "session";
+    public static final String STATION = "station";
+
+    public static final String RESERVATION_CREATED = "reservation.created";
+    public static final String RESERVATION_CONFIRMED = "reservation.confirmed";
+    public static final String RESERVATION_CANCELLED = "reservation.cancelled";
+    public static final String RESERVATION_EXPIRED = "reservation.expired";
+
+    public static final String SESSION_CREATED = "session.created";
+    public static final String SESSION_STARTED = "session.started";
+    public static final String SESSION_ENDED = "session.ended";
+    public static final String SESSION_DELETED = "session.deleted";
+    public static final String SESSION_INTERRUPTED = "session.interrupted";
+    public static final String SESSION_SETTLED = "session.settled";
+    public static final String SESSION_SETTLEMENT_FAILED = "session.settlement-failed";
+
+    public static final String STATION_ADDED = "station.added";
+    public static final String STATION_STATUS_CHANGED = "station.status-changed";
+    public static final String STATION_DELETED = "station.deleted";
+    public static final String STATION_OUTLET_ADDED = "station.outlet-added";
+    public static final String STATION_OUTLET_REMOVED = "station.outlet-removed";
+}
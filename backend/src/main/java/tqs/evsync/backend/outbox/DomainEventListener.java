@@ -0,0 +1,12 @@
+package tqs.evsync.backend.outbox;
+
+/**
+ * Receives every relayed domain event, in order for each aggregate. Delivery is at least
+ * once: events of a relay batch that did not commit are delivered again, so handlers must
+ * cope with seeing an event twice. Throwing holds back the aggregate's later events until
+ * the failed one is accepted on a later run.
+ */
+public interface DomainEventListener {
+
+    void onEvent(DomainEvent event);
+}
@@ -0,0 +1,139 @@
+package tqs.evsync.backend.outbox;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import tqs.evsync.backend.model.ChargingOutlet;
+import tqs.evsync.backend.model.ChargingSession;
+import tqs.evsync.backend.model.ChargingStation;
+import tqs.evsync.backend.model.OutboxEvent;
+import tqs.evsync.backend.model.Reservation;
+import tqs.evsync.backend.repository.OutboxEventRepository;
+
+/**
+ * Records domain events in the outbox table inside the caller's transaction, so an event
+ * is stored exactly when the change it describes commits. The {@link OutboxRelay} delivers
+ * them afterwards.
+ */
+@Component
+public class Outbox {
+
+    private final OutboxEventRepository events;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public Outbox(OutboxEventRepository events, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.events = events;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reservation(Reservation reservation, String type) {
+        record(List.of(event(reservation, type)));
+    }
+
+    /**
+     * One event per reservation, for changes made by a bulk update. The reservations must be
+     * read back after the update so the payloads show it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reservations(Collection<Reservation> reservations, String type) {
+        record(reservations.stream().map(r -> event(r, type)).toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void session(ChargingSession session, String type) {
+        record(List.of(event(session, type)));
+    }
+
+    /**
+     * One event per session, for changes made by a bulk update. The sessions must be read
+     * back after the update so the payloads show it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void sessions(Collection<ChargingSession> sessions, String type) {
+        record(sessions.stream().map(s -> event(s, type)).toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void station(ChargingStation station, String type) {
+        stations(List.of(station), type);
+    }
+
+    /**
+     * One event per station. The stations may be built from rows written with JDBC, as long
+     * as they carry the id, operator and the columns the payload reads.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void stations(Collection<ChargingStation> stations, String type) {
+        record(stations.stream().map(st -> event(DomainEvent.STATION, st.getId(), type, stationPayload(st))).toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void outlet(ChargingStation station, ChargingOutlet outlet, String type) {
+        Map<String, Object> payload = stationPayload(station);
+        payload.put("outletId", outlet.getId());
+        record(List.of(event(DomainEvent.STATION, station.getId(), type, payload)));
+    }
+
+    private OutboxEvent event(Reservation reservation, String type) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("stationId", reservation.getStation() == null ? null : reservation.getStation().getId());
+        payload.put("outletId", reservation.getOutlet() == null ? null : reservation.getOutlet().getId());
+        payload.put("consumerId", reservation.getConsumer() == null ? null : reservation.getConsumer().getId());
+        payload.put("status", reservation.getStatus());
+        payload.put("startAt", reservation.getStartAt());
+        payload.put("endAt", reservation.getEndAt());
+        payload.put("reservationFee", reservation.getReservationFee());
+        return event(DomainEvent.RESERVATION, reservation.getId(), type, payload);
+    }
+
+    private OutboxEvent event(ChargingSession session, String type) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("reservationId", session.getReservation() == null ? null : session.getReservation().getId());
+        payload.put("outletId", session.getOutlet() == null ? null : session.getOutlet().getId());
+        payload.put("status", session.getStatus());
+        payload.put("startTime", session.getStartTime());
+        payload.put("endTime", session.getEndTime());
+        payload.put("energyConsumed", session.getEnergyConsumed());
+        payload.put("settlementStatus", session.getSettlementStatus());
+        payload.put("totalCost", session.getTotalCost());
+        return event(DomainEvent.SESSION, session.getId(), type, payload);
+    }
+
+    private static Map<String, Object> stationPayload(ChargingStation station) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("operatorId", station.getOperator() == null ? null : station.getOperator().getId());
+        payload.put("status", station.getStatus());
+        payload.put("latitude", station.getLatitude());
+        payload.put("longitude", station.getLongitude());
+        return payload;
+    }
+
+    private OutboxEvent event(String aggregateType, Long aggregateId, String type, Map<String, Object> payload) {
+        try {
+            return new OutboxEvent(aggregateType, aggregateId, type, objectMapper.writeValueAsString(payload), Instant.now());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type + " event", e);
+        }
+    }
+
+    private void record(List<OutboxEvent> batch) {
+        // Write the change first so its row lock is held before the event takes an id: two
+        // transactions on the same aggregate then number their events in commit order
+        entityManager.flush();
+        events.saveAll(batch);
+    }
+}
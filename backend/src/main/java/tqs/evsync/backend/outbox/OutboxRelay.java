@@ -0,0 +1,141 @@
+package tqs.evsync.backend.outbox;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import tqs.evsync.backend.model.OutboxEvent;
+import tqs.evsync.backend.repository.OutboxEventRepository;
+
+/**
+ * Drains the outbox to the {@link DomainEventListener}s oldest first, in batches. Each batch
+ * is locked, delivered and deleted in one transaction, so a batch that fails to commit is
+ * delivered again. When a listener throws, the rest of that aggregate's events stay in the
+ * outbox for the next run while other aggregates carry on.
+ */
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository events;
+    private final ObjectProvider<DomainEventListener> listeners;
+    private final TransactionTemplate transactions;
+    private final int batchSize;
+
+    private final Counter deliveredCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    private record BatchResult(int fetched, int delivered, long lastId, Instant oldest) {}
+
+    public OutboxRelay(OutboxEventRepository events, ObjectProvider<DomainEventListener> listeners,
+                       PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                       @Value("${evsync.outbox.batch-size:500}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Outbox batch size must be positive");
+        }
+        this.events = events;
+        this.listeners = listeners;
+        this.transactions = new TransactionTemplate(transactionManager);
+        // Avoids the gap locks repeatable read takes past the last row, which would block
+        // every transaction recording a new event until the batch commits
+        this.transactions.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.batchSize = batchSize;
+
+        this.deliveredCounter = Counter.builder("evsync.outbox.events")
+            .tag("outcome", "delivered")
+            .description("Outbox events handed to every listener")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("evsync.outbox.events")
+            .tag("outcome", "failed")
+            .description("Outbox event deliveries a listener rejected, retried on the next run")
+            .register(meterRegistry);
+        this.batchTimer = Timer.builder("evsync.outbox.batch")
+            .description("Time taken to deliver one batch of outbox events")
+            .register(meterRegistry);
+        Gauge.builder("evsync.outbox.lag", lagMillis, l -> l.get() / 1000.0)
+            .description("Seconds the oldest undelivered event had been waiting, as of the last run")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Delivers everything currently in the outbox that no failed event holds back and
+     * returns how many events were delivered. Each run walks the outbox once, so held back
+     * events wait for the next run instead of being retried batch after batch.
+     */
+    @Scheduled(fixedDelayString = "${evsync.outbox.relay-interval-ms:1000}")
+    public int relay() {
+        Set<String> held = new HashSet<>();
+        int total = 0;
+        long after = 0;
+        while (true) {
+            long from = after;
+            BatchResult batch = batchTimer.record(() -> transactions.execute(tx -> deliverBatch(from, held)));
+            if (from == 0) {
+                lagMillis.set(batch.oldest() == null ? 0
+                    : Math.max(0, Duration.between(batch.oldest(), Instant.now()).toMillis()));
+            }
+            total += batch.delivered();
+            if (batch.fetched() < batchSize) {
+                break;
+            }
+            after = batch.lastId();
+        }
+        return total;
+    }
+
+    private BatchResult deliverBatch(long after, Set<String> held) {
+        List<OutboxEvent> batch = events.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, batchSize));
+        List<DomainEventListener> targets = listeners.orderedStream().toList();
+        List<Long> delivered = new ArrayList<>();
+        for (OutboxEvent event : batch) {
+            String aggregate = event.getAggregateType() + ":" + event.getAggregateId();
+            if (held.contains(aggregate)) {
+                continue;
+            }
+            if (deliver(event, targets)) {
+                delivered.add(event.getId());
+            } else {
+                held.add(aggregate);
+            }
+        }
+        if (!delivered.isEmpty()) {
+            events.deleteAllByIdInBatch(delivered);
+        }
+        return batch.isEmpty() ? new BatchResult(0, 0, after, null)
+            : new BatchResult(batch.size(), delivered.size(), batch.get(batch.size() - 1).getId(), batch.get(0).getCreatedAt());
+    }
+
+    private boolean deliver(OutboxEvent event, List<DomainEventListener> targets) {
+        DomainEvent domainEvent = new DomainEvent(event.getId(), event.getAggregateType(), event.getAggregateId(),
+            event.getEventType(), event.getPayload(), event.getCreatedAt());
+        try {
+            for (DomainEventListener listener : targets) {
+                listener.onEvent(domainEvent);
+            }
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            return false;
+        }
+        deliveredCounter.increment();
+        return true;
+    }
+}
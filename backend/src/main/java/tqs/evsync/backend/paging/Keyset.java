@@ -0,0 +1,46 @@
+package tqs.evsync.backend.paging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * One page request over an id-ordered collection: rows with an id above {@code after}, at
+ * most {@code limit} of them. Queries range over the primary key instead of skipping rows,
+ * so page 1000 costs the same as page 1.
+ */
+public record Keyset(long after, int limit) {
+
+    /**
+     * Page to hand to the repository. Asks for one row more than the limit, which tells
+     * {@link #page} whether anything follows without a count query.
+     */
+    public Pageable fetch() {
+        return PageRequest.of(0, limit + 1);
+    }
+
+    public <T> KeysetPage<T> page(List<T> rows, Function<T, Long> idOf) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(items, encode(idOf.apply(items.get(limit - 1))));
+    }
+
+    // Cursors are opaque to clients so the sort key behind them can change
+    static String encode(long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static long decode(String cursor) {
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package tqs.evsync.backend.paging;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+
+/**
+ * A page of results and the cursor of the next one, {@code null} on the last page.
+ */
+public record KeysetPage<T>(List<T> items, String nextCursor) {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * The body stays a plain JSON array, as before pagination, and the cursor travels in
+     * the {@value #NEXT_CURSOR_HEADER} header.
+     */
+    public ResponseEntity<List<T>> toResponse() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(items);
+    }
+}
@@ -0,0 +1,29 @@
+package tqs.evsync.backend.paging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns the {@code cursor} and {@code limit} request parameters of collection endpoints
+ * into a {@link Keyset}. Requests without a limit get the largest page allowed.
+ */
+@Component
+public class Pagination {
+
+    private final int maxPageSize;
+
+    public Pagination(@Value("${evsync.pagination.max-page-size:500}") int maxPageSize) {
+        if (maxPageSize < 1) {
+            throw new IllegalArgumentException("Max page size must be positive");
+        }
+        this.maxPageSize = maxPageSize;
+    }
+
+    public Keyset keyset(String cursor, Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        long after = cursor == null || cursor.isBlank() ? 0L : Keyset.decode(cursor);
+        return new Keyset(after, limit == null ? maxPageSize : Math.min(limit, maxPageSize));
+    }
+}
@@ -0,0 +1,124 @@
+package tqs.evsync.backend.pricing;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import tqs.evsync.backend.dto.TariffDefinition;
+import tqs.evsync.backend.dto.TariffDefinition.Band;
+
+/**
+ * A {@link TariffDefinition} compiled into a prefix sum over the minutes of a day, so the
+ * time component of any charge is two array reads plus a whole-day multiple, however many
+ * time-of-day bands the outlet has. Instances are immutable and pricing allocates nothing.
+ */
+public final class Tariff {
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    // Share of the expected time cost taken up front when a reservation is confirmed
+    public static final double RESERVATION_FEE_SHARE = 0.2;
+
+    public static final Tariff FREE = compile(new TariffDefinition(0, 0, 0, 0, null));
+
+    // cumulative[m] is the sum of the hourly rates of minutes [0, m) after midnight, i.e. 60x
+    // their cost. Summing the rates rather than rate / 60 keeps whole-number tariffs exact.
+    private final double[] cumulative;
+    private final double pricePerKwh;
+    private final double idleFeePerMinute;
+    private final int idleGraceMinutes;
+
+    private Tariff(double[] cumulative, double pricePerKwh, double idleFeePerMinute, int idleGraceMinutes) {
+        this.cumulative = cumulative;
+        this.pricePerKwh = pricePerKwh;
+        this.idleFeePerMinute = idleFeePerMinute;
+        this.idleGraceMinutes = idleGraceMinutes;
+    }
+
+    /**
+     * Bands are applied in order, so a later band wins where two overlap.
+     */
+    public static Tariff compile(TariffDefinition definition) {
+        requireNonNegative(definition.costPerHour(), "Cost per hour");
+        requireNonNegative(definition.pricePerKwh(), "Price per kWh");
+        requireNonNegative(definition.idleFeePerMinute(), "Idle fee per minute");
+        if (definition.idleGraceMinutes() < 0) {
+            throw new IllegalArgumentException("Idle grace minutes must not be negative");
+        }
+
+        double[] hourlyRate = new double[MINUTES_PER_DAY];
+        Arrays.fill(hourlyRate, definition.costPerHour());
+        for (Band band : definition.bands()) {
+            if (band.startMinute() < 0 || band.startMinute() >= MINUTES_PER_DAY
+                    || band.endMinute() < 0 || band.endMinute() > MINUTES_PER_DAY
+                    || band.startMinute() == band.endMinute()) {
+                throw new IllegalArgumentException("Band must cover [start, end) minutes within one day");
+            }
+            requireNonNegative(band.costPerHour(), "Band cost per hour");
+            double rate = band.costPerHour();
+            if (band.startMinute() < band.endMinute()) {
+                Arrays.fill(hourlyRate, band.startMinute(), band.endMinute(), rate);
+            } else {
+                Arrays.fill(hourlyRate, band.startMinute(), MINUTES_PER_DAY, rate);
+                Arrays.fill(hourlyRate, 0, band.endMinute(), rate);
+            }
+        }
+
+        double[] cumulative = new double[MINUTES_PER_DAY + 1];
+        for (int m = 0; m < MINUTES_PER_DAY; m++) {
+            cumulative[m + 1] = cumulative[m] + hourlyRate[m];
+        }
+        return new Tariff(cumulative, definition.pricePerKwh(), definition.idleFeePerMinute(),
+            definition.idleGraceMinutes());
+    }
+
+    private static void requireNonNegative(double value, String what) {
+        if (!(value >= 0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException(what + " must be a non-negative number");
+        }
+    }
+
+    /**
+     * Cost of {@code minutes} whole minutes starting at the given minute after midnight.
+     */
+    public double timeCost(int startMinuteOfDay, long minutes) {
+        if (minutes <= 0) {
+            return 0.0;
+        }
+        double day = cumulative[MINUTES_PER_DAY];
+        double rateMinutes = (minutes / MINUTES_PER_DAY) * day;
+        int end = startMinuteOfDay + (int) (minutes % MINUTES_PER_DAY);
+        if (end <= MINUTES_PER_DAY) {
+            rateMinutes += cumulative[end] - cumulative[startMinuteOfDay];
+        } else {
+            rateMinutes += day - cumulative[startMinuteOfDay] + cumulative[end - MINUTES_PER_DAY];
+        }
+        return rateMinutes / 60.0;
+    }
+
+    public double timeCost(LocalDateTime start, long minutes) {
+        return timeCost(start.getHour() * 60 + start.getMinute(), minutes);
+    }
+
+    public double energyCost(double energyKwh) {
+        return energyKwh > 0 ? energyKwh * pricePerKwh : 0.0;
+    }
+
+    public double idleFee(long idleMinutes) {
+        return idleMinutes > idleGraceMinutes ? (idleMinutes - idleGraceMinutes) * idleFeePerMinute : 0.0;
+    }
+
+    /**
+     * Total charge for a session, rounded to whole cents: time, energy and any idle minutes
+     * past the grace period.
+     */
+    public double price(LocalDateTime start, long minutes, double energyKwh, long idleMinutes) {
+        return roundToCents(timeCost(start, minutes) + energyCost(energyKwh) + idleFee(idleMinutes));
+    }
+
+    public double reservationFee(LocalDateTime start, long minutes) {
+        return roundToCents(timeCost(start, minutes) * RESERVATION_FEE_SHARE);
+    }
+
+    private static double roundToCents(double amount) {
+        return Math.round(amount * 100) / 100.0;
+    }
+}
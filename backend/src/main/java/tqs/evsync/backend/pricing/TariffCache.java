@@ -0,0 +1,70 @@
+package tqs.evsync.backend.pricing;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Compiled tariffs by outlet id. Entries are dropped whenever the outlet or its bands
+ * change and recompiled on the next lookup.
+ */
+@Component
+public class TariffCache {
+
+    private final Map<Long, Tariff> compiled = new ConcurrentHashMap<>();
+    // One counter per outlet that has been written, bumped on every invalidation
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+
+    /**
+     * The cached tariff, or the one {@code loader} compiles. The outlet's generation is
+     * taken before loading and the result is only kept if no invalidation came in between,
+     * so a tariff compiled from rows that were being changed is never served afterwards.
+     */
+    public Tariff get(Long outletId, Supplier<Tariff> loader) {
+        Tariff tariff = compiled.get(outletId);
+        if (tariff != null) {
+            return tariff;
+        }
+        long generation = generations.getOrDefault(outletId, 0L);
+        Tariff loaded = loader.get();
+        generations.compute(outletId, (id, current) -> {
+            if ((current == null ? 0L : current) == generation) {
+                compiled.put(id, loaded);
+            }
+            return current;
+        });
+        return loaded;
+    }
+
+    public int size() {
+        return compiled.size();
+    }
+
+    /**
+     * Drops the entry now and again once the surrounding transaction commits, so a lookup
+     * that read the old rows in the meantime can't leave a stale tariff behind.
+     */
+    public void invalidate(Long outletId) {
+        if (outletId == null) {
+            return;
+        }
+        drop(outletId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    drop(outletId);
+                }
+            });
+        }
+    }
+
+    private void drop(Long outletId) {
+        generations.merge(outletId, 1L, Long::sum);
+        compiled.remove(outletId);
+    }
+}
@@ -0,0 +1,27 @@
+package tqs.evsync.backend.pricing;
+
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import tqs.evsync.backend.model.ChargingOutlet;
+
+/**
+ * Evicts an outlet's compiled tariff whenever the outlet row changes, whichever path the
+ * write comes through.
+ */
+@Component
+public class TariffCacheListener {
+
+    private final TariffCache cache;
+
+    public TariffCacheListener(TariffCache cache) {
+        this.cache = cache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(ChargingOutlet outlet) {
+        cache.invalidate(outlet.getId());
+    }
+}
@@ -1,7 +1,12 @@
 package tqs.evsync.backend.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import tqs.evsync.backend.model.ChargingOutlet;
 
 public interface ChargingOutletRepository extends JpaRepository<ChargingOutlet, Long> {
+
+    List<ChargingOutlet> findByIdGreaterThanOrderByIdAsc(Long after, Pageable page);
 }
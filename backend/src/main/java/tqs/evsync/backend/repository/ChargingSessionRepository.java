@@ -1,8 +1,94 @@
 package tqs.evsync.backend.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.LockModeType;
+import tqs.evsync.backend.dto.ActiveSessionRow;
+import tqs.evsync.backend.dto.PendingSettlement;
 import tqs.evsync.backend.model.ChargingSession;
+import tqs.evsync.backend.model.enums.SettlementStatus;
 
 public interface ChargingSessionRepository 
         extends JpaRepository<ChargingSession,Long> {
-}
\ No newline at end of file
+
+    List<ChargingSession> findByIdGreaterThanOrderByIdAsc(Long after, Pageable page);
+
+    @Query("select s.id as id, o.id as outletId, st.id as stationId, r.id as reservationId, s.startTime as startTime "
+         + "from ChargingSession s left join s.outlet o left join o.chargingStation st left join s.reservation r "
+         + "where s.status = tqs.evsync.backend.model.enums.ChargingSessionStatus.ACTIVE")
+    List<ActiveSessionRow> findActiveSessions();
+
+    /**
+     * ACTIVE sessions with no activity since {@code deadline}, oldest first. Ranges over the
+     * (status, start_time) index: a session can't have been active after it started.
+     */
+    @Query("select s.id from ChargingSession s "
+         + "where s.status = tqs.evsync.backend.model.enums.ChargingSessionStatus.ACTIVE "
+         + "and s.startTime < :deadline and (s.lastActivityAt is null or s.lastActivityAt < :deadline) "
+         + "order by s.startTime")
+    List<Long> findStaleActiveIds(@Param("deadline") LocalDateTime deadline, Pageable page);
+
+    /**
+     * Those of the given sessions that are still stale, locked until the transaction ends so
+     * no activity or end slips in before {@link #interruptStale} interrupts them.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ChargingSession s where s.id in :ids "
+         + "and s.status = tqs.evsync.backend.model.enums.ChargingSessionStatus.ACTIVE "
+         + "and s.startTime < :deadline and (s.lastActivityAt is null or s.lastActivityAt < :deadline)")
+    List<ChargingSession> lockStale(@Param("ids") Collection<Long> ids, @Param("deadline") LocalDateTime deadline);
+
+    /**
+     * Marks the given sessions INTERRUPTED, ending them at their last activity and queueing
+     * them for settlement. Sessions that saw activity or ended in the meantime are skipped.
+     * Bulk updates bypass the entity listeners.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update ChargingSession s set s.status = tqs.evsync.backend.model.enums.ChargingSessionStatus.INTERRUPTED, "
+         + "s.endTime = coalesce(s.lastActivityAt, s.startTime), "
+         + "s.settlementStatus = tqs.evsync.backend.model.enums.SettlementStatus.PENDING "
+         + "where s.id in :ids and s.status = tqs.evsync.backend.model.enums.ChargingSessionStatus.ACTIVE "
+         + "and s.startTime < :deadline and (s.lastActivityAt is null or s.lastActivityAt < :deadline)")
+    int interruptStale(@Param("ids") Collection<Long> ids, @Param("deadline") LocalDateTime deadline);
+
+    /**
+     * Oldest stopped sessions still waiting to be charged, flattened with the outlet,
+     * the fee already paid on the reservation and the consumer to charge.
+     */
+    @Query("select s.id as id, s.startTime as startTime, s.endTime as endTime, o.id as outletId, "
+         + "s.energyConsumed as energyConsumed, r.reservationFee as reservationFee, r.endAt as reservedUntil, "
+         + "c.id as consumerId "
+         + "from ChargingSession s left join s.outlet o left join s.reservation r left join r.consumer c "
+         + "where s.settlementStatus = tqs.evsync.backend.model.enums.SettlementStatus.PENDING "
+         + "order by s.endTime, s.id")
+    List<PendingSettlement> findPendingSettlements(Pageable page);
+
+    @Query("select min(s.endTime) from ChargingSession s "
+         + "where s.settlementStatus = tqs.evsync.backend.model.enums.SettlementStatus.PENDING")
+    LocalDateTime findOldestPendingEndTime();
+
+    long countBySettlementStatus(SettlementStatus status);
+
+    /**
+     * Moves one session out of PENDING. Returns 0 when another worker got there first, which
+     * is what keeps a session from being charged twice. Bulk updates bypass the entity listeners.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ChargingSession s set s.settlementStatus = :status, s.totalCost = :totalCost, "
+         + "s.settledAt = :settledAt, s.settlementFailure = :failure "
+         + "where s.id = :id and s.settlementStatus = tqs.evsync.backend.model.enums.SettlementStatus.PENDING")
+    int completeSettlement(@Param("id") Long id, @Param("status") SettlementStatus status,
+                           @Param("totalCost") double totalCost, @Param("settledAt") LocalDateTime settledAt,
+                           @Param("failure") String failure);
+}
@@ -1,7 +1,46 @@
 package tqs.evsync.backend.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.QueryHint;
+import tqs.evsync.backend.dto.StationSummary;
 import tqs.evsync.backend.model.ChargingStation;
 
 public interface ChargingStationRepository extends JpaRepository<ChargingStation, Long> {
+
+    String SUMMARY = "select new tqs.evsync.backend.dto.StationSummary(s.id, s.latitude, s.longitude, s.status, op.id, "
+                   + "(select count(o) from ChargingOutlet o where o.chargingStation = s)) "
+                   + "from ChargingStation s left join s.operator op ";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select s from ChargingStation s left join fetch s.outlets where s.id = :id")
+    Optional<ChargingStation> findWithOutletsById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SUMMARY + "where s.id > :after order by s.id")
+    List<StationSummary> findSummariesAfter(@Param("after") long after, Pageable page);
+
+    @Query(SUMMARY + "where s.id in :ids")
+    List<StationSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Ranges over idx_station_operator; results are cached per operator by OperatorStationCache
+    @Query(SUMMARY + "where op.id = :operatorId and s.id > :after order by s.id")
+    List<StationSummary> findSummariesByOperatorId(@Param("operatorId") Long operatorId, @Param("after") long after,
+                                                   Pageable page);
+
+    // Served by idx_station_lat_lon; callers apply the exact distance check on the result
+    @Query(SUMMARY + "where s.latitude between :minLat and :maxLat and s.longitude between :minLon and :maxLon")
+    List<StationSummary> findSummariesWithinBoundingBox(@Param("minLat") double minLat,
+                                                        @Param("maxLat") double maxLat,
+                                                        @Param("minLon") double minLon,
+                                                        @Param("maxLon") double maxLon);
 }
@@ -1,10 +1,50 @@
 package tqs.evsync.backend.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.QueryHint;
 import tqs.evsync.backend.model.Consumer;
 
+// The wallet updates name the table they touch; Hibernate would otherwise treat each one as
+// a change to every table and empty the whole second-level cache
 public interface ConsumerRepository extends JpaRepository<Consumer, Long> {
     Optional<Consumer> findByEmail(String email);
+
+    @Query(value = "select wallet_cents from consumer where id = :id", nativeQuery = true)
+    Optional<Long> findWalletCents(@Param("id") Long id);
+
+    /**
+     * Takes {@code cents} from the wallet only if the balance covers it. Returns 0 when the
+     * consumer does not exist or the balance is too low.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "consumer"))
+    @Query(value = "update consumer set wallet_cents = wallet_cents - :cents where id = :id and wallet_cents >= :cents",
+           nativeQuery = true)
+    int debitWallet(@Param("id") Long id, @Param("cents") long cents);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "consumer"))
+    @Query(value = "update consumer set wallet_cents = wallet_cents + :cents where id = :id", nativeQuery = true)
+    int creditWallet(@Param("id") Long id, @Param("cents") long cents);
+
+    // Locking read, so the caller sees the latest balance and holds the row until commit
+    @Query(value = "select wallet_cents from consumer where id = :id for update", nativeQuery = true)
+    Optional<Long> lockWalletCents(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "consumer"))
+    @Query(value = "update consumer set wallet_cents = :cents where id = :id", nativeQuery = true)
+    int replaceWallet(@Param("id") Long id, @Param("cents") long cents);
+
+    List<Consumer> findByIdGreaterThanOrderByIdAsc(Long after, Pageable page);
 }
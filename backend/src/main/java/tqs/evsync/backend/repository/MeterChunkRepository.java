@@ -0,0 +1,20 @@
+package tqs.evsync.backend.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import tqs.evsync.backend.model.MeterChunk;
+
+public interface MeterChunkRepository extends JpaRepository<MeterChunk, Long> {
+
+    /**
+     * Chunks of the session holding any sample in {@code [from, to)}.
+     */
+    @Query("select c from MeterChunk c where c.sessionId = :sessionId and c.endAt >= :from and c.startAt < :to "
+         + "order by c.startAt")
+    List<MeterChunk> findOverlapping(@Param("sessionId") Long sessionId, @Param("from") Instant from, @Param("to") Instant to);
+}
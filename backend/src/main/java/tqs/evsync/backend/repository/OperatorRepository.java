@@ -1,10 +1,19 @@
 package tqs.evsync.backend.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import jakarta.persistence.QueryHint;
 import tqs.evsync.backend.model.Operator;
 
 public interface OperatorRepository extends JpaRepository<Operator, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Operator> findByEmail(String email);
+
+    List<Operator> findByIdGreaterThanOrderByIdAsc(Long after, Pageable page);
 }
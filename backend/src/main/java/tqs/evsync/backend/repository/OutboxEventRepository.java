@@ -0,0 +1,20 @@
+package tqs.evsync.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+
+import jakarta.persistence.LockModeType;
+import tqs.evsync.backend.model.OutboxEvent;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * The oldest events past {@code after}, locked until the relay's transaction ends so a
+     * second relay waits instead of delivering the same events alongside.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<OutboxEvent> findByIdGreaterThanOrderByIdAsc(Long after, Pageable page);
+}
@@ -1,10 +1,86 @@
 package tqs.evsync.backend.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.LockModeType;
+import tqs.evsync.backend.dto.PendingReservation;
+import tqs.evsync.backend.dto.ReservationView;
+import tqs.evsync.backend.dto.ReservationSlot;
 import tqs.evsync.backend.model.Reservation;
+import tqs.evsync.backend.model.enums.ReservationStatus;
 
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
     List<Reservation> findAllByStationId(Long stationId);
+
+    @Query("select r.id as id, r.outlet.id as outletId, r.startAt as startAt, r.endAt as endAt "
+         + "from Reservation r where r.outlet is not null and r.startAt is not null and r.endAt is not null "
+         + "and r.status <> tqs.evsync.backend.model.enums.ReservationStatus.CANCELLED")
+    List<ReservationSlot> findActiveSlots();
+
+    boolean existsByOutletIdAndStatusNotAndStartAtBeforeAndEndAtAfter(Long outletId, ReservationStatus status,
+                                                                       LocalDateTime end, LocalDateTime start);
+
+    /**
+     * Whether a non-cancelled reservation on the outlet overlaps {@code [start, end)}.
+     * Runs as a range scan on idx_reservation_outlet_time.
+     */
+    default boolean existsOverlapping(Long outletId, LocalDateTime start, LocalDateTime end) {
+        return existsByOutletIdAndStatusNotAndStartAtBeforeAndEndAtAfter(outletId, ReservationStatus.CANCELLED, end, start);
+    }
+
+    @Query("select r.id as id, r.createdAt as createdAt from Reservation r "
+         + "where r.status = tqs.evsync.backend.model.enums.ReservationStatus.PENDING")
+    List<PendingReservation> findPending();
+
+    /**
+     * Those of the given reservations that are still PENDING, locked until the transaction
+     * ends so they stay PENDING until {@link #expirePending} cancels them.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from Reservation r where r.id in :ids "
+         + "and r.status = tqs.evsync.backend.model.enums.ReservationStatus.PENDING")
+    List<Reservation> lockPending(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Cancels the given reservations in one statement, skipping any that stopped being
+     * PENDING in the meantime. Bulk updates bypass the entity listeners.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Reservation r set r.status = tqs.evsync.backend.model.enums.ReservationStatus.CANCELLED "
+         + "where r.id in :ids and r.status = tqs.evsync.backend.model.enums.ReservationStatus.PENDING")
+    int expirePending(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Confirms the reservation only if it is still PENDING, so a confirmation racing the
+     * expiry can't turn a CANCELLED reservation back into a CONFIRMED one. Bulk updates
+     * bypass the entity listeners.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Reservation r set r.status = tqs.evsync.backend.model.enums.ReservationStatus.CONFIRMED, "
+         + "r.reservationFee = :fee "
+         + "where r.id = :id and r.status = tqs.evsync.backend.model.enums.ReservationStatus.PENDING")
+    int confirmPending(@Param("id") Long id, @Param("fee") double fee);
+
+    @Query("select new tqs.evsync.backend.dto.ReservationView(r.id, r.consumer.id, r.station.id, r.outlet.id, "
+         + "r.startAt, r.duration, r.reservationFee, r.status, r.createdAt) from Reservation r where r.id = :id")
+    Optional<ReservationView> findViewById(@Param("id") Long id);
+
+    @Query("select new tqs.evsync.backend.dto.ReservationView(r.id, r.consumer.id, r.station.id, r.outlet.id, "
+         + "r.startAt, r.duration, r.reservationFee, r.status, r.createdAt) from Reservation r "
+         + "where r.consumer.id = :consumerId and r.id > :after order by r.id")
+    List<ReservationView> findViewsByConsumerId(@Param("consumerId") Long consumerId, @Param("after") long after,
+                                                Pageable page);
 }
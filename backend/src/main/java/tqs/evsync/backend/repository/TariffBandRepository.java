@@ -0,0 +1,19 @@
+package tqs.evsync.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import tqs.evsync.backend.model.TariffBand;
+
+public interface TariffBandRepository extends JpaRepository<TariffBand, Long> {
+
+    List<TariffBand> findAllByOutletIdOrderByPositionAsc(Long outletId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from TariffBand b where b.outletId = :outletId")
+    int deleteByOutletId(@Param("outletId") Long outletId);
+}
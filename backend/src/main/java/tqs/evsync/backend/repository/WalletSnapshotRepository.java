@@ -0,0 +1,11 @@
+package tqs.evsync.backend.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import tqs.evsync.backend.model.WalletSnapshot;
+
+public interface WalletSnapshotRepository extends JpaRepository<WalletSnapshot, Long> {
+    Optional<WalletSnapshot> findFirstByConsumerIdOrderByLastTransactionIdDesc(Long consumerId);
+}
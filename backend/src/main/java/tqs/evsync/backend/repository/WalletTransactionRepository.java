@@ -0,0 +1,27 @@
+package tqs.evsync.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import tqs.evsync.backend.model.WalletTransaction;
+
+public interface WalletTransactionRepository extends JpaRepository<WalletTransaction, Long> {
+    List<WalletTransaction> findAllByConsumerIdOrderByIdDesc(Long consumerId);
+
+    @Query("select coalesce(sum(t.amountCents), 0) from WalletTransaction t "
+         + "where t.consumerId = :consumerId and t.id > :afterId")
+    long sumAfter(@Param("consumerId") Long consumerId, @Param("afterId") Long afterId);
+
+    @Query("select max(t.id) from WalletTransaction t where t.consumerId = :consumerId")
+    Long findLastId(@Param("consumerId") Long consumerId);
+
+    /**
+     * Consumers with committed entries after their latest snapshot.
+     */
+    @Query("select distinct t.consumerId from WalletTransaction t where t.id > coalesce("
+         + "(select max(s.lastTransactionId) from WalletSnapshot s where s.consumerId = t.consumerId), 0)")
+    List<Long> findConsumersWithUnsnapshottedEntries();
+}
@@ -0,0 +1,53 @@
+package tqs.evsync.backend.routing;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Keeps transactions that may read from a replica out of the second-level and query caches.
+ * The replica may not have caught up yet, and a stale row cached after the primary's write
+ * already evicted the old one would be served until the next write. Reading the cache alone
+ * is not an option: Hibernate caches a query result whenever it looked it up and missed.
+ */
+public class ReadOnlyCacheModeListener implements TransactionExecutionListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ReadOnlyCacheModeListener(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure == null && ReplicaRoutingDataSource.isReplicaRead(transaction.isReadOnly(), transaction.getTransactionName())) {
+            setCacheMode(CacheMode.IGNORE);
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (ReplicaRoutingDataSource.isReplicaRead(transaction.isReadOnly(), transaction.getTransactionName())) {
+            setCacheMode(CacheMode.NORMAL);
+        }
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        if (ReplicaRoutingDataSource.isReplicaRead(transaction.isReadOnly(), transaction.getTransactionName())) {
+            setCacheMode(CacheMode.NORMAL);
+        }
+    }
+
+    // The session outlives the transaction when it was opened in view
+    private void setCacheMode(CacheMode cacheMode) {
+        if (TransactionSynchronizationManager.getResource(entityManagerFactory) instanceof EntityManagerHolder holder) {
+            holder.getEntityManager().unwrap(Session.class).setCacheMode(cacheMode);
+        }
+    }
+}
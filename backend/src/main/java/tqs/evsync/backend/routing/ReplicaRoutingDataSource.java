@@ -0,0 +1,168 @@
+package tqs.evsync.backend.routing;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Hands out replica connections to read-only transactions and primary connections to
+ * everything else. Replicas take turns; one whose copy of the replication heartbeat is
+ * older than the allowed lag, or that cannot be reached, is skipped until it catches up,
+ * and with no replica left reads go to the primary.
+ * <p>
+ * Spring Data runs every repository read in a read-only transaction of its own. Those stay
+ * on the primary so that code saving and then reading back through a repository keeps
+ * seeing its own writes; only read-only transactions declared by the application move.
+ * <p>
+ * The read-only flag is only bound after the transaction manager has asked for its
+ * connection, so this must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+    public static final String HEARTBEAT_TABLE = "replication_heartbeat";
+    private static final String PRIMARY = "primary";
+    private static final String REPOSITORY_TRANSACTION_PREFIX = "org.springframework.data.";
+    private static final long UNKNOWN_LAG = Long.MAX_VALUE;
+
+    private final JdbcTemplate primary;
+    private final List<DataSource> replicas;
+    private final List<JdbcTemplate> replicaTemplates;
+    private final long maxLagMillis;
+    private final AtomicLongArray lagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+    private volatile boolean heartbeatReady = false;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration maxLag,
+                                    MeterRegistry meterRegistry) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.primary = new JdbcTemplate(primary);
+        this.replicas = List.copyOf(replicas);
+        this.replicaTemplates = replicas.stream().map(JdbcTemplate::new).toList();
+        this.maxLagMillis = maxLag.toMillis();
+        this.lagMillis = new AtomicLongArray(replicas.size());
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            // Nothing is routed to a replica before its first heartbeat check
+            lagMillis.set(i, UNKNOWN_LAG);
+            targets.put(i, replicas.get(i));
+
+            int replica = i;
+            Gauge.builder("evsync.datasource.replica.lag", lagMillis,
+                    l -> l.get(replica) == UNKNOWN_LAG ? Double.NaN : l.get(replica) / 1000.0)
+                .tag("replica", String.valueOf(i))
+                .description("Seconds the replica was behind the primary at the last heartbeat check")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        initialize();
+
+        this.replicaReads = Counter.builder("evsync.datasource.reads")
+            .tag("target", "replica")
+            .description("Read-only transactions served by a replica")
+            .register(meterRegistry);
+        this.primaryReads = Counter.builder("evsync.datasource.reads")
+            .tag("target", "primary")
+            .description("Read-only transactions sent to the primary because no replica was fresh enough")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!isReplicaRead(TransactionSynchronizationManager.isCurrentTransactionReadOnly(),
+                TransactionSynchronizationManager.getCurrentTransactionName())) {
+            return PRIMARY;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            int replica = (start + i) % replicas.size();
+            if (isFresh(replica)) {
+                replicaReads.increment();
+                return replica;
+            }
+        }
+        primaryReads.increment();
+        return PRIMARY;
+    }
+
+    static boolean isReplicaRead(boolean readOnly, String transactionName) {
+        return readOnly && (transactionName == null || !transactionName.startsWith(REPOSITORY_TRANSACTION_PREFIX));
+    }
+
+    public boolean isFresh(int replica) {
+        return lagMillis.get(replica) <= maxLagMillis;
+    }
+
+    /**
+     * Writes the current time into the heartbeat row on the primary, then reads it back from
+     * every replica: how far behind a replica's copy is, is how far behind the replica is.
+     */
+    @Scheduled(fixedDelayString = "${evsync.datasource.replica-check-interval-ms:1000}")
+    public void checkReplicas() {
+        long now = System.currentTimeMillis();
+        try {
+            beat(now);
+        } catch (DataAccessException e) {
+            // Primary unreachable: there is nothing to measure the replicas against
+            for (int i = 0; i < replicas.size(); i++) {
+                lagMillis.set(i, UNKNOWN_LAG);
+            }
+            return;
+        }
+        for (int i = 0; i < replicas.size(); i++) {
+            lagMillis.set(i, lagOf(replicaTemplates.get(i), now));
+        }
+    }
+
+    private void beat(long now) {
+        if (!heartbeatReady) {
+            primary.execute("create table if not exists " + HEARTBEAT_TABLE
+                + " (id int not null primary key, beat_at bigint not null)");
+            heartbeatReady = true;
+        }
+        if (primary.update("update " + HEARTBEAT_TABLE + " set beat_at = ? where id = 1", now) == 0) {
+            primary.update("insert into " + HEARTBEAT_TABLE + " (id, beat_at) values (1, ?)", now);
+        }
+    }
+
+    private static long lagOf(JdbcTemplate replica, long now) {
+        try {
+            List<Long> beats = replica.queryForList("select beat_at from " + HEARTBEAT_TABLE + " where id = 1", Long.class);
+            return beats.isEmpty() ? UNKNOWN_LAG : Math.max(0, now - beats.get(0));
+        } catch (DataAccessException e) {
+            return UNKNOWN_LAG;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource replica : replicas) {
+            if (replica instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -1,90 +1,161 @@
 package tqs.evsync.backend.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+
+import tqs.evsync.backend.dto.NearbyStation;
+import tqs.evsync.backend.dto.StationSummary;
+import tqs.evsync.backend.index.OperatorStationCache;
+import tqs.evsync.backend.index.StationSpatialIndex;
+import tqs.evsync.backend.index.StationSpatialIndex.BoundingBox;
+import tqs.evsync.backend.index.StationSpatialIndex.Neighbour;
 import tqs.evsync.backend.model.ChargingOutlet;
 import tqs.evsync.backend.model.ChargingStation;
 import tqs.evsync.backend.model.Operator;
 import tqs.evsync.backend.model.enums.ChargingStationStatus;
+import tqs.evsync.backend.outbox.DomainEvent;
+import tqs.evsync.backend.outbox.Outbox;
+import tqs.evsync.backend.paging.Keyset;
+import tqs.evsync.backend.paging.KeysetPage;
 import tqs.evsync.backend.repository.ChargingOutletRepository;
 import tqs.evsync.backend.repository.ChargingStationRepository;
 import tqs.evsync.backend.repository.OperatorRepository;
 import tqs.evsync.backend.service.OpenStreetMapService.Coordinates;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class ChargingStationService {
-    private static final double EARTH_RADIUS_KM = 6378.0;
+    private static final int MAX_NEAREST = 100;
 
     private final ChargingStationRepository chargingRepo;
     private final OperatorRepository operatorRepo;
     private final ChargingOutletRepository outletRepo;
     private final OpenStreetMapService osmService;
+    private final StationSpatialIndex spatialIndex;
+    private final OperatorStationCache operatorStations;
+    private final Outbox outbox;
 
     @Autowired
     public ChargingStationService(ChargingStationRepository chargingRepo,
                                   OperatorRepository operatorRepo,
                                   ChargingOutletRepository outletRepo,
-                                  OpenStreetMapService osmService) {
+                                  OpenStreetMapService osmService,
+                                  StationSpatialIndex spatialIndex,
+                                  OperatorStationCache operatorStations,
+                                  Outbox outbox) {
         this.chargingRepo = chargingRepo;
         this.operatorRepo = operatorRepo;
         this.outletRepo = outletRepo;
         this.osmService = osmService;
+        this.spatialIndex = spatialIndex;
+        this.operatorStations = operatorStations;
+        this.outbox = outbox;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSpatialIndex() {
+        spatialIndex.rebuild(chargingRepo.findAll());
     }
 
+    @Transactional(readOnly = true)
     public ChargingStation getStationById(Long id) {
-        return chargingRepo.findById(id)
+        return chargingRepo.findWithOutletsById(id)
             .orElseThrow(() -> new RuntimeException("Charging station with ID " + id + " not found"));
     }
 
-    public List<ChargingStation> getAllStations() {
-        return chargingRepo.findAll();
+    @Transactional(readOnly = true)
+    public KeysetPage<StationSummary> getStations(Keyset keyset) {
+        return keyset.page(chargingRepo.findSummariesAfter(keyset.after(), keyset.fetch()), StationSummary::id);
     }
 
-    public List<ChargingStation> getAvailableStationsNear(double lat, double lon, double maxDistanceKm) {
-        return chargingRepo.findAll().stream()
-                .filter(s -> distanceKm(lat, lon, s.getLatitude(), s.getLongitude()) <= maxDistanceKm)
-                .filter(s -> s.getStatus() == ChargingStationStatus.AVAILABLE)
-                .toList();
-    }
+    /**
+     * Stations within {@code maxDistanceKm}, optionally only those in {@code status}, as
+     * list-sized summaries.
+     */
+    @Transactional(readOnly = true)
+    public List<StationSummary> getStationSummariesNear(double lat, double lon, double maxDistanceKm,
+                                                        ChargingStationStatus status) {
+        if (spatialIndex.isLoaded()) {
+            return chargingRepo.findSummariesByIdIn(spatialIndex.idsWithin(lat, lon, maxDistanceKm, status));
+        }
 
-    public List<ChargingStation> getStationsNear(double lat, double lon, double maxDistanceKm) {
-        return chargingRepo.findAll().stream()
-                .filter(s -> distanceKm(lat, lon, s.getLatitude(), s.getLongitude()) <= maxDistanceKm)
+        // Index not built yet: let the database cut the catalogue down to the bounding box
+        // and only run the exact distance check on what comes back.
+        BoundingBox box = StationSpatialIndex.boundingBox(lat, lon, maxDistanceKm);
+        List<StationSummary> candidates = new ArrayList<>();
+        for (double[] range : longitudeRanges(box)) {
+            candidates.addAll(chargingRepo.findSummariesWithinBoundingBox(box.minLat(), box.maxLat(), range[0], range[1]));
+        }
+        return candidates.stream()
+                .filter(s -> status == null || s.status() == status)
+                .filter(s -> StationSpatialIndex.distanceKm(lat, lon, s.latitude(), s.longitude()) <= maxDistanceKm)
                 .toList();
     }
 
-    private double distanceKm(double lat1, double lon1, double lat2, double lon2) {
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
+    @Transactional(readOnly = true)
+    public List<NearbyStation> getNearestStations(double lat, double lon, int k, ChargingStationStatus status) {
+        if (k < 1 || k > MAX_NEAREST) {
+            throw new IllegalArgumentException("k must be between 1 and " + MAX_NEAREST);
+        }
+        if (!spatialIndex.isLoaded()) {
+            loadSpatialIndex();
+        }
 
-        double a = Math.sin(dLat/2) * Math.sin(dLat/2)
-                 + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                 * Math.sin(dLon/2) * Math.sin(dLon/2);
+        List<Neighbour> neighbours = spatialIndex.nearest(lat, lon, k, status);
+        Map<Long, StationSummary> byId = new HashMap<>();
+        chargingRepo.findSummariesByIdIn(neighbours.stream().map(Neighbour::id).toList())
+            .forEach(s -> byId.put(s.id(), s));
 
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return EARTH_RADIUS_KM * c;
+        return neighbours.stream()
+                .filter(n -> byId.containsKey(n.id()))
+                .map(n -> new NearbyStation(byId.get(n.id()), n.distanceKm()))
+                .toList();
     }
 
-    public List<ChargingStation> getStationsByOperator(Long operatorId) {
-        if (!operatorRepo.existsById(operatorId)) {
-            return List.of();
+    // Boxes crossing the antimeridian need the wrapped-around part as a second range
+    private static List<double[]> longitudeRanges(BoundingBox box) {
+        if (box.coversAllLongitudes()) {
+            return List.of(new double[] {-180.0, 180.0});
         }
-        return chargingRepo.findAll().stream()
-                .filter(s -> s.getOperator().getId().equals(operatorId))
-                .toList();
+        List<double[]> ranges = new ArrayList<>();
+        ranges.add(new double[] {Math.max(box.minLon(), -180.0), Math.min(box.maxLon(), 180.0)});
+        if (box.minLon() < -180.0) {
+            ranges.add(new double[] {box.minLon() + 360.0, 180.0});
+        } else if (box.maxLon() > 180.0) {
+            ranges.add(new double[] {-180.0, box.maxLon() - 360.0});
+        }
+        return ranges;
     }
 
+    /**
+     * One page of the operator's stations, empty for an unknown operator. Not read-only on
+     * purpose: pages are cached until the next station write, so they are read from the
+     * primary rather than from a replica that may not have that write yet.
+     */
+    public KeysetPage<StationSummary> getStationsByOperator(Long operatorId, Keyset keyset) {
+        return operatorStations.get(operatorId, keyset, () -> keyset.page(
+            chargingRepo.findSummariesByOperatorId(operatorId, keyset.after(), keyset.fetch()), StationSummary::id));
+    }
+
+    @Transactional
     public ChargingStation addChargingStation(ChargingStation chargingStation) {
         Operator operator = operatorRepo.findById(chargingStation.getOperator().getId())
             .orElseThrow(() -> new RuntimeException("Operator with ID " + chargingStation.getOperator().getId() + " not found"));
         chargingStation.setOperator(operator);
 
-        return chargingRepo.save(chargingStation);
+        ChargingStation saved = chargingRepo.save(chargingStation);
+        outbox.station(saved, DomainEvent.STATION_ADDED);
+        return saved;
     }
 
+    @Transactional
     public ChargingStation addChargingStationWithAddress(String address, Long operatorId) {
         if (address == null || address.isBlank()) {
             throw new IllegalArgumentException("Address cannot be null or empty");
@@ -100,17 +171,23 @@ public class ChargingStationService {
         chargingStation.setStatus(ChargingStationStatus.AVAILABLE);
         chargingStation.setOperator(operator);
 
-        return chargingRepo.save(chargingStation);
+        ChargingStation saved = chargingRepo.save(chargingStation);
+        outbox.station(saved, DomainEvent.STATION_ADDED);
+        return saved;
     }
 
+    @Transactional
     public ChargingStation updateChargingStationStatus(Long id, ChargingStationStatus status) {
         ChargingStation chargingStation = chargingRepo.findById(id)
             .orElseThrow(() -> new RuntimeException("Charging station with ID = " + id + " not found"));
 
         chargingStation.setStatus(status);
-        return chargingRepo.save(chargingStation);
+        ChargingStation saved = chargingRepo.save(chargingStation);
+        outbox.station(saved, DomainEvent.STATION_STATUS_CHANGED);
+        return saved;
     }
 
+    @Transactional
     public boolean deleteChargingStation(Long id) {
         ChargingStation chargingStation = chargingRepo.findById(id)
             .orElseThrow(() -> new RuntimeException("Charging station with ID = " + id + " not found"));
@@ -120,10 +197,12 @@ public class ChargingStationService {
             return false;
         } else {
             chargingRepo.delete(chargingStation);
+            outbox.station(chargingStation, DomainEvent.STATION_DELETED);
             return true;
         }
     }
 
+    @Transactional
     public ChargingStation addChargingOutlet(Long stationId, ChargingOutlet outlet) {
         // 1) Load the station (throws if not found)
         ChargingStation station = chargingRepo.findById(stationId)
@@ -134,6 +213,7 @@ public class ChargingStationService {
             outlet.setChargingStation(station);
             ChargingOutlet savedOutlet = outletRepo.save(outlet);
             station.getChargingOutlets().add(savedOutlet);
+            outbox.outlet(station, savedOutlet, DomainEvent.STATION_OUTLET_ADDED);
 
         } else {
             // === Existing‐outlet branch (unit test uses this) ===
@@ -141,15 +221,23 @@ public class ChargingStationService {
             ChargingOutlet existingOutlet = outletRepo.findById(outlet.getId())
                 .orElse(outlet);
 
+            // The outlet's update only invalidates the station it moves to
+            ChargingStation previous = existingOutlet.getChargingStation();
+            if (previous != null && previous.getOperator() != null) {
+                operatorStations.invalidate(previous.getOperator().getId());
+            }
             existingOutlet.setChargingStation(station);
             station.getChargingOutlets().add(existingOutlet);
             outletRepo.save(existingOutlet);
+            outbox.outlet(station, existingOutlet, DomainEvent.STATION_OUTLET_ADDED);
         }
 
         // 2) Return the up‐to‐date station (re‐fetch to ensure relationships are fresh)
         return chargingRepo.findById(stationId)
             .orElseThrow(() -> new RuntimeException("Charging station not found"));
     }
+
+    @Transactional
     public ChargingStation removeChargingOutlet(Long id, ChargingOutlet chargingOutlet) {
         ChargingStation chargingStation = chargingRepo.findById(id)
             .orElseThrow(() -> new RuntimeException("Charging station with ID = " + id + " not found"));
@@ -157,11 +245,14 @@ public class ChargingStationService {
             .orElseThrow(() -> new RuntimeException("Charging outlet with ID = " + chargingOutlet.getId() + " not found"));
 
         chargingStation.removeChargingOutlet(checkChargingOutlet);
-        return chargingRepo.save(chargingStation);
+        ChargingStation saved = chargingRepo.save(chargingStation);
+        outbox.outlet(saved, checkChargingOutlet, DomainEvent.STATION_OUTLET_REMOVED);
+        return saved;
     }
 
+    @Transactional(readOnly = true)
     public List<ChargingOutlet> getChargingOutletsByStationId(Long stationId) {
-        ChargingStation station = chargingRepo.findById(stationId)
+        ChargingStation station = chargingRepo.findWithOutletsById(stationId)
             .orElseThrow(() -> new RuntimeException("Charging station with ID = " + stationId + " not found"));
 
         return station.getChargingOutlets();
@@ -0,0 +1,376 @@
+package tqs.evsync.backend.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import tqs.evsync.backend.dto.IngestResult;
+import tqs.evsync.backend.dto.MeterSample;
+import tqs.evsync.backend.dto.SeriesPoint;
+import tqs.evsync.backend.index.ActiveSessionRegistry;
+import tqs.evsync.backend.model.MeterChunk;
+import tqs.evsync.backend.repository.MeterChunkRepository;
+import tqs.evsync.backend.util.MeterChunkCodec;
+import tqs.evsync.backend.util.MeterChunkCodec.Point;
+import tqs.evsync.backend.util.MpscRingBuffer;
+
+/**
+ * Accepts meter samples from chargers into a lock-free ring buffer, so request threads
+ * never wait on the database. A scheduled flush moves them into one open chunk per session,
+ * and a chunk is compressed and written as a single row once it is full or old enough.
+ * When the buffer is full new samples are dropped and reported back to the caller, as are
+ * samples of sessions that are not active.
+ * <p>
+ * Chunks whose write fails are kept and written again on the next flush, up to
+ * {@code evsync.meter.max-retry-samples}; beyond that they are discarded and counted.
+ * <p>
+ * Queries decode only the stored chunks overlapping the requested range, plus whatever is
+ * still in the open chunk.
+ */
+@Service
+public class MeterIngestionService {
+    private static final String INSERT_SQL =
+        "insert into meter_chunk (session_id, start_at, end_at, sample_count, data) values (?, ?, ?, ?, ?)";
+    private static final String ACTIVITY_SQL =
+        "update charging_session set last_activity_at = ? "
+      + "where id = ? and (last_activity_at is null or last_activity_at < ?)";
+
+    private record OpenChunk(List<Point> points, Instant openedAt) {}
+
+    private record SealedChunk(Long sessionId, List<Point> points) {}
+
+    private record ChunkRow(Long sessionId, Timestamp startAt, Timestamp endAt, int sampleCount, byte[] data) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactions;
+    private final MeterChunkRepository chunkRepo;
+    private final ActiveSessionRegistry activeSessions;
+    private final MpscRingBuffer<MeterSample> buffer;
+    private final int batchSize;
+    private final int chunkSize;
+    private final Duration chunkMaxAge;
+    private final int maxRetrySamples;
+    private final Map<Long, OpenChunk> openChunks = new HashMap<>();
+    // Left over from failed writes, guarded like openChunks
+    private final List<SealedChunk> retryChunks = new ArrayList<>();
+    private final Map<Long, Instant> retryActivity = new HashMap<>();
+    private int retrySamples;
+    private final Counter acceptedCounter;
+    private final Counter droppedCounter;
+    private final Counter unknownSessionCounter;
+    private final Counter flushedCounter;
+    private final Counter discardedCounter;
+    private final Counter writeFailedCounter;
+    private final Counter chunkBytesCounter;
+
+    public MeterIngestionService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 MeterChunkRepository chunkRepo, ActiveSessionRegistry activeSessions,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${evsync.meter.buffer-capacity:65536}") int bufferCapacity,
+                                 @Value("${evsync.meter.flush-batch-size:1000}") int batchSize,
+                                 @Value("${evsync.meter.chunk-size:256}") int chunkSize,
+                                 @Value("${evsync.meter.chunk-max-age:5m}") Duration chunkMaxAge,
+                                 @Value("${evsync.meter.max-retry-samples:65536}") int maxRetrySamples) {
+        if (batchSize <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("Flush batch and chunk sizes must be positive");
+        }
+        if (maxRetrySamples < 0) {
+            throw new IllegalArgumentException("Retry sample limit must not be negative");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.chunkRepo = chunkRepo;
+        this.activeSessions = activeSessions;
+        this.buffer = new MpscRingBuffer<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.chunkSize = chunkSize;
+        this.chunkMaxAge = chunkMaxAge;
+        this.maxRetrySamples = maxRetrySamples;
+        this.acceptedCounter = meterRegistry.counter("evsync.meter.samples.accepted");
+        this.droppedCounter = meterRegistry.counter("evsync.meter.samples.dropped");
+        this.unknownSessionCounter = meterRegistry.counter("evsync.meter.samples.unknown-session");
+        this.flushedCounter = meterRegistry.counter("evsync.meter.samples.flushed");
+        this.discardedCounter = meterRegistry.counter("evsync.meter.samples.discarded");
+        this.writeFailedCounter = meterRegistry.counter("evsync.meter.writes.failed");
+        this.chunkBytesCounter = meterRegistry.counter("evsync.meter.chunk.bytes");
+        Gauge.builder("evsync.meter.buffer.size", buffer, MpscRingBuffer::size).register(meterRegistry);
+        Gauge.builder("evsync.meter.retry.size", this, MeterIngestionService::retrying)
+            .description("Samples of chunks waiting to be written again after a failed write")
+            .register(meterRegistry);
+    }
+
+    public IngestResult ingest(List<MeterSample> samples) {
+        int accepted = 0;
+        int invalid = 0;
+        int dropped = 0;
+        int unknownSession = 0;
+        // Until the registry has loaded there is nothing to check against
+        boolean checkSessions = activeSessions.isLoaded();
+        for (MeterSample sample : samples) {
+            if (sample == null || !sample.isValid()) {
+                invalid++;
+            } else if (checkSessions && activeSessions.get(sample.sessionId()) == null) {
+                unknownSession++;
+            } else if (buffer.offer(sample)) {
+                accepted++;
+            } else {
+                dropped++;
+            }
+        }
+        acceptedCounter.increment(accepted);
+        droppedCounter.increment(dropped);
+        unknownSessionCounter.increment(unknownSession);
+        return new IngestResult(accepted, invalid, dropped, unknownSession);
+    }
+
+    /**
+     * Moves everything buffered so far into the open chunks and writes the chunks that are
+     * full or older than {@code evsync.meter.chunk-max-age}.
+     */
+    @Scheduled(fixedDelayString = "${evsync.meter.flush-interval-ms:1000}")
+    public int flush() {
+        return flush(false);
+    }
+
+    /**
+     * Like {@link #flush()} but writes every open chunk regardless of size or age.
+     */
+    public int flushAll() {
+        return flush(true);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushAll();
+    }
+
+    private synchronized int flush(boolean sealAll) {
+        int total = 0;
+        Instant now = Instant.now();
+        // Earlier failures first, so each session's chunks are still written in order
+        List<SealedChunk> sealed = new ArrayList<>(retryChunks);
+        retryChunks.clear();
+        retrySamples = 0;
+        Map<Long, Instant> latestSample = new HashMap<>(retryActivity);
+        retryActivity.clear();
+        while (buffer.drain(sample -> {
+            append(sample, now, sealed);
+            latestSample.merge(sample.sessionId(), sample.sampledAt(), (a, b) -> a.isAfter(b) ? a : b);
+        }, batchSize) > 0) {
+            // keep draining until the buffer is empty
+        }
+        recordActivity(latestSample);
+
+        Iterator<Map.Entry<Long, OpenChunk>> it = openChunks.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, OpenChunk> entry = it.next();
+            if (sealAll || !entry.getValue().openedAt().plus(chunkMaxAge).isAfter(now)) {
+                sealed.add(new SealedChunk(entry.getKey(), entry.getValue().points()));
+                it.remove();
+            }
+        }
+
+        for (int from = 0; from < sealed.size(); from += batchSize) {
+            List<SealedChunk> batch = sealed.subList(from, Math.min(sealed.size(), from + batchSize));
+            int samples = batch.stream().mapToInt(chunk -> chunk.points().size()).sum();
+            try {
+                write(batch);
+                total += samples;
+            } catch (DataAccessException e) {
+                writeFailedCounter.increment();
+                retain(batch, samples);
+            }
+        }
+        flushedCounter.increment(total);
+        return total;
+    }
+
+    private void retain(List<SealedChunk> batch, int samples) {
+        if (retrySamples + samples > maxRetrySamples) {
+            discardedCounter.increment(samples);
+            return;
+        }
+        retryChunks.addAll(batch);
+        retrySamples += samples;
+    }
+
+    private synchronized int retrying() {
+        return retrySamples;
+    }
+
+    // One batched statement per flush keeps the reaper from interrupting sessions still sending samples
+    private void recordActivity(Map<Long, Instant> latestSample) {
+        if (latestSample.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(latestSample.size());
+        latestSample.forEach((sessionId, at) -> {
+            Timestamp ts = Timestamp.from(at);
+            args.add(new Object[] {ts, sessionId, ts});
+        });
+        try {
+            jdbcTemplate.batchUpdate(ACTIVITY_SQL, args);
+        } catch (DataAccessException e) {
+            writeFailedCounter.increment();
+            // Tried again with the next flush's samples; only the latest time matters
+            latestSample.forEach((sessionId, at) -> retryActivity.merge(sessionId, at, (a, b) -> a.isAfter(b) ? a : b));
+        }
+    }
+
+    private void append(MeterSample sample, Instant now, List<SealedChunk> sealed) {
+        OpenChunk chunk = openChunks.computeIfAbsent(sample.sessionId(), id -> new OpenChunk(new ArrayList<>(), now));
+        chunk.points().add(toPoint(sample));
+        if (chunk.points().size() >= chunkSize) {
+            sealed.add(new SealedChunk(sample.sessionId(), chunk.points()));
+            openChunks.remove(sample.sessionId());
+        }
+    }
+
+    public int buffered() {
+        return buffer.size();
+    }
+
+    /**
+     * Samples of the session in {@code [from, to)}, oldest first.
+     */
+    public List<MeterSample> getSamples(Long sessionId, Instant from, Instant to) {
+        List<MeterSample> samples = new ArrayList<>();
+        for (Point p : points(sessionId, from, to)) {
+            samples.add(new MeterSample(sessionId, Instant.ofEpochMilli(p.timeMillis()), p.energyWh() / 1000.0, p.powerW() / 1000.0));
+        }
+        return samples;
+    }
+
+    /**
+     * The session's samples in {@code [from, to)} reduced to one point per {@code step}.
+     * Empty buckets are left out.
+     */
+    public List<SeriesPoint> getSeries(Long sessionId, Instant from, Instant to, Duration step) {
+        if (step.isNegative() || step.isZero()) {
+            throw new IllegalArgumentException("Step must be positive");
+        }
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("Range end must be after its start");
+        }
+        long stepMillis = step.toMillis();
+        List<SeriesPoint> series = new ArrayList<>();
+
+        long bucket = Long.MIN_VALUE;
+        long lastEnergy = 0;
+        long powerSum = 0;
+        long maxPower = 0;
+        int count = 0;
+        for (Point p : points(sessionId, from, to)) {
+            long b = (p.timeMillis() - from.toEpochMilli()) / stepMillis;
+            if (b != bucket && count > 0) {
+                series.add(seriesPoint(from, bucket, stepMillis, lastEnergy, powerSum, maxPower, count));
+                powerSum = 0;
+                maxPower = 0;
+                count = 0;
+            }
+            bucket = b;
+            lastEnergy = p.energyWh();
+            powerSum += p.powerW();
+            maxPower = Math.max(maxPower, p.powerW());
+            count++;
+        }
+        if (count > 0) {
+            series.add(seriesPoint(from, bucket, stepMillis, lastEnergy, powerSum, maxPower, count));
+        }
+        return series;
+    }
+
+    private static SeriesPoint seriesPoint(Instant from, long bucket, long stepMillis, long energyWh,
+                                           long powerSum, long maxPower, int count) {
+        return new SeriesPoint(from.plusMillis(bucket * stepMillis), energyWh / 1000.0,
+            powerSum / 1000.0 / count, maxPower / 1000.0, count);
+    }
+
+    // Decoded points of the overlapping chunks, those waiting to be written again and the open
+    // chunk, sorted by time
+    private List<Point> points(Long sessionId, Instant from, Instant to) {
+        long fromMillis = from.toEpochMilli();
+        long toMillis = to.toEpochMilli();
+        List<Point> points = new ArrayList<>();
+        for (MeterChunk chunk : chunkRepo.findOverlapping(sessionId, from, to)) {
+            for (Point p : MeterChunkCodec.decode(chunk.getData())) {
+                if (p.timeMillis() >= fromMillis && p.timeMillis() < toMillis) {
+                    points.add(p);
+                }
+            }
+        }
+        synchronized (this) {
+            List<List<Point>> unwritten = new ArrayList<>();
+            for (SealedChunk chunk : retryChunks) {
+                if (chunk.sessionId().equals(sessionId)) {
+                    unwritten.add(chunk.points());
+                }
+            }
+            OpenChunk open = openChunks.get(sessionId);
+            if (open != null) {
+                unwritten.add(open.points());
+            }
+            for (List<Point> chunk : unwritten) {
+                for (Point p : chunk) {
+                    if (p.timeMillis() >= fromMillis && p.timeMillis() < toMillis) {
+                        points.add(p);
+                    }
+                }
+            }
+        }
+        points.sort(Comparator.comparingLong(Point::timeMillis));
+        return points;
+    }
+
+    private static Point toPoint(MeterSample sample) {
+        return new Point(sample.sampledAt().toEpochMilli(), Math.round(sample.energyKwh() * 1000), Math.round(sample.powerKw() * 1000));
+    }
+
+    private void write(List<SealedChunk> chunks) {
+        List<ChunkRow> rows = new ArrayList<>(chunks.size());
+        for (SealedChunk chunk : chunks) {
+            List<Point> points = new ArrayList<>(chunk.points());
+            points.sort(Comparator.comparingLong(Point::timeMillis));
+            byte[] data = MeterChunkCodec.encode(points);
+            chunkBytesCounter.increment(data.length);
+            rows.add(new ChunkRow(
+                chunk.sessionId(),
+                new Timestamp(points.get(0).timeMillis()),
+                new Timestamp(points.get(points.size() - 1).timeMillis()),
+                points.size(),
+                data));
+        }
+        // In UTC like Hibernate reads the Instant bounds back; without a calendar the driver
+        // writes the JVM's local time into columns that hold no zone
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone(ZoneOffset.UTC));
+        // All or nothing, so a failed batch can be written again without duplicating rows
+        transactions.executeWithoutResult(tx -> jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.sessionId());
+            ps.setTimestamp(2, row.startAt(), utc);
+            ps.setTimestamp(3, row.endAt(), utc);
+            ps.setInt(4, row.sampleCount());
+            ps.setBytes(5, row.data());
+        }));
+    }
+}
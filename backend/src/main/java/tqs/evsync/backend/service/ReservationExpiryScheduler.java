@@ -0,0 +1,124 @@
+package tqs.evsync.backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import tqs.evsync.backend.events.StatusEventListener;
+import tqs.evsync.backend.index.OutletScheduleIndex;
+import tqs.evsync.backend.model.Reservation;
+import tqs.evsync.backend.outbox.DomainEvent;
+import tqs.evsync.backend.outbox.Outbox;
+import tqs.evsync.backend.repository.ReservationRepository;
+import tqs.evsync.backend.util.HashedTimingWheel;
+
+/**
+ * Cancels reservations that are still PENDING a fixed time after they were created, so
+ * abandoned bookings stop holding outlets. Deadlines live on a timing wheel that is
+ * rebuilt from the PENDING rows at startup.
+ */
+@Service
+public class ReservationExpiryScheduler {
+    private static final int WHEEL_SIZE = 512;
+
+    private final ReservationRepository reservationRepo;
+    private final OutletScheduleIndex scheduleIndex;
+    private final Outbox outbox;
+    private final StatusEventListener statusEvents;
+    private final TransactionTemplate transactions;
+    private final Duration pendingTtl;
+    private final int batchSize;
+    private final HashedTimingWheel<Long> wheel;
+    private final Counter expiredCounter;
+
+    public ReservationExpiryScheduler(ReservationRepository reservationRepo, OutletScheduleIndex scheduleIndex,
+                                      Outbox outbox, StatusEventListener statusEvents,
+                                      PlatformTransactionManager transactionManager,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${evsync.reservations.pending-ttl:15m}") Duration pendingTtl,
+                                      @Value("${evsync.reservations.expiry-tick-ms:1000}") long tickMillis,
+                                      @Value("${evsync.reservations.expiry-batch-size:500}") int batchSize) {
+        if (pendingTtl.isNegative() || pendingTtl.isZero()) {
+            throw new IllegalArgumentException("Pending reservation TTL must be positive");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Expiry batch size must be positive");
+        }
+        this.reservationRepo = reservationRepo;
+        this.scheduleIndex = scheduleIndex;
+        this.outbox = outbox;
+        this.statusEvents = statusEvents;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.pendingTtl = pendingTtl;
+        this.batchSize = batchSize;
+        this.wheel = new HashedTimingWheel<>(tickMillis, WHEEL_SIZE, System.currentTimeMillis());
+        this.expiredCounter = Counter.builder("evsync.reservations.expired")
+            .description("PENDING reservations cancelled after their TTL")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPending() {
+        LocalDateTime now = LocalDateTime.now();
+        reservationRepo.findPending().forEach(p ->
+            track(p.getId(), p.getCreatedAt() == null ? now : p.getCreatedAt()));
+    }
+
+    public void track(Reservation reservation) {
+        track(reservation.getId(), reservation.getCreatedAt() == null ? LocalDateTime.now() : reservation.getCreatedAt());
+    }
+
+    private void track(Long reservationId, LocalDateTime createdAt) {
+        LocalDateTime deadline = createdAt.plus(pendingTtl);
+        wheel.schedule(reservationId, deadline.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    public void untrack(Long reservationId) {
+        wheel.cancel(reservationId);
+    }
+
+    public int trackedCount() {
+        return wheel.size();
+    }
+
+    @Scheduled(fixedDelayString = "${evsync.reservations.expiry-tick-ms:1000}")
+    public void expireDue() {
+        List<Long> due = wheel.advance(System.currentTimeMillis());
+        for (int from = 0; from < due.size(); from += batchSize) {
+            expire(due.subList(from, Math.min(due.size(), from + batchSize)));
+        }
+    }
+
+    private void expire(List<Long> ids) {
+        List<Long> expired = transactions.execute(tx -> {
+            List<Long> pending = reservationRepo.lockPending(ids).stream().map(Reservation::getId).toList();
+            if (pending.isEmpty()) {
+                return pending;
+            }
+            reservationRepo.expirePending(pending);
+            // Read back, the update cleared the persistence context
+            List<Reservation> cancelled = reservationRepo.findAllById(pending);
+            outbox.reservations(cancelled, DomainEvent.RESERVATION_EXPIRED);
+            // The bulk update skipped the entity listeners; subscribers hear of it once this commits
+            cancelled.forEach(statusEvents::onSave);
+            return pending;
+        });
+        if (expired.isEmpty()) {
+            return;
+        }
+        expiredCounter.increment(expired.size());
+        // The bulk update skipped the entity listener, so free the slots here
+        expired.forEach(scheduleIndex::remove);
+    }
+}
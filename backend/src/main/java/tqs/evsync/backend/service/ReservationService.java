@@ -1,16 +1,41 @@
 package tqs.evsync.backend.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tqs.evsync.backend.dto.ReservationView;
+import tqs.evsync.backend.dto.StationAvailability;
+import tqs.evsync.backend.dto.StationAvailability.OutletAvailability;
+import tqs.evsync.backend.dto.StationAvailability.TimeWindow;
+import tqs.evsync.backend.events.StatusEventListener;
+import tqs.evsync.backend.index.OutletScheduleIndex;
+import tqs.evsync.backend.index.OutletScheduleIndex.Booking;
 import tqs.evsync.backend.model.*;
+import tqs.evsync.backend.outbox.DomainEvent;
+import tqs.evsync.backend.outbox.Outbox;
 import tqs.evsync.backend.repository.*;
 import tqs.evsync.backend.model.enums.ReservationStatus;
+import tqs.evsync.backend.model.enums.WalletTransactionType;
+import tqs.evsync.backend.util.AfterCommit;
+import tqs.evsync.backend.util.StripedLocks;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.locks.Lock;
 
 @Service
 public class ReservationService {
+    private static final int OUTLET_LOCK_STRIPES = 256;
 
     @Autowired
     private final ReservationRepository reservationRepo;
@@ -24,27 +49,64 @@ public class ReservationService {
     @Autowired
     private final ChargingOutletRepository outletRepo;
 
-    public ReservationService(ReservationRepository r, ConsumerRepository c, ChargingStationRepository s, ChargingOutletRepository o) {
+    @Autowired
+    private final OutletScheduleIndex scheduleIndex;
+
+    @Autowired
+    private final ReservationExpiryScheduler expiryScheduler;
+
+    @Autowired
+    private final WalletService walletService;
+
+    @Autowired
+    private final TariffService tariffService;
+
+    @Autowired
+    private final Outbox outbox;
+
+    @Autowired
+    private final StatusEventListener statusEvents;
+
+    private final TransactionTemplate transactions;
+
+    private final StripedLocks outletLocks = new StripedLocks(OUTLET_LOCK_STRIPES);
+
+    @Value("${evsync.availability.slot-minutes:15}")
+    private int defaultSlotMinutes = 15;
+
+    public ReservationService(ReservationRepository r, ConsumerRepository c, ChargingStationRepository s, ChargingOutletRepository o,
+                              OutletScheduleIndex scheduleIndex, ReservationExpiryScheduler expiryScheduler,
+                              WalletService walletService, TariffService tariffService, Outbox outbox,
+                              StatusEventListener statusEvents, PlatformTransactionManager transactionManager) {
         this.reservationRepo = r;
         this.consumerRepo = c;
         this.stationRepo = s;
         this.outletRepo = o;
+        this.scheduleIndex = scheduleIndex;
+        this.expiryScheduler = expiryScheduler;
+        this.walletService = walletService;
+        this.tariffService = tariffService;
+        this.outbox = outbox;
+        this.statusEvents = statusEvents;
+        this.transactions = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadScheduleIndex() {
+        scheduleIndex.rebuild(reservationRepo.findActiveSlots().stream()
+            .map(slot -> new Booking(slot.getId(), slot.getOutletId(), slot.getStartAt(), slot.getEndAt()))
+            .toList());
     }
 
     public Reservation createReservation(Long consumerId, Long stationId, String startTime, Double duration) {
         Optional<Consumer> consumerOpt = consumerRepo.findById(consumerId);
-        Optional<ChargingStation> stationOpt = stationRepo.findById(stationId);
+        Optional<ChargingStation> stationOpt = stationRepo.findWithOutletsById(stationId);
     
         if (consumerOpt.isEmpty() || stationOpt.isEmpty()) {
             throw new IllegalArgumentException("Consumer or Station not found.");
         }
     
         ChargingStation station = stationOpt.get();
-        ChargingOutlet selectedOutlet = findAvailableOutlet(station, startTime, duration);
-    
-        if (selectedOutlet == null) {
-            throw new IllegalStateException("No available outlet at the selected time.");
-        }
     
         Reservation r = new Reservation();
         r.setConsumer(consumerOpt.get());
@@ -52,26 +114,52 @@ public class ReservationService {
         r.setDuration(duration);
         r.setStatus(ReservationStatus.PENDING);
         r.setStation(station);
-        r.setOutlet(selectedOutlet);
-    
-        return reservationRepo.save(r);
+
+        Reservation saved = bookAvailableOutlet(station, r);
+        if (saved == null) {
+            throw new IllegalStateException("No available outlet at the selected time.");
+        }
+        expiryScheduler.track(saved);
+        return saved;
     }
 
-    private ChargingOutlet findAvailableOutlet(ChargingStation station, String startTime, Double duration) {
-        LocalDateTime requestedStart = LocalDateTime.parse(startTime);
-        LocalDateTime requestedEnd = requestedStart.plusMinutes((long)(duration * 60));
+    /**
+     * Assigns the first free outlet of the station and saves the reservation while holding
+     * that outlet's lock, so two concurrent bookings can never both take the same slot.
+     * Only bookings on the same outlet stripe wait for each other.
+     */
+    private Reservation bookAvailableOutlet(ChargingStation station, Reservation r) {
+        LocalDateTime requestedStart = r.getStartAt();
+        LocalDateTime requestedEnd = r.getEndAt();
     
+        if (!scheduleIndex.isLoaded()) {
+            loadScheduleIndex();
+        }
+
         for (ChargingOutlet outlet : station.getChargingOutlets()) {
-            boolean isFree = reservationRepo.findAll().stream()
-                .filter(r -> r.getOutlet() != null && r.getOutlet().getId().equals(outlet.getId()))
-                .noneMatch(r -> {
-                    LocalDateTime existingStart = LocalDateTime.parse(r.getStartTime());
-                    LocalDateTime existingEnd = existingStart.plusMinutes((long)(r.getDuration() * 60));
-                    return requestedStart.isBefore(existingEnd) && requestedEnd.isAfter(existingStart);
-                });
-    
-            if (isFree) {
-                return outlet;
+            // Cheap pre-check without the lock to skip outlets that are obviously busy
+            if (!scheduleIndex.isFree(outlet.getId(), requestedStart, requestedEnd)) {
+                continue;
+            }
+
+            Lock lock = outletLocks.get(outlet.getId());
+            lock.lock();
+            try {
+                // The in-memory schedule rules out busy outlets cheaply; the indexed overlap
+                // query has the final say for bookings this instance has not seen.
+                if (scheduleIndex.isFree(outlet.getId(), requestedStart, requestedEnd)
+                        && !reservationRepo.existsOverlapping(outlet.getId(), requestedStart, requestedEnd)) {
+                    r.setOutlet(outlet);
+                    // The booking and its event commit before the lock is released, and the
+                    // entity listener places the slot in the schedule index as they commit
+                    return transactions.execute(tx -> {
+                        Reservation saved = reservationRepo.save(r);
+                        outbox.reservation(saved, DomainEvent.RESERVATION_CREATED);
+                        return saved;
+                    });
+                }
+            } finally {
+                lock.unlock();
             }
         }
     
@@ -79,42 +167,117 @@ public class ReservationService {
     }
     
     
+    /**
+     * Free windows of every outlet of the station on the given day, aligned to
+     * {@code slotMinutes}. Built from the per-day slot bitmaps of the schedule index.
+     */
+    public StationAvailability getStationAvailability(Long stationId, LocalDate date, Integer slotMinutes) {
+        int granularity = slotMinutes == null ? defaultSlotMinutes : slotMinutes;
+        if (granularity < OutletScheduleIndex.SLOT_MINUTES || granularity % OutletScheduleIndex.SLOT_MINUTES != 0
+                || (24 * 60) % granularity != 0) {
+            throw new IllegalArgumentException("Slot size must be a multiple of " + OutletScheduleIndex.SLOT_MINUTES
+                + " minutes that divides a day");
+        }
+        ChargingStation station = stationRepo.findWithOutletsById(stationId)
+            .orElseThrow(() -> new NoSuchElementException("Station not found"));
+
+        if (!scheduleIndex.isLoaded()) {
+            loadScheduleIndex();
+        }
+
+        List<OutletAvailability> outlets = station.getChargingOutlets().stream()
+            .map(outlet -> new OutletAvailability(outlet.getId(),
+                freeWindows(scheduleIndex.dayBitmap(outlet.getId(), date), date, granularity)))
+            .toList();
+        return new StationAvailability(stationId, date, granularity, outlets);
+    }
+
+    // Walks the runs of clear bits and keeps the whole slots of the requested size inside each run
+    private static List<TimeWindow> freeWindows(long[] busy, LocalDate date, int slotMinutes) {
+        int group = slotMinutes / OutletScheduleIndex.SLOT_MINUTES;
+        BitSet bits = BitSet.valueOf(busy);
+        List<TimeWindow> windows = new ArrayList<>();
+
+        int from = bits.nextClearBit(0);
+        while (from < OutletScheduleIndex.SLOTS_PER_DAY) {
+            int to = bits.nextSetBit(from);
+            if (to < 0 || to > OutletScheduleIndex.SLOTS_PER_DAY) {
+                to = OutletScheduleIndex.SLOTS_PER_DAY;
+            }
+            int firstSlot = (from + group - 1) / group;
+            int endSlot = to / group;
+            if (firstSlot < endSlot) {
+                windows.add(new TimeWindow(
+                    date.atStartOfDay().plusMinutes((long) firstSlot * slotMinutes),
+                    date.atStartOfDay().plusMinutes((long) endSlot * slotMinutes)));
+            }
+            from = bits.nextClearBit(to);
+        }
+        return windows;
+    }
+
+    public ReservationView getReservationView(Long id) {
+        return reservationRepo.findViewById(id)
+            .orElseThrow(() -> new IllegalArgumentException("Reservation not found"));
+    }
+
     public Reservation getReservationById(Long id) {
         return reservationRepo.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Reservation not found"));
     }
     
 
+    @Transactional
     public Reservation confirmReservation(Long reservationId) {
         Reservation r = reservationRepo.findById(reservationId)
             .orElseThrow(() -> new IllegalArgumentException("Not found"));
+        if (r.getStatus() == ReservationStatus.CANCELLED) {
+            throw new IllegalStateException("Reservation has expired or was cancelled.");
+        }
+        if (r.getStatus() != ReservationStatus.PENDING) {
+            throw new IllegalStateException("Reservation is already " + r.getStatus() + ".");
+        }
     
         ChargingOutlet outlet = r.getOutlet();
         if (outlet == null) {
             throw new IllegalStateException("No outlet associated with this reservation.");
         }
     
-        double estimatedCost = r.getDuration() * outlet.getCostPerHour();
-        double reservationFee = estimatedCost * 0.2; 
-        Consumer consumer = r.getConsumer();
+        double reservationFee = tariffService.tariffFor(outlet.getId())
+            .reservationFee(r.getStartAt(), Math.round(r.getDuration() * 60));
+        Long consumerId = r.getConsumer().getId();
 
-        if (consumer.getWallet() < reservationFee) {
+        // The expiry may have cancelled it since it was read
+        if (reservationRepo.confirmPending(reservationId, reservationFee) == 0) {
+            throw new IllegalStateException("Reservation has expired or was cancelled.");
+        }
+        // Throwing rolls the confirmation back with the transaction
+        if (!walletService.debit(consumerId, WalletService.toCents(reservationFee),
+                WalletTransactionType.RESERVATION_FEE, "reservation:" + reservationId)) {
             throw new IllegalStateException("Saldo insuficiente para pagar a taxa de reserva.");
         }
-        consumer.setWallet(consumer.getWallet() - reservationFee);
-        r.setReservationFee(reservationFee);
-        r.setStatus(ReservationStatus.CONFIRMED);
+        // Only once confirmed for good: a rolled-back confirmation must still expire
+        AfterCommit.run(() -> expiryScheduler.untrack(reservationId));
 
-        return reservationRepo.save(r);
+        // Read back, the update cleared the persistence context
+        Reservation saved = reservationRepo.findById(reservationId).orElseThrow();
+        outbox.reservation(saved, DomainEvent.RESERVATION_CONFIRMED);
+        // The bulk update skipped the entity listeners; the booked slot itself is unchanged
+        statusEvents.onSave(saved);
+        return saved;
     }
     
     
+    @Transactional
     public Reservation cancelReservation(Long reservationId) {
         Reservation r = reservationRepo.findById(reservationId)
             .orElseThrow(() -> new IllegalArgumentException("Not found"));
     
         r.setStatus(ReservationStatus.CANCELLED);
-        return reservationRepo.save(r);
+        AfterCommit.run(() -> expiryScheduler.untrack(reservationId));
+        Reservation saved = reservationRepo.save(r);
+        outbox.reservation(saved, DomainEvent.RESERVATION_CANCELLED);
+        return saved;
     }
 
 
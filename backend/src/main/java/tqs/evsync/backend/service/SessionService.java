@@ -1,14 +1,24 @@
 package tqs.evsync.backend.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tqs.evsync.backend.dto.SettlementView;
+import tqs.evsync.backend.index.ActiveSessionRegistry;
+import tqs.evsync.backend.index.ActiveSessionRegistry.ActiveSession;
 import tqs.evsync.backend.model.Reservation;
 import tqs.evsync.backend.model.ChargingSession;
 import tqs.evsync.backend.model.enums.ChargingSessionStatus;
 import tqs.evsync.backend.model.enums.ReservationStatus;
+import tqs.evsync.backend.model.enums.SettlementStatus;
+import tqs.evsync.backend.outbox.DomainEvent;
+import tqs.evsync.backend.outbox.Outbox;
+import tqs.evsync.backend.paging.Keyset;
+import tqs.evsync.backend.paging.KeysetPage;
 import tqs.evsync.backend.repository.ChargingSessionRepository;
 import tqs.evsync.backend.repository.ReservationRepository;
-import tqs.evsync.backend.model.Consumer;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -23,16 +33,37 @@ public class SessionService {
     @Autowired
     private ReservationRepository reservationRepository;
 
+    @Autowired
+    private ActiveSessionRegistry activeSessions;
+
+    @Autowired
+    private Outbox outbox;
+
 
-    public SessionService(ChargingSessionRepository sessionRepository,ReservationRepository reservationRepository) {
+    public SessionService(ChargingSessionRepository sessionRepository,ReservationRepository reservationRepository,
+                          ActiveSessionRegistry activeSessions, Outbox outbox) {
         this.sessionRepository = sessionRepository;
         this.reservationRepository = reservationRepository;
+        this.activeSessions = activeSessions;
+        this.outbox = outbox;
     }
 
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveSessions() {
+        activeSessions.rebuild(sessionRepository.findActiveSessions().stream()
+            .map(row -> new ActiveSession(row.getId(), row.getOutletId(), row.getStationId(),
+                row.getReservationId(), row.getStartTime()))
+            .toList());
+    }
+
+    @Transactional
     public ChargingSession createSession(ChargingSession session) {
-        return sessionRepository.save(session);
+        ChargingSession saved = sessionRepository.save(session);
+        outbox.session(saved, DomainEvent.SESSION_CREATED);
+        return saved;
     }
 
+    @Transactional
     public ChargingSession startSessionFromReservation(Long reservationId) {
         Reservation reservation = reservationRepository.findById(reservationId)
             .orElseThrow(() -> new RuntimeException("Reservation not found."));
@@ -41,7 +72,7 @@ public class SessionService {
             throw new RuntimeException("Reservation must be CONFIRMED to start session.");
         }
 
-        LocalDateTime scheduledStart = LocalDateTime.parse(reservation.getStartTime());
+        LocalDateTime scheduledStart = reservation.getStartAt();
 
         ChargingSession session = new ChargingSession();
         session.setStartTime(scheduledStart);
@@ -49,56 +80,64 @@ public class SessionService {
         session.setReservation(reservation);
         session.setOutlet(reservation.getOutlet());
 
-        return sessionRepository.save(session);
+        ChargingSession saved = sessionRepository.save(session);
+        outbox.session(saved, DomainEvent.SESSION_STARTED);
+        return saved;
     }
 
 
+    /**
+     * Stops the session and hands it to the {@link SettlementWorker}: only the end time and
+     * energy are written here, pricing and the wallet charge happen asynchronously.
+     */
+    @Transactional
     public ChargingSession endSession(Long sessionId, double energyUsed) {
         ChargingSession session = sessionRepository.findById(sessionId)
             .orElseThrow(() -> new RuntimeException("Session not found"));
-    
-        LocalDateTime endTime = LocalDateTime.now();
-        session.setEndTime(endTime);
+        if (session.getSettlementStatus() != null) {
+            throw new IllegalStateException("Session already ended");
+        }
+
+        session.setEndTime(LocalDateTime.now());
         session.setEnergyConsumed(energyUsed);
         session.setStatus(ChargingSessionStatus.COMPLETED);
-    
-        double durationInHours = (double) java.time.Duration.between(session.getStartTime(), endTime).toMinutes() / 60.0;
-        double costPerHour = session.getOutlet().getCostPerHour();
-    
-        double totalCost = durationInHours * costPerHour;
-        session.setTotalCost(totalCost);
-    
-        Reservation reservation = session.getReservation();
-        if (reservation != null) {
-            double alreadyPaid = reservation.getReservationFee(); 
-            double remainingToPay = totalCost - alreadyPaid;
-    
-            if (remainingToPay > 0) {
-                Consumer consumer = reservation.getConsumer();
-    
-                if (consumer.getWallet() < remainingToPay) {
-                    throw new RuntimeException("Saldo insuficiente para pagar o restante da sessão.");
-                }
-    
-                consumer.setWallet(consumer.getWallet() - remainingToPay);
-            }
-        }
-    
-        return sessionRepository.save(session);
+        session.setSettlementStatus(SettlementStatus.PENDING);
+
+        ChargingSession saved = sessionRepository.save(session);
+        outbox.session(saved, DomainEvent.SESSION_ENDED);
+        return saved;
+    }
+
+    public Optional<SettlementView> getSettlement(Long sessionId) {
+        return sessionRepository.findById(sessionId)
+            .filter(s -> s.getSettlementStatus() != null)
+            .map(s -> new SettlementView(s.getId(), s.getSettlementStatus(), s.getTotalCost(),
+                s.getEndTime(), s.getSettledAt(), s.getSettlementFailure()));
     }
-    
 
     public Optional<ChargingSession> getSessionById(Long id) {
         return sessionRepository.findById(id);
     }
 
-    public List<ChargingSession> getAllSessions(){
-        return sessionRepository.findAll();
+    public Optional<ActiveSession> getActiveSessionForOutlet(Long outletId) {
+        return Optional.ofNullable(activeSessions.byOutlet(outletId));
+    }
+
+    public List<ActiveSession> getActiveSessions(Long stationId) {
+        return stationId == null ? activeSessions.all() : activeSessions.byStation(stationId);
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<ChargingSession> getSessions(Keyset keyset) {
+        return keyset.page(sessionRepository.findByIdGreaterThanOrderByIdAsc(keyset.after(), keyset.fetch()),
+            ChargingSession::getId);
     }
 
+    @Transactional
     public void deleteSession(Long id) {
         ChargingSession session = sessionRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Session not found"));
         sessionRepository.delete(session);
+        outbox.session(session, DomainEvent.SESSION_DELETED);
     }
 }
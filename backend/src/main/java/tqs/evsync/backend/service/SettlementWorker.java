@@ -0,0 +1,185 @@
+package tqs.evsync.backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import tqs.evsync.backend.dto.PendingSettlement;
+import tqs.evsync.backend.model.enums.SettlementStatus;
+import tqs.evsync.backend.model.enums.WalletTransactionType;
+import tqs.evsync.backend.outbox.DomainEvent;
+import tqs.evsync.backend.outbox.Outbox;
+import tqs.evsync.backend.repository.ChargingSessionRepository;
+
+/**
+ * Prices and charges stopped sessions off the request path. Stopping a session only records
+ * its end time and energy and marks it PENDING; this worker picks those up oldest first in
+ * batches, and each session is settled in its own short transaction so one bad wallet can't
+ * hold back the rest of the batch.
+ */
+@Service
+public class SettlementWorker {
+
+    private final ChargingSessionRepository sessionRepo;
+    private final WalletService walletService;
+    private final TariffService tariffService;
+    private final Outbox outbox;
+    private final TransactionTemplate transactions;
+    private final int batchSize;
+
+    private final Counter settledCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong backlog = new AtomicLong();
+
+    public SettlementWorker(ChargingSessionRepository sessionRepo, WalletService walletService, TariffService tariffService,
+                            Outbox outbox, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                            @Value("${evsync.settlement.batch-size:200}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Settlement batch size must be positive");
+        }
+        this.sessionRepo = sessionRepo;
+        this.walletService = walletService;
+        this.tariffService = tariffService;
+        this.outbox = outbox;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+
+        this.settledCounter = Counter.builder("evsync.settlement.sessions")
+            .tag("outcome", "settled")
+            .description("Stopped sessions charged by the settlement worker")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("evsync.settlement.sessions")
+            .tag("outcome", "failed")
+            .description("Stopped sessions the settlement worker could not charge")
+            .register(meterRegistry);
+        this.batchTimer = Timer.builder("evsync.settlement.batch")
+            .description("Time taken to settle one batch of sessions")
+            .register(meterRegistry);
+        Gauge.builder("evsync.settlement.lag", lagMillis, l -> l.get() / 1000.0)
+            .description("Seconds the oldest unsettled session has been waiting, as of the last run")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        Gauge.builder("evsync.settlement.backlog", backlog, AtomicLong::get)
+            .description("Sessions waiting to be settled, as of the last run")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Settles everything currently PENDING and returns how many sessions left that state.
+     */
+    @Scheduled(fixedDelayString = "${evsync.settlement.interval-ms:1000}")
+    public int settlePending() {
+        int total = 0;
+        while (true) {
+            List<PendingSettlement> batch = sessionRepo.findPendingSettlements(PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            int done = batchTimer.record(() -> settle(batch));
+            total += done;
+            // Nothing moved (every row failed to update), try again on the next run
+            if (done == 0 || batch.size() < batchSize) {
+                break;
+            }
+        }
+        updateLag();
+        return total;
+    }
+
+    private int settle(List<PendingSettlement> batch) {
+        int done = 0;
+        for (PendingSettlement pending : batch) {
+            if (settle(pending)) {
+                done++;
+            }
+        }
+        return done;
+    }
+
+    private boolean settle(PendingSettlement pending) {
+        double totalCost = price(pending);
+        long dueCents = WalletService.toCents(totalCost - (pending.getReservationFee() == null ? 0 : pending.getReservationFee()));
+        try {
+            Boolean charged = transactions.execute(tx -> {
+                boolean paid = dueCents <= 0 || pending.getConsumerId() == null
+                    || walletService.debit(pending.getConsumerId(), dueCents,
+                           WalletTransactionType.SESSION_CHARGE, "session:" + pending.getId());
+                int claimed = sessionRepo.completeSettlement(pending.getId(),
+                    paid ? SettlementStatus.SETTLED : SettlementStatus.FAILED, totalCost, LocalDateTime.now(),
+                    paid ? null : "Insufficient wallet balance");
+                if (claimed == 0) {
+                    // Settled elsewhere in the meantime, undo the debit
+                    tx.setRollbackOnly();
+                    return null;
+                }
+                recordOutcome(pending.getId(), paid);
+                return paid;
+            });
+            if (charged == null) {
+                return false;
+            }
+            (charged ? settledCounter : failedCounter).increment();
+            return true;
+        } catch (RuntimeException e) {
+            return markFailed(pending.getId(), totalCost, e.getMessage());
+        }
+    }
+
+    private boolean markFailed(Long sessionId, double totalCost, String reason) {
+        try {
+            Integer updated = transactions.execute(tx -> {
+                int claimed = sessionRepo.completeSettlement(sessionId, SettlementStatus.FAILED, totalCost,
+                    LocalDateTime.now(), reason);
+                if (claimed > 0) {
+                    recordOutcome(sessionId, false);
+                }
+                return claimed;
+            });
+            if (updated != null && updated > 0) {
+                failedCounter.increment();
+                return true;
+            }
+        } catch (RuntimeException e) {
+            // Left PENDING, retried on the next run
+        }
+        return false;
+    }
+
+    // Read back, the update cleared the persistence context
+    private void recordOutcome(Long sessionId, boolean settled) {
+        sessionRepo.findById(sessionId).ifPresent(session -> outbox.session(session,
+            settled ? DomainEvent.SESSION_SETTLED : DomainEvent.SESSION_SETTLEMENT_FAILED));
+    }
+
+    private double price(PendingSettlement pending) {
+        if (pending.getStartTime() == null || pending.getEndTime() == null) {
+            return 0.0;
+        }
+        long minutes = Duration.between(pending.getStartTime(), pending.getEndTime()).toMinutes();
+        // Time spent plugged in past the end of the booked slot counts as idle
+        long idleMinutes = pending.getReservedUntil() == null ? 0
+            : Math.max(0, Duration.between(pending.getReservedUntil(), pending.getEndTime()).toMinutes());
+        double energy = pending.getEnergyConsumed() == null ? 0 : pending.getEnergyConsumed();
+        return tariffService.tariffFor(pending.getOutletId()).price(pending.getStartTime(), minutes, energy, idleMinutes);
+    }
+
+    private void updateLag() {
+        LocalDateTime oldest = sessionRepo.findOldestPendingEndTime();
+        lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+        backlog.set(sessionRepo.countBySettlementStatus(SettlementStatus.PENDING));
+    }
+}
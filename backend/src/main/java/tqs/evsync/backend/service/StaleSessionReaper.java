@@ -0,0 +1,95 @@
+package tqs.evsync.backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import tqs.evsync.backend.events.StatusEventListener;
+import tqs.evsync.backend.index.ActiveSessionRegistry;
+import tqs.evsync.backend.model.ChargingSession;
+import tqs.evsync.backend.outbox.DomainEvent;
+import tqs.evsync.backend.outbox.Outbox;
+import tqs.evsync.backend.repository.ChargingSessionRepository;
+
+/**
+ * Interrupts ACTIVE sessions that have had no meter activity for
+ * {@code evsync.sessions.stale-after}, typically because the charger lost power before it
+ * could call {@code /end}. Each run handles at most one batch in one short transaction; a
+ * larger backlog drains over the following runs.
+ */
+@Service
+public class StaleSessionReaper {
+
+    private final ChargingSessionRepository sessionRepo;
+    private final ActiveSessionRegistry activeSessions;
+    private final StatusEventListener statusEvents;
+    private final Outbox outbox;
+    private final TransactionTemplate transactions;
+    private final Duration staleAfter;
+    private final int batchSize;
+    private final Counter reapedCounter;
+
+    public StaleSessionReaper(ChargingSessionRepository sessionRepo, ActiveSessionRegistry activeSessions,
+                              StatusEventListener statusEvents, Outbox outbox, PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${evsync.sessions.stale-after:6h}") Duration staleAfter,
+                              @Value("${evsync.sessions.reaper-batch-size:500}") int batchSize) {
+        if (staleAfter.isNegative() || staleAfter.isZero()) {
+            throw new IllegalArgumentException("Stale session deadline must be positive");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Reaper batch size must be positive");
+        }
+        this.sessionRepo = sessionRepo;
+        this.activeSessions = activeSessions;
+        this.statusEvents = statusEvents;
+        this.outbox = outbox;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.staleAfter = staleAfter;
+        this.batchSize = batchSize;
+        this.reapedCounter = Counter.builder("evsync.sessions.reaped")
+            .description("ACTIVE sessions interrupted after going silent")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Interrupts up to one batch of stale sessions and returns how many were interrupted.
+     */
+    @Scheduled(fixedDelayString = "${evsync.sessions.reaper-interval-ms:60000}")
+    public int reap() {
+        LocalDateTime deadline = LocalDateTime.now().minus(staleAfter);
+        List<Long> stale = sessionRepo.findStaleActiveIds(deadline, PageRequest.of(0, batchSize));
+        if (stale.isEmpty()) {
+            return 0;
+        }
+        List<Long> interrupted = transactions.execute(tx -> {
+            List<Long> locked = sessionRepo.lockStale(stale, deadline).stream().map(ChargingSession::getId).toList();
+            if (locked.isEmpty()) {
+                return locked;
+            }
+            sessionRepo.interruptStale(locked, deadline);
+            // Read back, the update cleared the persistence context
+            List<ChargingSession> sessions = sessionRepo.findAllById(locked);
+            outbox.sessions(sessions, DomainEvent.SESSION_INTERRUPTED);
+            // The bulk update skipped the entity listeners; subscribers hear of it once this commits
+            sessions.forEach(statusEvents::onSave);
+            return locked;
+        });
+        if (interrupted.isEmpty()) {
+            return 0;
+        }
+        reapedCounter.increment(interrupted.size());
+        // Likewise for the registry, now that the sessions are committed as interrupted
+        interrupted.forEach(activeSessions::remove);
+        return interrupted.size();
+    }
+}
@@ -0,0 +1,366 @@
+package tqs.evsync.backend.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import tqs.evsync.backend.dto.ImportReport;
+import tqs.evsync.backend.dto.ImportReport.RowError;
+import tqs.evsync.backend.dto.StationImportRow;
+import tqs.evsync.backend.dto.StationImportRow.Outlet;
+import tqs.evsync.backend.events.StatusBroadcaster;
+import tqs.evsync.backend.events.StatusEvent;
+import tqs.evsync.backend.index.OperatorStationCache;
+import tqs.evsync.backend.index.StationSpatialIndex;
+import tqs.evsync.backend.model.ChargingStation;
+import tqs.evsync.backend.model.Operator;
+import tqs.evsync.backend.model.enums.ChargingStationStatus;
+import tqs.evsync.backend.model.enums.OutletStatus;
+import tqs.evsync.backend.outbox.DomainEvent;
+import tqs.evsync.backend.outbox.Outbox;
+import tqs.evsync.backend.repository.OperatorRepository;
+
+/**
+ * Loads stations and their outlets in bulk. The body is read line by line and handled in
+ * chunks: each chunk is parsed and validated in parallel, then its valid rows are written
+ * with two JDBC batches (stations, returning their ids, then outlets) in one transaction,
+ * together with a {@code station.added} outbox event per station.
+ * A chunk that fails to write is reported row by row and the import carries on.
+ *
+ * <p>CSV needs a header naming at least {@code latitude} and {@code longitude}; the optional
+ * {@code status} defaults to AVAILABLE and {@code outlets} lists {@code maxPower/costPerHour}
+ * pairs separated by {@code ;}, e.g. {@code 22/10.0;50/15.0}. NDJSON has one
+ * {@link StationImportRow} per line.
+ *
+ * <p>The JDBC writes bypass the entity listeners, so the spatial index, status events, query
+ * cache and operator station cache are brought up to date explicitly once each chunk commits.
+ */
+@Service
+public class StationImportService {
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    public static final MediaType NDJSON = MediaType.APPLICATION_NDJSON;
+
+    private static final String STATION_SQL =
+        "insert into charging_station (latitude, longitude, status, operator_id) values (?, ?, ?, ?)";
+    private static final String OUTLET_SQL =
+        "insert into charging_outlet (charging_station_id, max_power, cost_per_hour, price_per_kwh, "
+        + "idle_fee_per_minute, idle_grace_minutes, is_available, status) values (?, ?, ?, 0, 0, 0, true, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactions;
+    private final OperatorRepository operatorRepo;
+    private final StationSpatialIndex spatialIndex;
+    private final OperatorStationCache operatorStations;
+    private final StatusBroadcaster broadcaster;
+    private final Outbox outbox;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectMapper objectMapper;
+    private final Counter imported;
+    private final Counter rejected;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public StationImportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                OperatorRepository operatorRepo, StationSpatialIndex spatialIndex,
+                                OperatorStationCache operatorStations, StatusBroadcaster broadcaster, Outbox outbox,
+                                EntityManagerFactory entityManagerFactory,
+                                ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                @Value("${evsync.import.chunk-size:1000}") int chunkSize,
+                                @Value("${evsync.import.max-errors:1000}") int maxErrors) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Import chunk size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.operatorRepo = operatorRepo;
+        this.spatialIndex = spatialIndex;
+        this.operatorStations = operatorStations;
+        this.broadcaster = broadcaster;
+        this.outbox = outbox;
+        this.entityManagerFactory = entityManagerFactory;
+        this.objectMapper = objectMapper;
+        this.imported = meterRegistry.counter("evsync.import.stations", "outcome", "imported");
+        this.rejected = meterRegistry.counter("evsync.import.stations", "outcome", "rejected");
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    private record Line(long number, String text) {}
+
+    private record Parsed(long line, StationImportRow row, String error) {}
+
+    private record Written(ChargingStation station, int outlets) {}
+
+    private final class Progress {
+        int stations;
+        int outlets;
+        int rejectedRows;
+        final List<RowError> errors = new ArrayList<>();
+
+        void reject(long line, String message) {
+            rejectedRows++;
+            rejected.increment();
+            if (errors.size() < maxErrors) {
+                errors.add(new RowError(line, message));
+            }
+        }
+    }
+
+    public ImportReport importStations(Long operatorId, MediaType contentType, InputStream body) throws IOException {
+        if (!operatorRepo.existsById(operatorId)) {
+            throw new NoSuchElementException("Operator with ID " + operatorId + " not found");
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        Function<String, StationImportRow> parser;
+        if (TEXT_CSV.includes(contentType)) {
+            String header = reader.readLine();
+            lineNumber++;
+            if (header == null) {
+                throw new IllegalArgumentException("CSV import needs a header line");
+            }
+            parser = csvParser(header);
+        } else if (NDJSON.includes(contentType)) {
+            parser = this::parseJson;
+        } else {
+            throw new IllegalArgumentException("Unsupported import format " + contentType);
+        }
+
+        Progress progress = new Progress();
+        List<Line> chunk = new ArrayList<>(chunkSize);
+        String text;
+        while ((text = reader.readLine()) != null) {
+            lineNumber++;
+            if (text.isBlank()) {
+                continue;
+            }
+            chunk.add(new Line(lineNumber, text));
+            if (chunk.size() == chunkSize) {
+                process(operatorId, chunk, parser, progress);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            process(operatorId, chunk, parser, progress);
+        }
+        return new ImportReport(progress.stations, progress.outlets, progress.rejectedRows, progress.errors);
+    }
+
+    private void process(Long operatorId, List<Line> chunk, Function<String, StationImportRow> parser, Progress progress) {
+        List<Parsed> parsed = chunk.parallelStream().map(line -> parse(line, parser)).toList();
+
+        List<Parsed> valid = new ArrayList<>(parsed.size());
+        for (Parsed p : parsed) {
+            if (p.error() != null) {
+                progress.reject(p.line(), p.error());
+            } else {
+                valid.add(p);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        List<Written> written;
+        try {
+            written = transactions.execute(tx -> write(operatorId, valid));
+        } catch (DataAccessException e) {
+            for (Parsed p : valid) {
+                progress.reject(p.line(), "Not written: " + e.getMostSpecificCause().getMessage());
+            }
+            return;
+        }
+
+        // Cached station lists predate rows written behind Hibernate's back
+        entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictDefaultQueryRegion();
+        operatorStations.invalidate(operatorId);
+        Instant now = Instant.now();
+        for (Written w : written) {
+            ChargingStation station = w.station();
+            spatialIndex.put(station);
+            broadcaster.publish(new StatusEvent("station", station.getId(), station.getId(), null, station.getStatus().name(),
+                now, station.getLatitude(), station.getLongitude()));
+            progress.outlets += w.outlets();
+        }
+        progress.stations += written.size();
+        imported.increment(written.size());
+    }
+
+    private List<Written> write(Long operatorId, List<Parsed> rows) {
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(STATION_SQL, new String[] {"id"}),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    StationImportRow row = rows.get(i).row();
+                    ps.setDouble(1, row.latitude());
+                    ps.setDouble(2, row.longitude());
+                    // Mapped without @Enumerated, so the column holds the ordinal
+                    ps.setInt(3, row.status().ordinal());
+                    ps.setLong(4, operatorId);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return rows.size();
+                }
+            }, keys);
+
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        if (keyList.size() != rows.size()) {
+            throw new IllegalStateException("Expected " + rows.size() + " station ids, got " + keyList.size());
+        }
+        Operator operator = operatorRepo.getReferenceById(operatorId);
+        List<Written> written = new ArrayList<>(rows.size());
+        List<Object[]> outlets = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            long id = ((Number) keyList.get(i).values().iterator().next()).longValue();
+            StationImportRow row = rows.get(i).row();
+            ChargingStation station = new ChargingStation();
+            station.setId(id);
+            station.setLatitude(row.latitude());
+            station.setLongitude(row.longitude());
+            station.setStatus(row.status());
+            station.setOperator(operator);
+            written.add(new Written(station, row.outlets().size()));
+            for (Outlet outlet : row.outlets()) {
+                outlets.add(new Object[] {id, outlet.maxPower(), outlet.costPerHour(), OutletStatus.AVAILABLE.name()});
+            }
+        }
+        if (!outlets.isEmpty()) {
+            jdbcTemplate.batchUpdate(OUTLET_SQL, outlets);
+        }
+        outbox.stations(written.stream().map(Written::station).toList(), DomainEvent.STATION_ADDED);
+        return written;
+    }
+
+    private static Parsed parse(Line line, Function<String, StationImportRow> parser) {
+        try {
+            StationImportRow row = normalise(parser.apply(line.text()));
+            String error = validate(row);
+            return error == null ? new Parsed(line.number(), row, null) : new Parsed(line.number(), null, error);
+        } catch (IllegalArgumentException e) {
+            return new Parsed(line.number(), null, e.getMessage());
+        }
+    }
+
+    private static StationImportRow normalise(StationImportRow row) {
+        return new StationImportRow(row.latitude(), row.longitude(),
+            row.status() == null ? ChargingStationStatus.AVAILABLE : row.status(),
+            row.outlets() == null ? List.of() : row.outlets());
+    }
+
+    private static String validate(StationImportRow row) {
+        if (row.latitude() == null || row.longitude() == null) {
+            return "Latitude and longitude are required";
+        }
+        if (!(row.latitude() >= -90.0 && row.latitude() <= 90.0)) {
+            return "Latitude must be within [-90, 90]";
+        }
+        if (!(row.longitude() >= -180.0 && row.longitude() <= 180.0)) {
+            return "Longitude must be within [-180, 180]";
+        }
+        for (Outlet outlet : row.outlets()) {
+            if (outlet == null || outlet.maxPower() <= 0) {
+                return "Outlet max power must be positive";
+            }
+            if (!(outlet.costPerHour() >= 0)) {
+                return "Outlet cost per hour must not be negative";
+            }
+        }
+        return null;
+    }
+
+    private StationImportRow parseJson(String text) {
+        try {
+            return objectMapper.readValue(text, StationImportRow.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private static Function<String, StationImportRow> csvParser(String header) {
+        List<String> columns = Arrays.stream(header.split(",", -1)).map(c -> c.trim().toLowerCase()).toList();
+        int lat = columns.indexOf("latitude");
+        int lon = columns.indexOf("longitude");
+        int status = columns.indexOf("status");
+        int outlets = columns.indexOf("outlets");
+        if (lat < 0 || lon < 0) {
+            throw new IllegalArgumentException("CSV header must name latitude and longitude columns");
+        }
+        return text -> {
+            String[] fields = text.split(",", -1);
+            if (fields.length != columns.size()) {
+                throw new IllegalArgumentException("Expected " + columns.size() + " fields, got " + fields.length);
+            }
+            return new StationImportRow(
+                parseDouble(fields[lat], "latitude"),
+                parseDouble(fields[lon], "longitude"),
+                status < 0 || fields[status].isBlank() ? null : parseStatus(fields[status]),
+                outlets < 0 ? List.of() : parseOutlets(fields[outlets]));
+        };
+    }
+
+    private static Double parseDouble(String field, String name) {
+        try {
+            return Double.valueOf(field.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": '" + field.trim() + "'");
+        }
+    }
+
+    private static ChargingStationStatus parseStatus(String field) {
+        try {
+            return ChargingStationStatus.valueOf(field.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown status: '" + field.trim() + "'");
+        }
+    }
+
+    private static List<Outlet> parseOutlets(String field) {
+        if (field.isBlank()) {
+            return List.of();
+        }
+        List<Outlet> outlets = new ArrayList<>();
+        for (String spec : field.split(";")) {
+            String[] parts = spec.split("/");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Outlets must be maxPower/costPerHour pairs, got '" + spec.trim() + "'");
+            }
+            try {
+                outlets.add(new Outlet(Integer.parseInt(parts[0].trim()), Double.parseDouble(parts[1].trim())));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid outlet: '" + spec.trim() + "'");
+            }
+        }
+        return outlets;
+    }
+}
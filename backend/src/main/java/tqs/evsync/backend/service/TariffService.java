@@ -0,0 +1,79 @@
+package tqs.evsync.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import tqs.evsync.backend.dto.TariffDefinition;
+import tqs.evsync.backend.dto.TariffDefinition.Band;
+import tqs.evsync.backend.model.ChargingOutlet;
+import tqs.evsync.backend.model.TariffBand;
+import tqs.evsync.backend.pricing.Tariff;
+import tqs.evsync.backend.pricing.TariffCache;
+import tqs.evsync.backend.repository.ChargingOutletRepository;
+import tqs.evsync.backend.repository.TariffBandRepository;
+
+/**
+ * Loads, edits and compiles outlet tariffs. Pricing callers get a compiled {@link Tariff}
+ * from the cache and never touch the database once it is warm.
+ */
+@Service
+public class TariffService {
+
+    private final ChargingOutletRepository outletRepo;
+    private final TariffBandRepository bandRepo;
+    private final TariffCache cache;
+
+    public TariffService(ChargingOutletRepository outletRepo, TariffBandRepository bandRepo, TariffCache cache) {
+        this.outletRepo = outletRepo;
+        this.bandRepo = bandRepo;
+        this.cache = cache;
+    }
+
+    /**
+     * Compiled tariff of the outlet, or {@link Tariff#FREE} when there is no such outlet.
+     */
+    public Tariff tariffFor(Long outletId) {
+        if (outletId == null) {
+            return Tariff.FREE;
+        }
+        return cache.get(outletId, () -> getDefinition(outletId).map(Tariff::compile).orElse(Tariff.FREE));
+    }
+
+    public Optional<TariffDefinition> getDefinition(Long outletId) {
+        return outletRepo.findById(outletId).map(outlet -> new TariffDefinition(
+            outlet.getCostPerHour(), outlet.getPricePerKwh(), outlet.getIdleFeePerMinute(), outlet.getIdleGraceMinutes(),
+            bandRepo.findAllByOutletIdOrderByPositionAsc(outletId).stream()
+                .map(b -> new Band(b.getStartMinute(), b.getEndMinute(), b.getCostPerHour()))
+                .toList()));
+    }
+
+    @Transactional
+    public TariffDefinition updateTariff(Long outletId, TariffDefinition definition) {
+        // Fails with IllegalArgumentException before anything is written
+        Tariff.compile(definition);
+
+        ChargingOutlet outlet = outletRepo.findById(outletId)
+            .orElseThrow(() -> new NoSuchElementException("Outlet not found"));
+        outlet.setCostPerHour(definition.costPerHour());
+        outlet.setPricePerKwh(definition.pricePerKwh());
+        outlet.setIdleFeePerMinute(definition.idleFeePerMinute());
+        outlet.setIdleGraceMinutes(definition.idleGraceMinutes());
+        outletRepo.save(outlet);
+
+        bandRepo.deleteByOutletId(outletId);
+        List<TariffBand> bands = new ArrayList<>();
+        for (int i = 0; i < definition.bands().size(); i++) {
+            Band band = definition.bands().get(i);
+            bands.add(new TariffBand(outletId, i, band.startMinute(), band.endMinute(), band.costPerHour()));
+        }
+        bandRepo.saveAll(bands);
+
+        cache.invalidate(outletId);
+        return definition;
+    }
+}
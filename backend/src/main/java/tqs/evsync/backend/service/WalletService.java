@@ -0,0 +1,154 @@
+package tqs.evsync.backend.service;
+
+import java.util.List;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import tqs.evsync.backend.model.Consumer;
+import tqs.evsync.backend.model.WalletSnapshot;
+import tqs.evsync.backend.model.WalletTransaction;
+import tqs.evsync.backend.model.enums.WalletTransactionType;
+import tqs.evsync.backend.repository.ConsumerRepository;
+import tqs.evsync.backend.repository.WalletSnapshotRepository;
+import tqs.evsync.backend.repository.WalletTransactionRepository;
+
+/**
+ * Moves money in and out of consumer wallets. Every change is a single conditional UPDATE
+ * on the balance column plus an entry in the append-only ledger, in one transaction, so
+ * concurrent top-ups and charges can't lose each other's writes.
+ */
+@Service
+public class WalletService {
+
+    private final ConsumerRepository consumerRepo;
+    private final WalletTransactionRepository transactionRepo;
+    private final WalletSnapshotRepository snapshotRepo;
+    private final TransactionTemplate transactions;
+
+    public WalletService(ConsumerRepository consumerRepo, WalletTransactionRepository transactionRepo,
+                         WalletSnapshotRepository snapshotRepo, PlatformTransactionManager transactionManager) {
+        this.consumerRepo = consumerRepo;
+        this.transactionRepo = transactionRepo;
+        this.snapshotRepo = snapshotRepo;
+        this.transactions = new TransactionTemplate(transactionManager);
+    }
+
+    public static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    /**
+     * Saves a new consumer and records the balance it starts with as the first ledger entry.
+     */
+    @Transactional
+    public Consumer register(Consumer consumer) {
+        Consumer saved = consumerRepo.save(consumer);
+        if (saved.getWalletCents() != 0) {
+            transactionRepo.save(new WalletTransaction(saved.getId(), saved.getWalletCents(), WalletTransactionType.OPENING, null));
+        }
+        return saved;
+    }
+
+    @Transactional
+    public long credit(Long consumerId, long cents, WalletTransactionType type, String reference) {
+        if (cents <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        if (consumerRepo.creditWallet(consumerId, cents) == 0) {
+            throw new IllegalArgumentException("Consumer not found");
+        }
+        transactionRepo.save(new WalletTransaction(consumerId, cents, type, reference));
+        return balanceCents(consumerId);
+    }
+
+    /**
+     * Takes {@code cents} from the wallet if the balance covers it.
+     *
+     * @return false, leaving the balance untouched, when the balance is too low
+     */
+    @Transactional
+    public boolean debit(Long consumerId, long cents, WalletTransactionType type, String reference) {
+        if (cents < 0) {
+            throw new IllegalArgumentException("Amount must not be negative");
+        }
+        if (cents == 0) {
+            return true;
+        }
+        if (consumerRepo.debitWallet(consumerId, cents) == 0) {
+            if (!consumerRepo.existsById(consumerId)) {
+                throw new IllegalArgumentException("Consumer not found");
+            }
+            return false;
+        }
+        transactionRepo.save(new WalletTransaction(consumerId, -cents, type, reference));
+        return true;
+    }
+
+    /**
+     * Sets the balance to {@code cents}, recording the difference as an adjustment.
+     */
+    @Transactional
+    public void setBalance(Long consumerId, long cents) {
+        long current = consumerRepo.lockWalletCents(consumerId)
+            .orElseThrow(() -> new IllegalArgumentException("Consumer not found"));
+        if (current != cents) {
+            consumerRepo.replaceWallet(consumerId, cents);
+            transactionRepo.save(new WalletTransaction(consumerId, cents - current, WalletTransactionType.ADJUSTMENT, null));
+        }
+    }
+
+    public long balanceCents(Long consumerId) {
+        return consumerRepo.findWalletCents(consumerId)
+            .orElseThrow(() -> new IllegalArgumentException("Consumer not found"));
+    }
+
+    /**
+     * Balance according to the ledger: the latest snapshot plus the entries after it.
+     */
+    public long ledgerBalanceCents(Long consumerId) {
+        return snapshotRepo.findFirstByConsumerIdOrderByLastTransactionIdDesc(consumerId)
+            .map(s -> s.getBalanceCents() + transactionRepo.sumAfter(consumerId, s.getLastTransactionId()))
+            .orElseGet(() -> transactionRepo.sumAfter(consumerId, 0L));
+    }
+
+    public List<WalletTransaction> getTransactions(Long consumerId) {
+        return transactionRepo.findAllByConsumerIdOrderByIdDesc(consumerId);
+    }
+
+    /**
+     * Rolls the ledger entries written since each consumer's last snapshot into a new one.
+     * Each consumer is done in its own transaction under the lock on its row, which every
+     * ledger write holds until it commits: no entry of that consumer is then still in
+     * flight, so none can later appear below the id the snapshot ends at.
+     */
+    @Scheduled(fixedDelayString = "${evsync.wallet.snapshot-interval-ms:3600000}",
+               initialDelayString = "${evsync.wallet.snapshot-interval-ms:3600000}")
+    public int takeSnapshots() {
+        int taken = 0;
+        for (Long consumerId : transactionRepo.findConsumersWithUnsnapshottedEntries()) {
+            if (Boolean.TRUE.equals(transactions.execute(status -> takeSnapshot(consumerId)))) {
+                taken++;
+            }
+        }
+        return taken;
+    }
+
+    private boolean takeSnapshot(Long consumerId) {
+        if (consumerRepo.lockWalletCents(consumerId).isEmpty()) {
+            return false;
+        }
+        WalletSnapshot previous = snapshotRepo.findFirstByConsumerIdOrderByLastTransactionIdDesc(consumerId).orElse(null);
+        long afterId = previous == null ? 0 : previous.getLastTransactionId();
+        Long lastId = transactionRepo.findLastId(consumerId);
+        if (lastId == null || lastId <= afterId) {
+            return false;
+        }
+        long balance = (previous == null ? 0 : previous.getBalanceCents()) + transactionRepo.sumAfter(consumerId, afterId);
+        snapshotRepo.save(new WalletSnapshot(consumerId, lastId, balance));
+        return true;
+    }
+}
@@ -0,0 +1,89 @@
+package tqs.evsync.backend.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed timing wheel: deadlines are hashed by tick into a fixed ring of buckets, so
+ * scheduling and cancelling are O(1) and each tick only looks at one bucket. Entries
+ * more than one revolution away simply stay in their bucket until their tick comes round.
+ * <p>
+ * The wheel has no thread of its own, the owner calls {@link #advance(long)} periodically.
+ */
+public class HashedTimingWheel<K> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<Map<K, Long>> buckets;
+    private final Map<K, Long> deadlines = new HashMap<>();
+    private long currentTick;
+
+    public HashedTimingWheel(long tickMillis, int wheelSize, long nowMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a positive power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new HashMap<>());
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Schedules {@code key} to expire at {@code deadlineMillis}, replacing any earlier
+     * deadline for the same key. Deadlines already in the past fire on the next advance.
+     */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        long tick = Math.max(currentTick + 1, Math.ceilDiv(deadlineMillis, tickMillis));
+        buckets.get((int) (tick & mask)).put(key, tick);
+        deadlines.put(key, tick);
+    }
+
+    public synchronized boolean cancel(K key) {
+        Long tick = deadlines.remove(key);
+        if (tick == null) {
+            return false;
+        }
+        buckets.get((int) (tick & mask)).remove(key);
+        return true;
+    }
+
+    /**
+     * Moves the wheel up to {@code nowMillis} and returns the keys whose deadline has passed.
+     */
+    public synchronized List<K> advance(long nowMillis) {
+        long target = nowMillis / tickMillis;
+        List<K> expired = new ArrayList<>();
+        if (target <= currentTick) {
+            return expired;
+        }
+        // After a long pause every bucket is due, so one full turn is enough
+        long turns = Math.min(target - currentTick, mask + 1L);
+        for (long i = 0; i < turns; i++) {
+            Iterator<Map.Entry<K, Long>> it = buckets.get((int) ((target - i) & mask)).entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<K, Long> entry = it.next();
+                if (entry.getValue() <= target) {
+                    expired.add(entry.getKey());
+                    deadlines.remove(entry.getKey());
+                    it.remove();
+                }
+            }
+        }
+        currentTick = target;
+        return expired;
+    }
+
+    public synchronized int size() {
+        return deadlines.size();
+    }
+}
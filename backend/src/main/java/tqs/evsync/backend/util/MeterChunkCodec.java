@@ -0,0 +1,116 @@
+package tqs.evsync.backend.util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packs a run of meter points into a compact byte array. Timestamps are stored as
+ * delta-of-delta, so a charger reporting at a steady interval costs one byte per sample,
+ * and energy and power as deltas from the previous point. Every number is zigzag encoded
+ * and written as a varint.
+ * <p>
+ * Layout: version byte, point count, the first point in full, then one
+ * (time delta-of-delta, energy delta, power delta) triple per following point.
+ */
+public final class MeterChunkCodec {
+    private static final int VERSION = 1;
+
+    public record Point(long timeMillis, long energyWh, long powerW) {}
+
+    private MeterChunkCodec() {
+    }
+
+    public static byte[] encode(List<Point> points) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 + points.size() * 4);
+        out.write(VERSION);
+        writeVarint(out, points.size());
+        if (points.isEmpty()) {
+            return out.toByteArray();
+        }
+
+        Point first = points.get(0);
+        writeSigned(out, first.timeMillis());
+        writeSigned(out, first.energyWh());
+        writeSigned(out, first.powerW());
+
+        Point prev = first;
+        long prevDelta = 0;
+        for (int i = 1; i < points.size(); i++) {
+            Point p = points.get(i);
+            long delta = p.timeMillis() - prev.timeMillis();
+            writeSigned(out, delta - prevDelta);
+            writeSigned(out, p.energyWh() - prev.energyWh());
+            writeSigned(out, p.powerW() - prev.powerW());
+            prevDelta = delta;
+            prev = p;
+        }
+        return out.toByteArray();
+    }
+
+    public static List<Point> decode(byte[] data) {
+        Reader in = new Reader(data);
+        int version = in.data[in.pos++];
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unknown meter chunk version " + version);
+        }
+        int count = (int) in.readVarint();
+        List<Point> points = new ArrayList<>(count);
+        if (count == 0) {
+            return points;
+        }
+
+        long time = in.readSigned();
+        long energy = in.readSigned();
+        long power = in.readSigned();
+        points.add(new Point(time, energy, power));
+
+        long delta = 0;
+        for (int i = 1; i < count; i++) {
+            delta += in.readSigned();
+            time += delta;
+            energy += in.readSigned();
+            power += in.readSigned();
+            points.add(new Point(time, energy, power));
+        }
+        return points;
+    }
+
+    private static void writeSigned(ByteArrayOutputStream out, long value) {
+        writeVarint(out, (value << 1) ^ (value >> 63));
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int pos;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        long readVarint() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = data[pos++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in meter chunk");
+        }
+
+        long readSigned() {
+            long raw = readVarint();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package tqs.evsync.backend.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi-producer, single-consumer ring buffer. Producers claim a slot with one CAS
+ * on the tail and never block: when the buffer is full {@link #offer} returns false. The
+ * single consumer drains in order, so {@link #drain} calls must not overlap.
+ */
+public class MpscRingBuffer<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    public MpscRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a positive power of two");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public boolean offer(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Null items are not supported");
+        }
+        while (true) {
+            long t = tail.get();
+            if (t - head.get() > mask) {
+                return false;
+            }
+            if (tail.compareAndSet(t, t + 1)) {
+                slots.set((int) (t & mask), item);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Hands up to {@code max} items to {@code sink} in insertion order. Stops early at a slot
+     * that has been claimed but not yet written, which is picked up by the next drain.
+     */
+    public int drain(Consumer<T> sink, int max) {
+        long h = head.get();
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (h & mask);
+            T item = slots.get(index);
+            if (item == null) {
+                break;
+            }
+            // Free the slot before moving the head, so producers never overwrite an unread item
+            slots.lazySet(index, null);
+            h++;
+            head.lazySet(h);
+            sink.accept(item);
+            drained++;
+        }
+        return drained;
+    }
+
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
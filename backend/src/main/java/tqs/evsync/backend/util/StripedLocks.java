@@ -0,0 +1,29 @@
+package tqs.evsync.backend.util;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks addressed by key hash. Work on the same key is serialized while
+ * unrelated keys almost always land on different stripes and proceed in parallel.
+ */
+public class StripedLocks {
+
+    private final Lock[] stripes;
+
+    public StripedLocks(int stripeCount) {
+        if (stripeCount <= 0 || Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("Stripe count must be a positive power of two");
+        }
+        this.stripes = new Lock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock get(long key) {
+        // Spread the bits so sequential ids do not cluster on neighbouring stripes
+        long h = key * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (h >>> 32) & (stripes.length - 1)];
+    }
+}
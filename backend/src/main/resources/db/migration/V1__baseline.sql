@@ -0,0 +1,203 @@
+-- Schema as ddl-auto=update left it before migrations took over, with the constraint names
+-- Hibernate generated. Existing databases are baselined at this version instead of running it,
+-- so it must not be changed. They may predate parts of it: the V1_x migrations add what they
+-- are missing and move the data out of the legacy columns.
+
+create table app_user (
+    id bigint not null auto_increment,
+    user_type varchar(31) not null,
+    email varchar(255),
+    password varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table charging_outlet (
+    cost_per_hour float(53) not null,
+    idle_fee_per_minute float(53) not null,
+    idle_grace_minutes integer not null,
+    is_available bit not null,
+    max_power integer not null,
+    price_per_kwh float(53) not null,
+    charging_station_id bigint,
+    id bigint not null auto_increment,
+    status enum ('AVAILABLE','MAINTENANCE','OCCUPIED','OUT_OF_SERVICE'),
+    primary key (id)
+) engine=InnoDB;
+
+create table charging_session (
+    energy_consumed float(53) not null,
+    total_cost float(53) not null,
+    end_time datetime(6),
+    id bigint not null auto_increment,
+    last_activity_at datetime(6),
+    outlet_id bigint,
+    reservation_id bigint,
+    settled_at datetime(6),
+    start_time datetime(6),
+    settlement_failure varchar(255),
+    settlement_status enum ('FAILED','PENDING','SETTLED'),
+    status enum ('ACTIVE','CANCELLED','COMPLETED','INTERRUPTED'),
+    primary key (id)
+) engine=InnoDB;
+
+create table charging_station (
+    latitude float(53),
+    longitude float(53),
+    status tinyint,
+    id bigint not null auto_increment,
+    operator_id bigint,
+    primary key (id)
+) engine=InnoDB;
+
+create table consumer (
+    id bigint not null,
+    wallet_cents bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table idempotency_record (
+    status integer not null,
+    expires_at datetime(6) not null,
+    fingerprint varchar(64) not null,
+    content_type varchar(255),
+    idempotency_key varchar(255) not null,
+    body longblob,
+    primary key (idempotency_key)
+) engine=InnoDB;
+
+create table meter_chunk (
+    sample_count integer not null,
+    end_at datetime(6) not null,
+    id bigint not null auto_increment,
+    session_id bigint not null,
+    start_at datetime(6) not null,
+    data tinyblob not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table operator (
+    operator_type tinyint,
+    id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table outlet_tariff_band (
+    cost_per_hour float(53) not null,
+    end_minute integer not null,
+    position integer not null,
+    start_minute integer not null,
+    id bigint not null auto_increment,
+    outlet_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table reservation (
+    duration float(53),
+    reservation_fee float(53) not null,
+    consumer_id bigint,
+    created_at datetime(6),
+    end_at datetime(6),
+    id bigint not null auto_increment,
+    outlet_id bigint,
+    start_at datetime(6),
+    station_id bigint,
+    status enum ('CANCELLED','COMPLETED','CONFIRMED','IN_PROGRESS','PENDING'),
+    primary key (id)
+) engine=InnoDB;
+
+create table wallet_snapshot (
+    balance_cents bigint not null,
+    consumer_id bigint not null,
+    id bigint not null auto_increment,
+    last_transaction_id bigint not null,
+    taken_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table wallet_transaction (
+    amount_cents bigint not null,
+    consumer_id bigint not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    reference varchar(255),
+    type enum ('ADJUSTMENT','OPENING','RESERVATION_FEE','SESSION_CHARGE','TOP_UP') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_session_status_start
+   on charging_session (status, start_time);
+
+create index idx_session_settlement
+   on charging_session (settlement_status, end_time);
+
+create index idx_station_lat_lon
+   on charging_station (latitude, longitude);
+
+create index idx_idempotency_expires
+   on idempotency_record (expires_at);
+
+create index idx_meter_chunk_session_time
+   on meter_chunk (session_id, start_at, end_at);
+
+create index idx_tariff_band_outlet
+   on outlet_tariff_band (outlet_id, position);
+
+create index idx_reservation_outlet_time
+   on reservation (outlet_id, start_at, end_at);
+
+create index idx_reservation_status_created
+   on reservation (status, created_at);
+
+create index idx_reservation_consumer
+   on reservation (consumer_id, id);
+
+create index idx_wallet_snapshot_consumer
+   on wallet_snapshot (consumer_id, last_transaction_id);
+
+create index idx_wallet_tx_consumer
+   on wallet_transaction (consumer_id, id);
+
+alter table charging_outlet
+   add constraint FKib11f4lcfajxsaadltavp2is5
+   foreign key (charging_station_id)
+   references charging_station (id);
+
+alter table charging_session
+   add constraint FK1rjoohexjybl64de9os8g986b
+   foreign key (outlet_id)
+   references charging_outlet (id);
+
+alter table charging_session
+   add constraint FK3hkrvdkm78bnph6aijcgql022
+   foreign key (reservation_id)
+   references reservation (id);
+
+alter table charging_station
+   add constraint FK1y2iil4jg5t7grj295ro9ptk
+   foreign key (operator_id)
+   references operator (id);
+
+alter table consumer
+   add constraint FKaijpubr7ef1e1opjol9xgvan2
+   foreign key (id)
+   references app_user (id);
+
+alter table operator
+   add constraint FKb02sy9767xq0au2yl9q0wvh1e
+   foreign key (id)
+   references app_user (id);
+
+alter table reservation
+   add constraint FKqi36dyfjynce4oihkgoy3ehlv
+   foreign key (consumer_id)
+   references consumer (id);
+
+alter table reservation
+   add constraint FK1gsqsxjctysvj931co1cvww13
+   foreign key (outlet_id)
+   references charging_outlet (id);
+
+alter table reservation
+   add constraint FKbtip2oka1pm5fkqokwrfkdaig
+   foreign key (station_id)
+   references charging_station (id);
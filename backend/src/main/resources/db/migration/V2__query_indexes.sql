@@ -0,0 +1,23 @@
+-- Indexes for the lookups that had none of their own
+
+-- Login and registration look users up by email
+create index idx_app_user_email
+   on app_user (email);
+
+-- Station reservation listing; replaces the index MySQL added for the foreign key
+create index idx_reservation_station
+   on reservation (station_id);
+
+-- Ledger compaction starts from the highest transaction any snapshot covers
+create index idx_wallet_snapshot_last_tx
+   on wallet_snapshot (last_transaction_id);
+
+-- A packed chunk of the default 256 samples does not fit the 255 bytes of a tinyblob
+alter table meter_chunk
+   modify data mediumblob not null;
+
+-- Written by the replica lag check, which otherwise creates it on first use
+create table if not exists replication_heartbeat (
+    id int not null primary key,
+    beat_at bigint not null
+) engine=InnoDB;
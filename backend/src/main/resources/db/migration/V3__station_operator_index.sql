@@ -0,0 +1,4 @@
+-- Operator station lists page through an operator's stations in id order; replaces the
+-- index MySQL added for the foreign key
+create index idx_station_operator
+   on charging_station (operator_id, id);
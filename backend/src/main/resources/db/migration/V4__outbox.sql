@@ -0,0 +1,11 @@
+-- Domain events written in the same transaction as the change they describe, drained in id
+-- order by the outbox relay
+create table outbox_event (
+    aggregate_id bigint not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    aggregate_type varchar(32) not null,
+    event_type varchar(64) not null,
+    payload varchar(4000),
+    primary key (id)
+) engine=InnoDB;
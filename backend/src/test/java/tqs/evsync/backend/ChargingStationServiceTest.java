@@ -5,15 +5,24 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.web.client.RestTemplate;
 
+import tqs.evsync.backend.dto.StationSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import tqs.evsync.backend.index.OperatorStationCache;
+import tqs.evsync.backend.index.StationSpatialIndex;
 import tqs.evsync.backend.model.ChargingOutlet;
 import tqs.evsync.backend.model.ChargingStation;
 import tqs.evsync.backend.model.Operator;
 import tqs.evsync.backend.model.enums.ChargingStationStatus;
+import tqs.evsync.backend.outbox.DomainEvent;
+import tqs.evsync.backend.outbox.Outbox;
+import tqs.evsync.backend.paging.Keyset;
+import tqs.evsync.backend.paging.KeysetPage;
 import tqs.evsync.backend.repository.ChargingOutletRepository;
 import tqs.evsync.backend.repository.ChargingStationRepository;
 import tqs.evsync.backend.repository.OperatorRepository;
@@ -25,6 +34,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import org.mockito.quality.Strictness;
 
@@ -50,6 +61,15 @@ class ChargingStationServiceTest {
     @Mock
     private OpenStreetMapService osmService;
 
+    @Spy
+    private StationSpatialIndex spatialIndex = new StationSpatialIndex(0.1);
+
+    @Mock
+    private Outbox outbox;
+
+    @Spy
+    private OperatorStationCache operatorStations = new OperatorStationCache(new SimpleMeterRegistry(), 100);
+
     @InjectMocks
     private ChargingStationService service;
 
@@ -76,7 +96,7 @@ class ChargingStationServiceTest {
 
     @Test
     void testGetStationById_Found() {
-        when(stationRepo.findById(1L)).thenReturn(Optional.of(station));
+        when(stationRepo.findWithOutletsById(1L)).thenReturn(Optional.of(station));
         
         ChargingStation result = service.getStationById(1L);
         assertNotNull(result);
@@ -85,66 +105,106 @@ class ChargingStationServiceTest {
 
     @Test
     void testGetStationById_NotFound() {
-        when(stationRepo.findById(1L)).thenReturn(Optional.empty());
+        when(stationRepo.findWithOutletsById(1L)).thenReturn(Optional.empty());
         
         assertThrows(RuntimeException.class, () -> service.getStationById(1L));
-        verify(stationRepo).findById(1L);
+        verify(stationRepo).findWithOutletsById(1L);
     }
 
     @Test
-    void testGetAllStations() {
-        when(stationRepo.findAll()).thenReturn(List.of(station));
+    void testGetStations() {
+        when(stationRepo.findSummariesAfter(eq(0L), any())).thenReturn(List.of(summary(station)));
         
-        List<ChargingStation> result = service.getAllStations();
-        assertEquals(1, result.size());
-        assertEquals(1L, result.get(0).getId());
+        KeysetPage<StationSummary> result = service.getStations(new Keyset(0L, 10));
+        assertEquals(1, result.items().size());
+        assertEquals(1L, result.items().get(0).id());
+        assertNull(result.nextCursor());
     }
 
     @Test
     void testGetAvailableStationsNear() {
-        ChargingStation occupiedStation = new ChargingStation();
-        occupiedStation.setId(2L);
-        occupiedStation.setLatitude(38.7224);
-        occupiedStation.setLongitude(-9.1394);
-        occupiedStation.setStatus(ChargingStationStatus.OCCUPIED);
+        StationSummary occupied = new StationSummary(2L, 38.7224, -9.1394, ChargingStationStatus.OCCUPIED, 1L, 0L);
+        when(stationRepo.findSummariesWithinBoundingBox(anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+            .thenReturn(List.of(summary(station), occupied));
 
-        when(stationRepo.findAll()).thenReturn(List.of(station, occupiedStation));
-        
-        List<ChargingStation> result = service.getAvailableStationsNear(38.7223, -9.1393, 1.0);
+        List<StationSummary> result = service.getStationSummariesNear(38.7223, -9.1393, 1.0, ChargingStationStatus.AVAILABLE);
         assertEquals(1, result.size());
-        assertEquals(1L, result.get(0).getId());
+        assertEquals(1L, result.get(0).id());
     }
 
     @Test
     void testGetStationsNear() {
+        StationSummary far = new StationSummary(2L, 48.8566, 2.3522, null, 1L, 0L);
+        when(stationRepo.findSummariesWithinBoundingBox(anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+            .thenReturn(List.of(summary(station), far));
+
+        List<StationSummary> result = service.getStationSummariesNear(38.7223, -9.1393, 10.0, null);
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).id());
+        verify(stationRepo, never()).findAll();
+    }
+
+    @Test
+    void testGetStationsNear_UsesSpatialIndexOnceLoaded() {
         ChargingStation farStation = new ChargingStation();
         farStation.setId(2L);
         farStation.setLatitude(48.8566);
         farStation.setLongitude(2.3522);
 
         when(stationRepo.findAll()).thenReturn(List.of(station, farStation));
-        
-        List<ChargingStation> result = service.getStationsNear(38.7223, -9.1393, 10.0);
+        when(stationRepo.findSummariesByIdIn(List.of(1L))).thenReturn(List.of(summary(station)));
+        service.loadSpatialIndex();
+
+        List<StationSummary> result = service.getStationSummariesNear(38.7223, -9.1393, 10.0, null);
         assertEquals(1, result.size());
-        assertEquals(1L, result.get(0).getId());
+        assertEquals(1L, result.get(0).id());
+        verify(stationRepo, never()).findSummariesWithinBoundingBox(anyDouble(), anyDouble(), anyDouble(), anyDouble());
+    }
+
+    @Test
+    void testGetStationSummariesNear_FiltersBoundingBoxCandidates() {
+        StationSummary far = new StationSummary(2L, 48.8566, 2.3522, ChargingStationStatus.AVAILABLE, 1L, 0L);
+        StationSummary occupied = new StationSummary(3L, 38.7224, -9.1394, ChargingStationStatus.OCCUPIED, 1L, 0L);
+        when(stationRepo.findSummariesWithinBoundingBox(anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+            .thenReturn(List.of(summary(station), far, occupied));
+
+        List<StationSummary> result = service.getStationSummariesNear(38.7223, -9.1393, 10.0, ChargingStationStatus.AVAILABLE);
+        assertEquals(List.of(1L), result.stream().map(StationSummary::id).toList());
     }
 
     @Test
     void testGetStationsByOperator_Exists() {
-        when(operatorRepo.existsById(1L)).thenReturn(true);
-        when(stationRepo.findAll()).thenReturn(List.of(station));
+        when(stationRepo.findSummariesByOperatorId(eq(1L), eq(0L), any())).thenReturn(List.of(summary(station)));
         
-        List<ChargingStation> result = service.getStationsByOperator(1L);
-        assertEquals(1, result.size());
-        assertEquals(1L, result.get(0).getId());
+        KeysetPage<StationSummary> result = service.getStationsByOperator(1L, new Keyset(0, 10));
+        assertEquals(1, result.items().size());
+        assertEquals(1L, result.items().get(0).id());
+        assertNull(result.nextCursor());
     }
 
     @Test
     void testGetStationsByOperator_NotExists() {
-        when(operatorRepo.existsById(1L)).thenReturn(false);
+        when(stationRepo.findSummariesByOperatorId(eq(1L), eq(0L), any())).thenReturn(List.of());
         
-        List<ChargingStation> result = service.getStationsByOperator(1L);
-        assertTrue(result.isEmpty());
+        KeysetPage<StationSummary> result = service.getStationsByOperator(1L, new Keyset(0, 10));
+        assertTrue(result.items().isEmpty());
+    }
+
+    @Test
+    void testGetStationsByOperator_CachedUntilInvalidated() {
+        when(stationRepo.findSummariesByOperatorId(eq(1L), eq(0L), any())).thenReturn(List.of(summary(station)));
+
+        service.getStationsByOperator(1L, new Keyset(0, 10));
+        service.getStationsByOperator(1L, new Keyset(0, 10));
+        verify(stationRepo, times(1)).findSummariesByOperatorId(eq(1L), eq(0L), any());
+
+        // Another page size is another page
+        service.getStationsByOperator(1L, new Keyset(0, 5));
+        verify(stationRepo, times(2)).findSummariesByOperatorId(eq(1L), eq(0L), any());
+
+        operatorStations.invalidate(1L);
+        service.getStationsByOperator(1L, new Keyset(0, 10));
+        verify(stationRepo, times(3)).findSummariesByOperatorId(eq(1L), eq(0L), any());
     }
 
     @Test
@@ -219,6 +279,7 @@ class ChargingStationServiceTest {
         
         ChargingStation result = service.updateChargingStationStatus(1L, ChargingStationStatus.OCCUPIED);
         assertEquals(ChargingStationStatus.OCCUPIED, result.getStatus());
+        verify(outbox).station(station, DomainEvent.STATION_STATUS_CHANGED);
     }
 
     @Test
@@ -228,6 +289,7 @@ class ChargingStationServiceTest {
         boolean result = service.deleteChargingStation(1L);
         assertTrue(result);
         verify(stationRepo).delete(station);
+        verify(outbox).station(station, DomainEvent.STATION_DELETED);
     }
 
     @Test
@@ -261,4 +323,9 @@ class ChargingStationServiceTest {
         assertNotNull(result);
         assertFalse(result.getChargingOutlets().contains(outlet));
     }
-}
\ No newline at end of file
+
+    private static StationSummary summary(ChargingStation s) {
+        return new StationSummary(s.getId(), s.getLatitude(), s.getLongitude(), s.getStatus(),
+            s.getOperator() == null ? null : s.getOperator().getId(), (long) s.getChargingOutlets().size());
+    }
+}
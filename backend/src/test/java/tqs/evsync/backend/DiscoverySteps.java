@@ -5,7 +5,7 @@ import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
 import static org.junit.jupiter.api.Assertions.*;
 import org.springframework.beans.factory.annotation.Autowired;
-import tqs.evsync.backend.model.ChargingStation;
+import tqs.evsync.backend.dto.StationSummary;
 import tqs.evsync.backend.model.enums.ChargingStationStatus;
 import tqs.evsync.backend.service.ChargingStationService;
 import java.util.List;
@@ -15,7 +15,7 @@ public class DiscoverySteps {
     @Autowired
     private ChargingStationService chargingStationService;
     
-    private List<ChargingStation> foundStations;
+    private List<StationSummary> foundStations;
     private Exception searchError;
 
     @Given("the user Joana is logged in")
@@ -33,10 +33,11 @@ public class DiscoverySteps {
     @When("Joana searches for charging stations near latitude {string} and longitude {string} within {string} km")
     public void search_near_location(String lat, String lon, String distance) {
         try {
-            foundStations = chargingStationService.getStationsNear(
+            foundStations = chargingStationService.getStationSummariesNear(
                 Double.parseDouble(lat),
                 Double.parseDouble(lon),
-                Double.parseDouble(distance)
+                Double.parseDouble(distance),
+                null
             );
         } catch (Exception e) {
             searchError = e;
@@ -58,9 +59,9 @@ public class DiscoverySteps {
         
         boolean found = foundStations.stream()
             .anyMatch(s -> 
-                s.getId().equals(id) && 
-                s.getLatitude() == lat && 
-                s.getLongitude() == lon);
+                s.id().equals(id) && 
+                s.latitude() == lat && 
+                s.longitude() == lon);
         
         assertTrue(found, "Station " + id + " not found at " + coordinates);
     }
@@ -68,7 +69,7 @@ public class DiscoverySteps {
     @Then("the list should not contain any occupied stations")
     public void verify_no_occupied_stations() {
         boolean anyOccupied = foundStations.stream()
-            .anyMatch(s -> s.getStatus() != ChargingStationStatus.AVAILABLE);
+            .anyMatch(s -> s.status() != ChargingStationStatus.AVAILABLE);
         
         assertFalse(anyOccupied, "Found occupied stations in results");
     }
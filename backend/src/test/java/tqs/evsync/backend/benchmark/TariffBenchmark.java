@@ -0,0 +1,67 @@
+package tqs.evsync.backend.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import tqs.evsync.backend.dto.TariffDefinition;
+import tqs.evsync.backend.dto.TariffDefinition.Band;
+import tqs.evsync.backend.pricing.Tariff;
+
+/**
+ * Pricing cost of a compiled tariff. Not part of the test suite; run {@link #main} from the
+ * test classpath, adding {@code -prof gc} to the JMH arguments to check the allocation rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TariffBenchmark {
+
+    private Tariff tariff;
+    private LocalDateTime start;
+    private long minutes;
+
+    @Setup
+    public void setUp() {
+        tariff = Tariff.compile(new TariffDefinition(6.0, 0.3, 0.5, 10, List.of(
+            new Band(22 * 60, 6 * 60, 3.0),
+            new Band(7 * 60, 9 * 60, 9.0),
+            new Band(18 * 60, 20 * 60, 12.0))));
+        start = LocalDateTime.parse("2025-06-01T17:43:00");
+        minutes = 3 * Tariff.MINUTES_PER_DAY + 517;
+    }
+
+    @Benchmark
+    public double priceSession() {
+        return tariff.price(start, minutes, 42.5, 25);
+    }
+
+    @Benchmark
+    public double reservationFee() {
+        return tariff.reservationFee(start, 90);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(TariffBenchmark.class.getSimpleName())
+            .addProfiler("gc")
+            .build()).run();
+    }
+}
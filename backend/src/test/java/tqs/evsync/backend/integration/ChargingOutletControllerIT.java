@@ -17,6 +17,13 @@ import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
 import tqs.evsync.backend.model.ChargingOutlet;
 import tqs.evsync.backend.model.ChargingStation;
 import tqs.evsync.backend.model.Operator;
@@ -24,6 +31,8 @@ import tqs.evsync.backend.model.enums.OperatorType;
 import tqs.evsync.backend.repository.ChargingOutletRepository;
 import tqs.evsync.backend.repository.ChargingStationRepository;
 import tqs.evsync.backend.repository.OperatorRepository;
+import tqs.evsync.backend.repository.TariffBandRepository;
+import tqs.evsync.backend.service.TariffService;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
@@ -45,6 +54,12 @@ public class ChargingOutletControllerIT {
     @Autowired
     private OperatorRepository operatorRepository;
 
+    @Autowired
+    private TariffBandRepository tariffBandRepository;
+
+    @Autowired
+    private TariffService tariffService;
+
     private Long stationId;
     private Long outletId;
 
@@ -75,6 +90,7 @@ public class ChargingOutletControllerIT {
 
     @AfterEach
     void tearDown() {
+        tariffBandRepository.deleteAll();
         outletRepository.deleteAll();
         stationRepository.deleteAll();
         operatorRepository.deleteAll();
@@ -89,7 +105,7 @@ public class ChargingOutletControllerIT {
         newOutlet.setMaxPower(11);
         newOutlet.setAvailable(true);
         
-        ChargingStation station = stationRepository.findById(stationId).orElseThrow();
+        ChargingStation station = stationRepository.findWithOutletsById(stationId).orElseThrow();
         station.addChargingOutlet(newOutlet);
         newOutlet.setChargingStation(station);
         
@@ -148,4 +164,48 @@ public class ChargingOutletControllerIT {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testUpdateTariffRecompilesPricing() throws Exception {
+        assertThat(tariffService.tariffFor(outletId).timeCost(LocalDateTime.parse("2025-06-01T20:00:00"), 60)).isZero();
+
+        Map<String, Object> tariff = Map.of(
+                "costPerHour", 6.0,
+                "pricePerKwh", 0.25,
+                "idleFeePerMinute", 0.5,
+                "idleGraceMinutes", 10,
+                "bands", List.of(Map.of("startMinute", 18 * 60, "endMinute", 22 * 60, "costPerHour", 12.0)));
+
+        mockMvc.perform(put("/api/outlets/" + outletId + "/tariff")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(tariff)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/outlets/" + outletId + "/tariff"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pricePerKwh").value(0.25))
+                .andExpect(jsonPath("$.bands.length()").value(1))
+                .andExpect(jsonPath("$.bands[0].costPerHour").value(12.0));
+
+        // 21:00-23:00 is one peak hour and one base hour, plus 10 kWh and 5 idle minutes past the grace period
+        double price = tariffService.tariffFor(outletId).price(LocalDateTime.parse("2025-06-01T21:00:00"), 120, 10.0, 15);
+        assertThat(price).isCloseTo(12.0 + 6.0 + 2.5 + 2.5, within(1e-9));
+    }
+
+    @Test
+    void testUpdateTariffRejectsInvalidBand() throws Exception {
+        Map<String, Object> tariff = Map.of(
+                "costPerHour", 6.0,
+                "bands", List.of(Map.of("startMinute", 60, "endMinute", 60, "costPerHour", 12.0)));
+
+        mockMvc.perform(put("/api/outlets/" + outletId + "/tariff")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(tariff)))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(put("/api/outlets/999999/tariff")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("costPerHour", 6.0))))
+                .andExpect(status().isNotFound());
+    }
+}
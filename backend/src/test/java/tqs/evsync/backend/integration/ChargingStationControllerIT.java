@@ -22,6 +22,7 @@ import tqs.evsync.backend.model.ChargingStation;
 import tqs.evsync.backend.model.Operator;
 import tqs.evsync.backend.model.enums.ChargingStationStatus;
 import tqs.evsync.backend.model.enums.OperatorType;
+import tqs.evsync.backend.paging.KeysetPage;
 import tqs.evsync.backend.repository.ChargingOutletRepository;
 import tqs.evsync.backend.repository.ChargingStationRepository;
 import tqs.evsync.backend.repository.OperatorRepository;
@@ -125,6 +126,34 @@ public class ChargingStationControllerIT {
             .andExpect(jsonPath("$[0].status").value("AVAILABLE"));
     }
 
+    @Test
+    void testGetNearestStations() throws Exception {
+        ChargingStation farther = new ChargingStation();
+        farther.setLatitude(40.70);
+        farther.setLongitude(-8.65);
+        farther.setOperator(operatorRepo.findById(operatorId).orElseThrow());
+        farther.setStatus(ChargingStationStatus.OCCUPIED);
+        Long fartherId = stationRepo.save(farther).getId();
+
+        mockMvc.perform(get("/charging-station/nearest/40.64/-8.65?k=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].id").value(stationId))
+            .andExpect(jsonPath("$[1].id").value(fartherId))
+            .andExpect(jsonPath("$[1].distanceKm").isNumber());
+
+        mockMvc.perform(get("/charging-station/nearest/40.69/-8.65?k=1&status=AVAILABLE"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].id").value(stationId));
+    }
+
+    @Test
+    void testGetNearestStations_InvalidK() throws Exception {
+        mockMvc.perform(get("/charging-station/nearest/40.64/-8.65?k=0"))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testGetStationsByOperator() throws Exception {
         mockMvc.perform(get("/charging-station/operator/" + operatorId))
@@ -132,6 +161,82 @@ public class ChargingStationControllerIT {
                 .andExpect(jsonPath("$[0].id").value(stationId));
     }
 
+    @Test
+    void testGetStationsByOperator_PagedAndRefreshedOnWrites() throws Exception {
+        mockMvc.perform(get("/charging-station/operator/" + operatorId))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].outletCount").value(1));
+
+        ChargingStation newStation = new ChargingStation();
+        newStation.setLatitude(41.15);
+        newStation.setLongitude(-8.61);
+        newStation.setStatus(ChargingStationStatus.AVAILABLE);
+        Operator operator = new Operator();
+        operator.setId(operatorId);
+        newStation.setOperator(operator);
+        MvcResult added = mockMvc.perform(post("/charging-station")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(newStation)))
+                .andExpect(status().isOk())
+                .andReturn();
+        long newStationId = objectMapper.readTree(added.getResponse().getContentAsString()).get("id").asLong();
+
+        // The cached list picks up the new station, one page at a time
+        String cursor = mockMvc.perform(get("/charging-station/operator/" + operatorId + "?limit=1"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(stationId))
+                .andExpect(header().exists(KeysetPage.NEXT_CURSOR_HEADER))
+                .andReturn().getResponse().getHeader(KeysetPage.NEXT_CURSOR_HEADER);
+        mockMvc.perform(get("/charging-station/operator/" + operatorId + "?limit=1&cursor=" + cursor))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(newStationId))
+                .andExpect(header().doesNotExist(KeysetPage.NEXT_CURSOR_HEADER));
+
+        ChargingOutlet outletToRemove = new ChargingOutlet();
+        outletToRemove.setId(outletId);
+        mockMvc.perform(put("/charging-station/" + stationId + "/remove-charging-outlet")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(outletToRemove)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/charging-station/" + newStationId))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/charging-station/operator/" + operatorId))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(stationId))
+                .andExpect(jsonPath("$[0].outletCount").value(0));
+    }
+
+    @Test
+    void testGetStationsByOperator_RefreshedWhenAnOutletMovesToAnotherOperator() throws Exception {
+        Operator other = new Operator();
+        other.setEmail("station_test_other@example.com");
+        other.setPassword("1234");
+        other.setOperatorType(OperatorType.OPERATOR);
+        other = operatorRepo.save(other);
+        ChargingStation otherStation = new ChargingStation();
+        otherStation.setLatitude(41.15);
+        otherStation.setLongitude(-8.61);
+        otherStation.setOperator(other);
+        otherStation.setStatus(ChargingStationStatus.AVAILABLE);
+        otherStation = stationRepo.save(otherStation);
+
+        mockMvc.perform(get("/charging-station/operator/" + operatorId))
+                .andExpect(jsonPath("$[0].outletCount").value(1));
+        mockMvc.perform(get("/charging-station/operator/" + other.getId()))
+                .andExpect(jsonPath("$[0].outletCount").value(0));
+
+        mockMvc.perform(put("/charging-station/" + otherStation.getId() + "/add-charging-outlet")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\": " + outletId + "}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/charging-station/operator/" + operatorId))
+                .andExpect(jsonPath("$[0].outletCount").value(0));
+        mockMvc.perform(get("/charging-station/operator/" + other.getId()))
+                .andExpect(jsonPath("$[0].outletCount").value(1));
+    }
+
     @Test
     void testGetStationsByOperator_NotFound() throws Exception {
         mockMvc.perform(get("/charging-station/operator/999999"))
@@ -150,7 +255,7 @@ public class ChargingStationControllerIT {
         ChargingOutlet newOutlet = new ChargingOutlet();
         newOutlet.setMaxPower(11);
         newOutlet.setAvailable(true);
-        ChargingStation station = stationRepo.findById(stationId).orElseThrow();
+        ChargingStation station = stationRepo.findWithOutletsById(stationId).orElseThrow();
         station.addChargingOutlet(newOutlet);
         newOutlet.setChargingStation(station);
 
@@ -144,6 +144,20 @@ public class ConsumerControllerIT {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void testAddToWallet_AmountUnderHalfACent() throws Exception {
+        mockMvc.perform(put("/api/consumers/{id}/wallet?amount=0.004", consumerId))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testAddToWallet_NotFound() throws Exception {
+        mockMvc.perform(put("/api/consumers/{id}/wallet?amount=10.0", 999999L))
+                .andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void testGetWalletBalance_Success() throws Exception {
         mockMvc.perform(get("/api/consumers/{id}/wallet", consumerId))
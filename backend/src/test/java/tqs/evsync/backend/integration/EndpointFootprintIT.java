@@ -0,0 +1,161 @@
+package tqs.evsync.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import jakarta.persistence.EntityManagerFactory;
+import tqs.evsync.backend.model.ChargingOutlet;
+import tqs.evsync.backend.model.ChargingStation;
+import tqs.evsync.backend.model.Consumer;
+import tqs.evsync.backend.model.Operator;
+import tqs.evsync.backend.model.enums.ChargingStationStatus;
+import tqs.evsync.backend.model.enums.OperatorType;
+import tqs.evsync.backend.repository.ChargingOutletRepository;
+import tqs.evsync.backend.repository.ChargingStationRepository;
+import tqs.evsync.backend.repository.ConsumerRepository;
+import tqs.evsync.backend.repository.OperatorRepository;
+import tqs.evsync.backend.repository.ReservationRepository;
+import tqs.evsync.backend.service.ReservationService;
+
+// Statistics are global, so the background jobs are slowed down to keep them out of the counts
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "evsync.settlement.interval-ms=3600000",
+    "evsync.sessions.reaper-interval-ms=3600000",
+    "evsync.reservations.expiry-tick-ms=3600000",
+    "evsync.meter.flush-interval-ms=3600000",
+    "evsync.outbox.relay-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class EndpointFootprintIT {
+
+    private static final int STATIONS = 20;
+    private static final int OUTLETS_PER_STATION = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private OperatorRepository operatorRepo;
+
+    @Autowired
+    private ChargingStationRepository stationRepo;
+
+    @Autowired
+    private ChargingOutletRepository outletRepo;
+
+    @Autowired
+    private ConsumerRepository consumerRepo;
+
+    @Autowired
+    private ReservationRepository reservationRepo;
+
+    private Long operatorId;
+    private Long stationId;
+    private Long reservationId;
+
+    @BeforeEach
+    void setup() {
+        Operator operator = new Operator();
+        operator.setEmail("footprint_op@example.com");
+        operator.setPassword("1234");
+        operator.setOperatorType(OperatorType.OPERATOR);
+        operatorId = operatorRepo.save(operator).getId();
+
+        for (int i = 0; i < STATIONS; i++) {
+            ChargingStation station = new ChargingStation();
+            station.setLatitude(40.60 + i * 0.002);
+            station.setLongitude(-8.65);
+            station.setStatus(ChargingStationStatus.AVAILABLE);
+            station.setOperator(operator);
+            station = stationRepo.save(station);
+            if (stationId == null) {
+                stationId = station.getId();
+            }
+            for (int j = 0; j < OUTLETS_PER_STATION; j++) {
+                ChargingOutlet outlet = new ChargingOutlet();
+                outlet.setMaxPower(22);
+                outlet.setCostPerHour(10.0);
+                outlet.setChargingStation(station);
+                outletRepo.save(outlet);
+            }
+        }
+
+        Consumer consumer = new Consumer();
+        consumer.setEmail("footprint@example.com");
+        consumer.setPassword("1234");
+        Long consumerId = consumerRepo.save(consumer).getId();
+        reservationId = reservationService.createReservation(consumerId, stationId, "2031-01-01T10:00:00", 1.0).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationRepo.deleteAll();
+        outletRepo.deleteAll();
+        stationRepo.deleteAll();
+        operatorRepo.deleteAll();
+        consumerRepo.deleteAll();
+    }
+
+    private String measure(String url, long maxStatements) throws Exception {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        String body = mockMvc.perform(get(url)).andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        assertThat(stats.getPrepareStatementCount())
+            .as("statements issued by %s", url)
+            .isLessThanOrEqualTo(maxStatements);
+        return body;
+    }
+
+    @Test
+    void testListEndpointsDoNotScaleQueriesWithStations() throws Exception {
+        // With eager outlets each of these used one extra query per station (25 for 20 stations)
+        assertThat(measure("/charging-station", 1)).doesNotContain("chargingOutlets");
+        measure("/charging-station/nearby/40.62/-8.65/5", 1);
+        measure("/charging-station/available-nearby/40.62/-8.65/5", 1);
+        measure("/charging-station/nearest/40.62/-8.65?k=10", 1);
+        measure("/charging-station/operator/" + operatorId, 1);
+        // Served from the operator station cache
+        measure("/charging-station/operator/" + operatorId, 0);
+    }
+
+    @Test
+    void testStationDetailFetchesOutletsWithTheStation() throws Exception {
+        mockMvc.perform(get("/charging-station/" + stationId))
+            .andExpect(jsonPath("$.chargingOutlets.length()").value(OUTLETS_PER_STATION));
+        measure("/charging-station/" + stationId, 2);
+    }
+
+    @Test
+    void testListAndReservationBodiesCarryOnlyIdentifiers() throws Exception {
+        mockMvc.perform(get("/charging-station"))
+            .andExpect(jsonPath("$.length()").value(STATIONS))
+            .andExpect(jsonPath("$[0].operator.id").value(operatorId))
+            .andExpect(jsonPath("$[0].outletCount").value(OUTLETS_PER_STATION));
+
+        String reservation = measure("/api/reservations/" + reservationId, 1);
+        assertThat(reservation).doesNotContain("password").contains("\"stationId\":" + stationId);
+        assertThat(measure("/charging-station", 1)).doesNotContain("password");
+    }
+}
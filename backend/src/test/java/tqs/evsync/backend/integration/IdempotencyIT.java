@@ -0,0 +1,173 @@
+package tqs.evsync.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import tqs.evsync.backend.idempotency.IdempotencyFilter;
+import tqs.evsync.backend.model.ChargingOutlet;
+import tqs.evsync.backend.model.ChargingStation;
+import tqs.evsync.backend.model.Consumer;
+import tqs.evsync.backend.model.Operator;
+import tqs.evsync.backend.model.enums.OperatorType;
+import tqs.evsync.backend.repository.ChargingOutletRepository;
+import tqs.evsync.backend.repository.ChargingStationRepository;
+import tqs.evsync.backend.repository.ConsumerRepository;
+import tqs.evsync.backend.repository.OperatorRepository;
+import tqs.evsync.backend.repository.ReservationRepository;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class IdempotencyIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConsumerRepository consumerRepo;
+
+    @Autowired
+    private OperatorRepository operatorRepo;
+
+    @Autowired
+    private ChargingStationRepository stationRepo;
+
+    @Autowired
+    private ChargingOutletRepository outletRepo;
+
+    @Autowired
+    private ReservationRepository reservationRepo;
+
+    private Long consumerId;
+    private Long stationId;
+
+    @BeforeEach
+    void setup() {
+        Consumer consumer = new Consumer();
+        consumer.setEmail("idem@example.com");
+        consumer.setPassword("1234");
+        consumer.setWallet(100.0);
+        consumerId = consumerRepo.save(consumer).getId();
+
+        Operator operator = new Operator();
+        operator.setEmail("idem_op@example.com");
+        operator.setPassword("1234");
+        operator.setOperatorType(OperatorType.OPERATOR);
+        operator = operatorRepo.save(operator);
+
+        ChargingStation station = new ChargingStation();
+        station.setLatitude(40.63);
+        station.setLongitude(-8.65);
+        station.setOperator(operator);
+        station = stationRepo.save(station);
+        stationId = station.getId();
+
+        ChargingOutlet outlet = new ChargingOutlet();
+        outlet.setMaxPower(22);
+        outlet.setChargingStation(station);
+        outletRepo.save(outlet);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationRepo.deleteAll();
+        outletRepo.deleteAll();
+        stationRepo.deleteAll();
+        operatorRepo.deleteAll();
+        consumerRepo.deleteAll();
+    }
+
+    @Test
+    void testRetriedReservationIsCreatedOnce() throws Exception {
+        String first = mockMvc.perform(post("/api/reservations")
+                .header(IdempotencyFilter.HEADER, "res-1")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("consumerId", consumerId.toString())
+                .param("stationId", stationId.toString())
+                .param("startTime", "2030-02-01T09:00:00")
+                .param("duration", "1.0"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String retry = mockMvc.perform(post("/api/reservations")
+                .header(IdempotencyFilter.HEADER, "res-1")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("consumerId", consumerId.toString())
+                .param("stationId", stationId.toString())
+                .param("startTime", "2030-02-01T09:00:00")
+                .param("duration", "1.0"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(retry).isEqualTo(first);
+        assertThat(reservationRepo.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testRetriedTopUpCreditsOnce() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(put("/api/consumers/{id}/wallet?amount=25.0", consumerId)
+                    .header(IdempotencyFilter.HEADER, "topup-1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.wallet").value(125.0));
+        }
+
+        assertThat(consumerRepo.findById(consumerId).orElseThrow().getWallet()).isEqualTo(125.0);
+    }
+
+    @Test
+    void testKeyReusedForDifferentRequestRejected() throws Exception {
+        mockMvc.perform(put("/api/consumers/{id}/wallet?amount=25.0", consumerId)
+                .header(IdempotencyFilter.HEADER, "topup-2"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/consumers/{id}/wallet?amount=30.0", consumerId)
+                .header(IdempotencyFilter.HEADER, "topup-2"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void testKeyReusedForDifferentBodyRejected() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/operators")
+                    .header(IdempotencyFilter.HEADER, "operator-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"email\": \"idem_op2@example.com\", \"password\": \"1234\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.email").value("idem_op2@example.com"));
+        }
+
+        mockMvc.perform(post("/api/operators")
+                .header(IdempotencyFilter.HEADER, "operator-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"idem_op3@example.com\", \"password\": \"1234\"}"))
+                .andExpect(status().isUnprocessableEntity());
+
+        assertThat(operatorRepo.count()).isEqualTo(2);
+    }
+
+    @Test
+    void testRequestsWithoutKeyAreNotDeduplicated() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(put("/api/consumers/{id}/wallet?amount=10.0", consumerId))
+                    .andExpect(status().isOk());
+        }
+
+        assertThat(consumerRepo.findById(consumerId).orElseThrow().getWallet()).isEqualTo(120.0);
+    }
+}
@@ -0,0 +1,157 @@
+package tqs.evsync.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Picks up a database created by the first release the way the mysql profile does, by
+ * baselining it at V1 and migrating, and checks it ends up with the same schema as a
+ * database migrated from empty and with its data carried over.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class LegacySchemaMigrationIT {
+
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    private JdbcTemplate legacy;
+    private JdbcTemplate fresh;
+
+    @BeforeEach
+    void databases() {
+        JdbcTemplate root = new JdbcTemplate(dataSource(mysql.getDatabaseName()));
+        for (String name : List.of("legacy", "fresh")) {
+            root.execute("drop database if exists " + name);
+            root.execute("create database " + name);
+        }
+        DataSource legacySource = dataSource("legacy");
+        new ResourceDatabasePopulator(new ClassPathResource("legacy_schema.sql", getClass())).execute(legacySource);
+        legacy = new JdbcTemplate(legacySource);
+        fresh = new JdbcTemplate(dataSource("fresh"));
+    }
+
+    private static DataSource dataSource(String database) {
+        return new DriverManagerDataSource("jdbc:mysql://" + mysql.getHost() + ":" + mysql.getMappedPort(MySQLContainer.MYSQL_PORT)
+            + "/" + database, "root", mysql.getPassword());
+    }
+
+    // Same settings as application-mysql.properties
+    private static void migrate(JdbcTemplate jdbc) {
+        Flyway.configure()
+            .dataSource(jdbc.getDataSource())
+            .baselineOnMigrate(true)
+            .baselineVersion("1")
+            .load()
+            .migrate();
+    }
+
+    /**
+     * Columns, indexes and foreign keys, one line each, leaving out Flyway's history table.
+     */
+    private static List<String> schema(JdbcTemplate jdbc) {
+        List<String> schema = new ArrayList<>();
+        schema.addAll(jdbc.queryForList(
+            "select concat(table_name, '.', column_name, ' ', column_type, ' ', is_nullable) from information_schema.columns "
+          + "where table_schema = database() and table_name <> 'flyway_schema_history'", String.class));
+        schema.addAll(jdbc.queryForList(
+            "select concat(table_name, ' index ', index_name, ' (', group_concat(column_name order by seq_in_index), ')') "
+          + "from information_schema.statistics where table_schema = database() and table_name <> 'flyway_schema_history' "
+          + "group by table_name, index_name", String.class));
+        schema.addAll(jdbc.queryForList(
+            "select concat(table_name, ' fk ', constraint_name, ' -> ', referenced_table_name) "
+          + "from information_schema.referential_constraints where constraint_schema = database()", String.class));
+        schema.sort(null);
+        return schema;
+    }
+
+    @Test
+    void testLegacyDatabaseEndsUpWithTheMigratedSchema() {
+        migrate(fresh);
+        migrate(legacy);
+
+        assertThat(schema(legacy)).containsExactlyElementsOf(schema(fresh));
+        assertThat(legacy.queryForList("select version from flyway_schema_history order by installed_rank", String.class))
+            .startsWith("1", "1.1", "1.2", "1.3");
+    }
+
+    @Test
+    void testWalletBalancesMoveIntoCentsAndTheLedger() {
+        legacy.update("insert into app_user (id, user_type, email, password) values "
+            + "(1, 'CONSUMER', 'a@example.com', '1234'), (2, 'CONSUMER', 'b@example.com', '1234'), "
+            + "(3, 'CONSUMER', 'c@example.com', '1234')");
+        legacy.update("insert into consumer (id, wallet) values (1, 12.34), (2, 0), (3, 0.29)");
+
+        migrate(legacy);
+
+        assertThat(legacy.queryForList("select wallet_cents from consumer order by id", Long.class))
+            .containsExactly(1234L, 0L, 29L);
+        assertThat(legacy.queryForList("select consumer_id from wallet_transaction where type = 'OPENING' order by consumer_id",
+            Long.class)).containsExactly(1L, 3L);
+        for (long consumer = 1; consumer <= 3; consumer++) {
+            // What WalletService.ledgerBalanceCents reads: the latest snapshot plus the entries after it
+            Long ledger = legacy.queryForObject("select coalesce((select s.balance_cents from wallet_snapshot s "
+                + "where s.consumer_id = ? order by s.last_transaction_id desc limit 1), 0) + coalesce((select sum(t.amount_cents) "
+                + "from wallet_transaction t where t.consumer_id = ? and t.id > coalesce((select max(s.last_transaction_id) "
+                + "from wallet_snapshot s where s.consumer_id = ?), 0)), 0)", Long.class, consumer, consumer, consumer);
+            assertThat(ledger).isEqualTo(legacy.queryForObject("select wallet_cents from consumer where id = ?", Long.class, consumer));
+        }
+
+        // New consumers no longer trip over the legacy column's missing default
+        legacy.update("insert into app_user (id, user_type, email, password) values (4, 'CONSUMER', 'd@example.com', '1234')");
+        legacy.update("insert into consumer (id, wallet_cents) values (4, 0)");
+    }
+
+    @Test
+    void testReservationTimesAreReadFromTheLegacyStartTime() {
+        legacy.update("insert into reservation (id, start_time, duration, reservation_fee, status) values "
+            + "(1, '2025-05-20T10:00', 1.5, 0, 'CONFIRMED'), (2, '2025-05-21T08:15:30', null, 0, 'PENDING'), "
+            + "(3, 'tomorrow', 1, 0, 'CANCELLED')");
+
+        migrate(legacy);
+
+        assertThat(legacy.queryForList("select start_at from reservation order by id", LocalDateTime.class))
+            .containsExactly(LocalDateTime.of(2025, 5, 20, 10, 0), LocalDateTime.of(2025, 5, 21, 8, 15, 30), null);
+        assertThat(legacy.queryForList("select end_at from reservation order by id", LocalDateTime.class))
+            .containsExactly(LocalDateTime.of(2025, 5, 20, 11, 30), null, null);
+        assertThat(legacy.queryForObject("select count(*) from reservation where created_at is null", Integer.class)).isZero();
+    }
+
+    @Test
+    void testUnreadableStartTimeOfALiveReservationStopsTheMigration() {
+        legacy.update("insert into reservation (id, start_time, duration, reservation_fee, status) "
+            + "values (1, 'tomorrow', 1, 0, 'PENDING')");
+
+        assertThatThrownBy(() -> migrate(legacy)).rootCause().hasMessageContaining("reservations [1]");
+        // Left in place to be corrected
+        assertThat(legacy.queryForObject("select start_time from reservation where id = 1", String.class)).isEqualTo("tomorrow");
+    }
+
+    @Test
+    void testSessionsChargedBeforeSettlementExistedAreNotSettledAgain() {
+        legacy.update("insert into charging_session (id, energy_consumed, total_cost, start_time, end_time, status) "
+            + "values (1, 10, 4.5, '2025-05-01 10:00:00', '2025-05-01 11:00:00', 'COMPLETED'), "
+            + "(2, 0, 0, '2025-05-01 10:00:00', null, 'ACTIVE')");
+
+        migrate(legacy);
+
+        assertThat(legacy.queryForList("select settlement_status from charging_session order by id", String.class))
+            .containsExactly("SETTLED", null);
+    }
+}
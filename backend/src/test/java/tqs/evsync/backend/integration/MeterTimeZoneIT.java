@@ -0,0 +1,104 @@
+package tqs.evsync.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import tqs.evsync.backend.dto.MeterSample;
+import tqs.evsync.backend.model.ChargingSession;
+import tqs.evsync.backend.model.MeterChunk;
+import tqs.evsync.backend.model.enums.ChargingSessionStatus;
+import tqs.evsync.backend.repository.ChargingSessionRepository;
+import tqs.evsync.backend.repository.MeterChunkRepository;
+import tqs.evsync.backend.service.MeterIngestionService;
+
+/**
+ * Runs the meter store against MySQL, whose datetime columns keep no zone, in a JVM whose
+ * default time zone is not UTC. The context and its connections are started in that zone.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "evsync.meter.flush-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+public class MeterTimeZoneIT {
+
+    private static TimeZone defaultZone;
+
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.datasource.driver-class-name", mysql::getDriverClassName);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQLDialect");
+    }
+
+    @Autowired
+    private MeterIngestionService meterIngestionService;
+
+    @Autowired
+    private MeterChunkRepository meterChunkRepo;
+
+    @Autowired
+    private ChargingSessionRepository sessionRepo;
+
+    @BeforeAll
+    static void tokyo() {
+        defaultZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+    }
+
+    @AfterAll
+    static void restore() {
+        TimeZone.setDefault(defaultZone);
+    }
+
+    @AfterEach
+    void tearDown() {
+        meterIngestionService.flushAll();
+        meterChunkRepo.deleteAll();
+        sessionRepo.deleteAll();
+    }
+
+    @Test
+    void testChunkBoundsAreStoredInUtc() {
+        ChargingSession session = new ChargingSession();
+        session.setStatus(ChargingSessionStatus.ACTIVE);
+        session.setStartTime(LocalDateTime.now());
+        Long sessionId = sessionRepo.save(session).getId();
+
+        meterIngestionService.ingest(List.of(
+                new MeterSample(sessionId, Instant.parse("2025-06-01T09:00:00Z"), 0.0, 11.0),
+                new MeterSample(sessionId, Instant.parse("2025-06-01T09:00:05Z"), 0.015, 11.2)));
+        meterIngestionService.flushAll();
+
+        MeterChunk chunk = meterChunkRepo.findAll().get(0);
+        assertThat(chunk.getStartAt()).isEqualTo(Instant.parse("2025-06-01T09:00:00Z"));
+        assertThat(chunk.getEndAt()).isEqualTo(Instant.parse("2025-06-01T09:00:05Z"));
+        // Read back from the stored chunk only when its bounds compare in UTC
+        assertThat(meterIngestionService.getSamples(sessionId,
+                Instant.parse("2025-06-01T09:00:00Z"), Instant.parse("2025-06-01T09:00:01Z"))).hasSize(1);
+    }
+}
@@ -0,0 +1,173 @@
+package tqs.evsync.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import tqs.evsync.backend.dto.StationSummary;
+import tqs.evsync.backend.model.ChargingStation;
+import tqs.evsync.backend.model.Operator;
+import tqs.evsync.backend.model.enums.OperatorType;
+import tqs.evsync.backend.paging.Keyset;
+import tqs.evsync.backend.repository.ChargingStationRepository;
+import tqs.evsync.backend.repository.OperatorRepository;
+import tqs.evsync.backend.routing.ReplicaRoutingDataSource;
+import tqs.evsync.backend.service.ChargingStationService;
+
+/**
+ * A MySQL primary with a real GTID replica behind it. Stopping the replica's SQL thread lets
+ * the heartbeat fall behind the way a slow replica would.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+    "evsync.datasource.replica-max-lag=1s",
+    "evsync.datasource.replica-check-interval-ms=200"
+})
+@ActiveProfiles("test")
+public class MySqlReplicaRoutingIT {
+
+    private static final Network network = Network.newNetwork();
+
+    @Container
+    private static final MySQLContainer<?> primary = new MySQLContainer<>("mysql:8.0")
+        .withNetwork(network)
+        .withNetworkAliases("primary")
+        .withCommand("--server-id=1", "--log-bin=mysql-bin", "--gtid-mode=ON", "--enforce-gtid-consistency=ON");
+
+    @Container
+    private static final MySQLContainer<?> replica = new MySQLContainer<>("mysql:8.0")
+        .withNetwork(network)
+        .withCommand("--server-id=2", "--gtid-mode=ON", "--enforce-gtid-consistency=ON");
+
+    @DynamicPropertySource
+    static void datasources(DynamicPropertyRegistry registry) throws SQLException {
+        // The containers create their schema with the binary log off, so the replica starts
+        // from the same empty database and only receives what the application writes
+        replicaSql("CHANGE REPLICATION SOURCE TO SOURCE_HOST = 'primary', SOURCE_PORT = 3306, "
+            + "SOURCE_USER = 'root', SOURCE_PASSWORD = '" + primary.getPassword() + "', "
+            + "SOURCE_AUTO_POSITION = 1, GET_SOURCE_PUBLIC_KEY = 1");
+        replicaSql("START REPLICA");
+
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("spring.datasource.driver-class-name", primary::getDriverClassName);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("evsync.datasource.replica-urls", replica::getJdbcUrl);
+    }
+
+    private static void replicaSql(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(replica.getJdbcUrl(), "root", replica.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    @Autowired
+    private ChargingStationService stationService;
+
+    @Autowired
+    private ChargingStationRepository stationRepo;
+
+    @Autowired
+    private OperatorRepository operatorRepo;
+
+    @Autowired
+    private ReplicaRoutingDataSource routing;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final JdbcTemplate replicaJdbc = new JdbcTemplate(
+        new DriverManagerDataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword()));
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        replicaSql("START REPLICA");
+        stationRepo.deleteAll();
+        operatorRepo.deleteAll();
+    }
+
+    private Long addStation(Operator operator, double latitude) {
+        ChargingStation station = new ChargingStation();
+        station.setLatitude(latitude);
+        station.setLongitude(-8.65);
+        station.setOperator(operator);
+        return stationRepo.save(station).getId();
+    }
+
+    private List<Long> listedStationIds() {
+        return stationService.getStations(new Keyset(0, 100)).items().stream().map(StationSummary::id).toList();
+    }
+
+    private boolean onReplica(Long stationId) {
+        return replicaJdbc.queryForObject("select count(*) from charging_station where id = ?", Integer.class, stationId) == 1;
+    }
+
+    private double reads(String target) {
+        return meterRegistry.get("evsync.datasource.reads").tag("target", target).counter().count();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("timed out").isLessThan(deadline);
+            Thread.sleep(100);
+        }
+    }
+
+    @Test
+    void testReadsFollowReplicaLag() throws Exception {
+        Operator operator = new Operator();
+        operator.setEmail("mysql_replica_op@example.com");
+        operator.setPassword("1234");
+        operator.setOperatorType(OperatorType.OPERATOR);
+        operator = operatorRepo.save(operator);
+
+        Long first = addStation(operator, 40.1);
+        awaitTrue(() -> routing.isFresh(0) && onReplica(first));
+
+        double replicaReads = reads("replica");
+        assertThat(listedStationIds()).containsExactly(first);
+        assertThat(reads("replica")).isEqualTo(replicaReads + 1);
+
+        // Replica stops applying changes: once the heartbeat is older than the allowed lag,
+        // reads go to the primary and see what the replica is missing
+        replicaSql("STOP REPLICA SQL_THREAD");
+        Long second = addStation(operator, 40.2);
+        awaitTrue(() -> !routing.isFresh(0));
+
+        double primaryReads = reads("primary");
+        assertThat(listedStationIds()).containsExactly(first, second);
+        assertThat(reads("primary")).isEqualTo(primaryReads + 1);
+        assertThat(onReplica(second)).isFalse();
+
+        replicaSql("START REPLICA SQL_THREAD");
+        awaitTrue(() -> routing.isFresh(0) && onReplica(second));
+
+        replicaReads = reads("replica");
+        assertThat(listedStationIds()).containsExactly(first, second);
+        assertThat(reads("replica")).isEqualTo(replicaReads + 1);
+    }
+}
@@ -0,0 +1,218 @@
+package tqs.evsync.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import tqs.evsync.backend.model.ChargingSession;
+import tqs.evsync.backend.model.ChargingStation;
+import tqs.evsync.backend.model.Operator;
+import tqs.evsync.backend.model.enums.ChargingSessionStatus;
+import tqs.evsync.backend.model.enums.ChargingStationStatus;
+import tqs.evsync.backend.model.enums.OperatorType;
+import tqs.evsync.backend.outbox.DomainEvent;
+import tqs.evsync.backend.outbox.DomainEventListener;
+import tqs.evsync.backend.outbox.Outbox;
+import tqs.evsync.backend.outbox.OutboxRelay;
+import tqs.evsync.backend.repository.ChargingSessionRepository;
+import tqs.evsync.backend.repository.ChargingStationRepository;
+import tqs.evsync.backend.repository.OperatorRepository;
+import tqs.evsync.backend.repository.OutboxEventRepository;
+import tqs.evsync.backend.service.ChargingStationService;
+import tqs.evsync.backend.service.SessionService;
+import tqs.evsync.backend.service.SettlementWorker;
+
+@SpringBootTest(properties = {
+    // The tests run the relay themselves
+    "evsync.outbox.relay-interval-ms=3600000",
+    "evsync.outbox.batch-size=2",
+    "evsync.settlement.interval-ms=3600000"
+})
+@ActiveProfiles("test")
+@Import(OutboxIT.RecordingListener.class)
+public class OutboxIT {
+
+    // Imported rather than a nested configuration, which the application's component scan
+    // would register in every other test context too
+    static class RecordingListener implements DomainEventListener {
+        final List<DomainEvent> received = new ArrayList<>();
+        final Set<Long> failOnce = new HashSet<>();
+
+        @Override
+        public void onEvent(DomainEvent event) {
+            if (failOnce.remove(event.aggregateId())) {
+                throw new IllegalStateException("listener unavailable");
+            }
+            received.add(event);
+        }
+    }
+
+    @Autowired
+    private RecordingListener listener;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private Outbox outbox;
+
+    @Autowired
+    private OutboxEventRepository outboxRepo;
+
+    @Autowired
+    private ChargingStationService stationService;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SettlementWorker settlementWorker;
+
+    @Autowired
+    private ChargingStationRepository stationRepo;
+
+    @Autowired
+    private ChargingSessionRepository sessionRepo;
+
+    @Autowired
+    private OperatorRepository operatorRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Operator operator;
+
+    @BeforeEach
+    void setup() {
+        relay.relay();
+        listener.received.clear();
+        listener.failOnce.clear();
+
+        operator = new Operator();
+        operator.setEmail("outbox_op@example.com");
+        operator.setPassword("1234");
+        operator.setOperatorType(OperatorType.OPERATOR);
+        operator = operatorRepo.save(operator);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRepo.deleteAllInBatch();
+        sessionRepo.deleteAll();
+        stationRepo.deleteAll();
+        operatorRepo.deleteAll();
+    }
+
+    private ChargingStation addStation() {
+        ChargingStation station = new ChargingStation();
+        station.setLatitude(40.64);
+        station.setLongitude(-8.65);
+        station.setStatus(ChargingStationStatus.AVAILABLE);
+        station.setOperator(operator);
+        return stationService.addChargingStation(station);
+    }
+
+    private List<String> typesOf(Long aggregateId) {
+        return listener.received.stream().filter(e -> e.aggregateId() == aggregateId).map(DomainEvent::type).toList();
+    }
+
+    private double delivered(String outcome) {
+        return meterRegistry.get("evsync.outbox.events").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void testMutationsAreRelayedInOrderAndRemoved() {
+        ChargingStation station = addStation();
+        stationService.updateChargingStationStatus(station.getId(), ChargingStationStatus.MAINTENANCE);
+        stationService.updateChargingStationStatus(station.getId(), ChargingStationStatus.AVAILABLE);
+
+        ChargingSession session = new ChargingSession();
+        session.setStatus(ChargingSessionStatus.ACTIVE);
+        session = sessionService.createSession(session);
+        sessionService.endSession(session.getId(), 12.5);
+
+        double before = delivered("delivered");
+        // Five events in batches of two
+        assertThat(relay.relay()).isEqualTo(5);
+
+        assertThat(typesOf(station.getId())).containsExactly(DomainEvent.STATION_ADDED,
+            DomainEvent.STATION_STATUS_CHANGED, DomainEvent.STATION_STATUS_CHANGED);
+        assertThat(listener.received.stream().filter(e -> e.aggregateType().equals(DomainEvent.SESSION))
+            .map(DomainEvent::type)).containsExactly(DomainEvent.SESSION_CREATED, DomainEvent.SESSION_ENDED);
+        assertThat(listener.received.get(listener.received.size() - 1).payload()).contains("\"energyConsumed\":12.5");
+        assertThat(delivered("delivered") - before).isEqualTo(5);
+        assertThat(outboxRepo.count()).isZero();
+        assertThat(relay.relay()).isZero();
+    }
+
+    @Test
+    void testSettlementOutcomeIsRecorded() {
+        ChargingSession session = new ChargingSession();
+        session.setStatus(ChargingSessionStatus.ACTIVE);
+        session = sessionService.createSession(session);
+        sessionService.endSession(session.getId(), 3.0);
+
+        assertThat(settlementWorker.settlePending()).isEqualTo(1);
+
+        assertThat(relay.relay()).isEqualTo(3);
+        assertThat(typesOf(session.getId())).containsExactly(DomainEvent.SESSION_CREATED, DomainEvent.SESSION_ENDED,
+            DomainEvent.SESSION_SETTLED);
+        assertThat(listener.received.get(listener.received.size() - 1).payload()).contains("\"settlementStatus\":\"SETTLED\"");
+    }
+
+    @Test
+    void testRolledBackChangeLeavesNoEvent() {
+        ChargingStation station = addStation();
+        relay.relay();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            stationService.updateChargingStationStatus(station.getId(), ChargingStationStatus.OUT_OF_SERVICE);
+            tx.setRollbackOnly();
+        });
+
+        assertThat(outboxRepo.count()).isZero();
+        assertThrows(IllegalTransactionStateException.class,
+            () -> outbox.station(station, DomainEvent.STATION_STATUS_CHANGED));
+    }
+
+    @Test
+    void testFailedDeliveryHoldsBackOnlyThatAggregate() {
+        ChargingStation failing = addStation();
+        ChargingStation healthy = addStation();
+        stationService.updateChargingStationStatus(failing.getId(), ChargingStationStatus.MAINTENANCE);
+        stationService.updateChargingStationStatus(healthy.getId(), ChargingStationStatus.MAINTENANCE);
+        listener.failOnce.add(failing.getId());
+
+        double failedBefore = delivered("failed");
+        assertThat(relay.relay()).isEqualTo(2);
+        assertThat(typesOf(failing.getId())).isEmpty();
+        assertThat(typesOf(healthy.getId())).containsExactly(DomainEvent.STATION_ADDED, DomainEvent.STATION_STATUS_CHANGED);
+        assertThat(delivered("failed") - failedBefore).isEqualTo(1);
+        assertThat(outboxRepo.count()).isEqualTo(2);
+
+        // Redelivered on the next run, still in order
+        assertThat(relay.relay()).isEqualTo(2);
+        assertThat(typesOf(failing.getId())).containsExactly(DomainEvent.STATION_ADDED, DomainEvent.STATION_STATUS_CHANGED);
+        assertThat(meterRegistry.get("evsync.outbox.lag").gauge().value()).isGreaterThanOrEqualTo(0);
+        assertThat(outboxRepo.count()).isZero();
+    }
+}
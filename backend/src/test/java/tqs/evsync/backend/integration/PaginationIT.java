@@ -0,0 +1,180 @@
+package tqs.evsync.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import tqs.evsync.backend.model.ChargingOutlet;
+import tqs.evsync.backend.model.ChargingSession;
+import tqs.evsync.backend.model.ChargingStation;
+import tqs.evsync.backend.model.Consumer;
+import tqs.evsync.backend.model.Operator;
+import tqs.evsync.backend.model.Reservation;
+import tqs.evsync.backend.model.enums.ChargingSessionStatus;
+import tqs.evsync.backend.model.enums.OperatorType;
+import tqs.evsync.backend.model.enums.ReservationStatus;
+import tqs.evsync.backend.paging.KeysetPage;
+import tqs.evsync.backend.repository.ChargingOutletRepository;
+import tqs.evsync.backend.repository.ChargingSessionRepository;
+import tqs.evsync.backend.repository.ChargingStationRepository;
+import tqs.evsync.backend.repository.ConsumerRepository;
+import tqs.evsync.backend.repository.OperatorRepository;
+import tqs.evsync.backend.repository.ReservationRepository;
+
+@SpringBootTest(properties = "evsync.pagination.max-page-size=4")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class PaginationIT {
+
+    private static final int ROWS = 7;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OperatorRepository operatorRepo;
+
+    @Autowired
+    private ConsumerRepository consumerRepo;
+
+    @Autowired
+    private ChargingStationRepository stationRepo;
+
+    @Autowired
+    private ChargingOutletRepository outletRepo;
+
+    @Autowired
+    private ReservationRepository reservationRepo;
+
+    @Autowired
+    private ChargingSessionRepository sessionRepo;
+
+    private Long consumerId;
+
+    @BeforeEach
+    void setup() {
+        Consumer consumer = new Consumer();
+        consumer.setEmail("paging@example.com");
+        consumer.setPassword("1234");
+        consumer = consumerRepo.save(consumer);
+        consumerId = consumer.getId();
+
+        for (int i = 0; i < ROWS; i++) {
+            Operator operator = new Operator();
+            operator.setEmail("paging_op" + i + "@example.com");
+            operator.setPassword("1234");
+            operator.setOperatorType(OperatorType.OPERATOR);
+            operator = operatorRepo.save(operator);
+
+            ChargingStation station = new ChargingStation();
+            station.setLatitude(40.6 + i * 0.01);
+            station.setLongitude(-8.65);
+            station.setOperator(operator);
+            station = stationRepo.save(station);
+
+            ChargingOutlet outlet = new ChargingOutlet();
+            outlet.setMaxPower(22);
+            outlet.setChargingStation(station);
+            outlet = outletRepo.save(outlet);
+
+            Reservation reservation = new Reservation();
+            reservation.setConsumer(consumer);
+            reservation.setStation(station);
+            reservation.setOutlet(outlet);
+            reservation.setStartAt(LocalDateTime.parse("2031-01-01T10:00:00").plusDays(i));
+            reservation.setDuration(1.0);
+            reservation.setStatus(ReservationStatus.CONFIRMED);
+            reservationRepo.save(reservation);
+
+            ChargingSession session = new ChargingSession();
+            session.setStatus(ChargingSessionStatus.COMPLETED);
+            session.setStartTime(LocalDateTime.parse("2031-01-01T10:00:00").plusDays(i));
+            sessionRepo.save(session);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionRepo.deleteAll();
+        reservationRepo.deleteAll();
+        outletRepo.deleteAll();
+        stationRepo.deleteAll();
+        operatorRepo.deleteAll();
+        consumerRepo.deleteAll();
+    }
+
+    // Follows X-Next-Cursor until the last page and returns every id seen, in order
+    private List<Long> walk(String url, Integer limit) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var request = get(url);
+            if (limit != null) {
+                request.param("limit", limit.toString());
+            }
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MockHttpServletResponse response = mockMvc.perform(request)
+                .andExpect(status().isOk()).andReturn().getResponse();
+            JsonNode body = objectMapper.readTree(response.getContentAsString());
+            assertThat(body.isArray()).isTrue();
+            assertThat(body.size()).isLessThanOrEqualTo(limit == null ? 4 : Math.min(limit, 4));
+            body.forEach(node -> ids.add(node.get("id").asLong()));
+            cursor = response.getHeader(KeysetPage.NEXT_CURSOR_HEADER);
+            assertThat(++pages).isLessThanOrEqualTo(ROWS + 1);
+        } while (cursor != null);
+        return ids;
+    }
+
+    private static void assertCompleteAndOrdered(List<Long> ids, int expected) {
+        assertThat(ids).hasSize(expected).doesNotHaveDuplicates().isSorted();
+    }
+
+    @Test
+    void testEveryCollectionEndpointWalksToTheEnd() throws Exception {
+        assertCompleteAndOrdered(walk("/charging-station", 3), ROWS);
+        assertCompleteAndOrdered(walk("/api/operators", 2), ROWS);
+        assertCompleteAndOrdered(walk("/api/outlets", 3), ROWS);
+        assertCompleteAndOrdered(walk("/api/v1/sessions", 2), ROWS);
+        assertCompleteAndOrdered(walk("/api/consumers/" + consumerId + "/reservations", 3), ROWS);
+        assertCompleteAndOrdered(walk("/api/consumers", null), 1);
+    }
+
+    @Test
+    void testPageSizeIsCappedAtConfiguredMaximum() throws Exception {
+        assertCompleteAndOrdered(walk("/charging-station", null), ROWS);
+        assertCompleteAndOrdered(walk("/api/outlets", 1000), ROWS);
+    }
+
+    @Test
+    void testInvalidPagingParametersAreRejected() throws Exception {
+        mockMvc.perform(get("/charging-station").param("limit", "0"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/operators").param("cursor", "%%%"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/consumers/999999/reservations"))
+            .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,340 @@
+package tqs.evsync.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs every query the repositories declare against a MySQL migrated by Flyway and seeded
+ * with a few thousand rows per table, and EXPLAINs each statement Hibernate sent with the
+ * values it bound. No statement may read a whole table or index unless it is listed in
+ * {@link #FULL_SCANS} together with the reason.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    // Keep the background jobs off the seeded rows
+    "evsync.settlement.interval-ms=3600000",
+    "evsync.reservations.expiry-tick-ms=3600000",
+    "evsync.outbox.relay-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+@Import(QueryPlanIT.StatementRecorder.class)
+public class QueryPlanIT {
+
+    private static final Map<String, String> FULL_SCANS = Map.of(
+        "ReservationRepository.findActiveSlots", "loads every live reservation into the schedule index once, at startup");
+
+    private static final int CONSUMERS = 2500;
+    private static final int OPERATORS = 500;
+    private static final int STATIONS = 3000;
+    private static final int OUTLETS = 6000;
+    private static final int HISTORY = 20000;
+    private static final int IDEMPOTENCY_RECORDS = 5000;
+    private static final long PROBE_ID = 1000;
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private static final ThreadLocal<List<RecordedStatement>> recording = new ThreadLocal<>();
+
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+        .withUrlParam("rewriteBatchedStatements", "true");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.datasource.driver-class-name", mysql::getDriverClassName);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQLDialect");
+    }
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate jdbc;
+
+    record RecordedStatement(String sql, Map<Integer, Object> parameters) {}
+
+    record PlanRow(String table, String type, String key) {}
+
+    @BeforeEach
+    void seed() {
+        jdbc = new JdbcTemplate(dataSource);
+        insert("insert into app_user (id, user_type, email, password) values (?, ?, ?, ?)", CONSUMERS + OPERATORS,
+            i -> new Object[] {i, i <= CONSUMERS ? "CONSUMER" : "OPERATOR", "user" + i + "@example.com", "1234"});
+        insert("insert into consumer (id, wallet_cents) values (?, ?)", CONSUMERS,
+            i -> new Object[] {i, 10_000});
+        insert("insert into operator (id, operator_type) values (?, 0)", OPERATORS,
+            i -> new Object[] {CONSUMERS + i});
+        insert("insert into charging_station (id, latitude, longitude, status, operator_id) values (?, ?, ?, 0, ?)", STATIONS,
+            i -> new Object[] {i, 40 + i % 1000 / 1000.0, -9 + i % 997 / 997.0, CONSUMERS + 1 + i % OPERATORS});
+        insert("insert into charging_outlet (id, charging_station_id, status, is_available, max_power, cost_per_hour, "
+             + "price_per_kwh, idle_fee_per_minute, idle_grace_minutes) values (?, ?, 'AVAILABLE', true, 22, 2, 0.3, 0.1, 10)",
+            OUTLETS, i -> new Object[] {i, stationOf(i)});
+        insert("insert into outlet_tariff_band (id, outlet_id, position, start_minute, end_minute, cost_per_hour) "
+             + "values (?, ?, ?, ?, ?, 2)", OUTLETS * 2,
+            i -> new Object[] {i, 1 + i % OUTLETS, i / OUTLETS, i % 2 * 720, i % 2 * 720 + 720});
+        insert("insert into reservation (id, consumer_id, station_id, outlet_id, start_at, end_at, created_at, duration, "
+             + "reservation_fee, status) values (?, ?, ?, ?, ?, ?, ?, 1, 2, ?)", HISTORY,
+            i -> new Object[] {i, 1 + i % CONSUMERS, stationOf(1 + i % OUTLETS), 1 + i % OUTLETS, at(i), at(i + 60), at(i - 60),
+                               i % 100 == 0 ? "PENDING" : i % 10 == 0 ? "CANCELLED" : "COMPLETED"});
+        // A few sessions still running and a few waiting for settlement, as in production
+        insert("insert into charging_session (id, outlet_id, reservation_id, start_time, end_time, last_activity_at, status, "
+             + "settlement_status, settled_at, energy_consumed, total_cost) values (?, ?, ?, ?, ?, ?, ?, ?, ?, 10, 3)", HISTORY,
+            i -> new Object[] {i, 1 + i % OUTLETS, i, at(i), i % 200 == 0 ? null : at(i + 60), at(i + 60),
+                               i % 200 == 0 ? "ACTIVE" : "COMPLETED",
+                               i % 200 == 0 ? null : i % 200 == 1 ? "PENDING" : "SETTLED",
+                               i % 200 <= 1 ? null : at(i + 61)});
+        insert("insert into meter_chunk (id, session_id, start_at, end_at, sample_count, data) values (?, ?, ?, ?, 1, ?)", HISTORY,
+            i -> new Object[] {i, i, at(i), at(i + 60), new byte[] {0}});
+        insert("insert into wallet_transaction (id, consumer_id, amount_cents, type, reference, created_at) "
+             + "values (?, ?, 100, 'TOP_UP', null, ?)", HISTORY,
+            i -> new Object[] {i, 1 + i % CONSUMERS, at(i)});
+        insert("insert into wallet_snapshot (id, consumer_id, balance_cents, last_transaction_id, taken_at) values (?, ?, 0, ?, ?)",
+            CONSUMERS, i -> new Object[] {i, i, HISTORY - CONSUMERS + i, at(HISTORY)});
+        insert("insert into idempotency_record (idempotency_key, fingerprint, status, content_type, body, expires_at) "
+             + "values (?, 'fingerprint', 200, 'application/json', null, ?)", IDEMPOTENCY_RECORDS,
+            i -> new Object[] {"key-" + i, at(i)});
+        insert("insert into outbox_event (id, aggregate_type, aggregate_id, event_type, payload, created_at) "
+             + "values (?, 'reservation', ?, 'reservation.created', '{}', ?)", HISTORY,
+            i -> new Object[] {i, i, at(i)});
+
+        jdbc.execute("analyze table app_user, consumer, operator, charging_station, charging_outlet, outlet_tariff_band, "
+            + "reservation, charging_session, meter_chunk, wallet_transaction, wallet_snapshot, idempotency_record, "
+            + "outbox_event");
+    }
+
+    private void insert(String sql, int rows, IntFunction<Object[]> row) {
+        jdbc.batchUpdate(sql, IntStream.rangeClosed(1, rows).mapToObj(row).toList());
+    }
+
+    private static int stationOf(int outlet) {
+        return 1 + outlet % STATIONS;
+    }
+
+    private static LocalDateTime at(long minute) {
+        return BASE.plusMinutes(minute);
+    }
+
+    @Test
+    void testNoRepositoryQueryReadsAWholeTable() {
+        Repositories repositories = new Repositories(context);
+        List<String> checked = new ArrayList<>();
+        List<String> fullScans = new ArrayList<>();
+
+        for (Class<?> domainType : repositories) {
+            Class<?> repositoryInterface = repositories.getRequiredRepositoryInformation(domainType).getRepositoryInterface();
+            Object repository = repositories.getRepositoryFor(domainType).orElseThrow();
+
+            for (Method method : repositoryInterface.getDeclaredMethods()) {
+                // Default methods only delegate to declared queries
+                if (method.isDefault() || method.isSynthetic() || Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                String name = repositoryInterface.getSimpleName() + "." + method.getName();
+                checked.add(name);
+
+                List<RecordedStatement> statements = run(repository, method);
+                assertThat(statements).as(name + " sent no statement").isNotEmpty();
+                if (FULL_SCANS.containsKey(name)) {
+                    continue;
+                }
+                for (RecordedStatement statement : statements) {
+                    for (PlanRow row : explain(statement)) {
+                        // ALL reads the whole table, index the whole of one of its indexes
+                        if ("ALL".equals(row.type()) || "index".equals(row.type())) {
+                            fullScans.add(name + " reads all of " + row.table() + " (" + row.type() + "): " + statement.sql());
+                        }
+                    }
+                }
+            }
+        }
+
+        assertThat(checked).containsAll(FULL_SCANS.keySet());
+        assertThat(fullScans).isEmpty();
+    }
+
+    // Runs the query in a transaction that is rolled back, recording what reached the driver
+    private List<RecordedStatement> run(Object repository, Method method) {
+        Object[] arguments = new Object[method.getParameterCount()];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = argument(method.getParameters()[i]);
+        }
+        List<RecordedStatement> statements = new ArrayList<>();
+        recording.set(statements);
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+                tx.setRollbackOnly();
+                try {
+                    method.invoke(repository, arguments);
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    throw new IllegalStateException(method.getName() + " failed", e);
+                }
+            });
+        } finally {
+            recording.remove();
+        }
+        return statements;
+    }
+
+    private List<PlanRow> explain(RecordedStatement statement) {
+        return jdbc.query(connection -> {
+            PreparedStatement explain = connection.prepareStatement("explain " + statement.sql());
+            for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+                explain.setObject(parameter.getKey(), parameter.getValue());
+            }
+            return explain;
+        }, (rs, rowNum) -> new PlanRow(rs.getString("table"), rs.getString("type"), rs.getString("key")));
+    }
+
+    /**
+     * A value like the ones the application passes: ids of rows that exist, small time windows
+     * and watermarks near the end of the history, as a real caller would.
+     */
+    private static Object argument(Parameter parameter) {
+        Param param = parameter.getAnnotation(Param.class);
+        String name = param != null ? param.value() : parameter.getName();
+        Class<?> type = parameter.getType();
+
+        if (type == Long.class || type == long.class) {
+            return "afterId".equals(name) ? HISTORY - 100L : PROBE_ID;
+        }
+        if (type == Double.class || type == double.class) {
+            return switch (name) {
+                case "minLat" -> 40.60;
+                case "maxLat" -> 40.62;
+                case "minLon" -> -8.66;
+                case "maxLon" -> -8.64;
+                default -> 1.0;
+            };
+        }
+        if (type == String.class) {
+            return "email".equals(name) ? "user" + PROBE_ID + "@example.com" : "probe";
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return List.of(PROBE_ID - 1, PROBE_ID, PROBE_ID + 1);
+        }
+        if (type == Pageable.class) {
+            return PageRequest.of(0, 20);
+        }
+        if (type == LocalDateTime.class || type == Instant.class) {
+            LocalDateTime time = switch (name) {
+                // Only a little of the data has expired or settled at any one time
+                case "now" -> at(100);
+                case "settledBefore" -> at(HISTORY);
+                default -> at(PROBE_ID);
+            };
+            return type == Instant.class ? time.toInstant(ZoneOffset.UTC) : time;
+        }
+        if (type.isEnum()) {
+            for (Object constant : type.getEnumConstants()) {
+                if (((Enum<?>) constant).name().equals("PENDING")) {
+                    return constant;
+                }
+            }
+            return type.getEnumConstants()[0];
+        }
+        throw new IllegalArgumentException("No probe value for " + type.getSimpleName() + " " + name);
+    }
+
+    // Imported rather than annotated: the application's component scan would pick it up for every test
+    static class StatementRecorder implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            return bean instanceof DataSource dataSource ? recordingDataSource(dataSource) : bean;
+        }
+    }
+
+    private static DataSource recordingDataSource(DataSource target) {
+        return delegate(DataSource.class, target, (method, args, result) ->
+            result instanceof Connection connection ? recordingConnection(connection) : result);
+    }
+
+    private static Connection recordingConnection(Connection target) {
+        return delegate(Connection.class, target, (method, args, result) -> {
+            List<RecordedStatement> statements = recording.get();
+            if (statements == null || !method.getName().equals("prepareStatement")) {
+                return result;
+            }
+            RecordedStatement statement = new RecordedStatement((String) args[0], new TreeMap<>());
+            statements.add(statement);
+            return delegate(PreparedStatement.class, (PreparedStatement) result, (m, a, r) -> {
+                // Every setter binding a parameter takes its index first and the value second
+                if (m.getName().startsWith("set") && a != null && a.length >= 2 && a[0] instanceof Integer index) {
+                    statement.parameters().put(index, m.getName().equals("setNull") ? null : a[1]);
+                }
+                return r;
+            });
+        });
+    }
+
+    interface Interceptor {
+        Object after(Method method, Object[] args, Object result) throws Exception;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T delegate(Class<T> type, T target, Interceptor interceptor) {
+        return (T) Proxy.newProxyInstance(QueryPlanIT.class.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    try {
+                        return interceptor.after(method, args, method.invoke(target, args));
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        });
+    }
+}
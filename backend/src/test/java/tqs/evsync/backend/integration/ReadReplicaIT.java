@@ -0,0 +1,173 @@
+package tqs.evsync.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import tqs.evsync.backend.dto.StationSummary;
+import tqs.evsync.backend.model.ChargingStation;
+import tqs.evsync.backend.model.Operator;
+import tqs.evsync.backend.model.enums.OperatorType;
+import tqs.evsync.backend.paging.Keyset;
+import tqs.evsync.backend.repository.ChargingStationRepository;
+import tqs.evsync.backend.repository.OperatorRepository;
+import tqs.evsync.backend.routing.ReplicaRoutingDataSource;
+import tqs.evsync.backend.service.ChargingStationService;
+
+/**
+ * Routes against two in-memory H2 "replicas". Nothing replicates between H2 databases, so
+ * {@link #replicate} copies the primary over on demand and the replicas stay exactly as
+ * stale as each test needs them to be.
+ */
+@SpringBootTest(properties = {
+    "evsync.datasource.replica-urls=jdbc:h2:mem:replica_a;DB_CLOSE_DELAY=-1,jdbc:h2:mem:replica_b;DB_CLOSE_DELAY=-1",
+    "evsync.datasource.replica-username=sa",
+    "evsync.datasource.replica-password=",
+    "evsync.datasource.replica-max-lag=5s",
+    // Heartbeats are driven by the tests
+    "evsync.datasource.replica-check-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+public class ReadReplicaIT {
+
+    @Autowired
+    private ChargingStationService stationService;
+
+    @Autowired
+    private ChargingStationRepository stationRepo;
+
+    @Autowired
+    private OperatorRepository operatorRepo;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private ReplicaRoutingDataSource routing;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final JdbcTemplate replicaA = replica("replica_a");
+    private final JdbcTemplate replicaB = replica("replica_b");
+
+    private Operator operator;
+
+    private static JdbcTemplate replica(String name) {
+        return new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", ""));
+    }
+
+    @BeforeEach
+    void setup() {
+        Operator op = new Operator();
+        op.setEmail("replica_op@example.com");
+        op.setPassword("1234");
+        op.setOperatorType(OperatorType.OPERATOR);
+        operator = operatorRepo.save(op);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stationRepo.deleteAll();
+        operatorRepo.deleteAll();
+        replicaA.execute("drop all objects");
+        replicaB.execute("drop all objects");
+        routing.checkReplicas();
+    }
+
+    private Long addStation(double latitude) {
+        ChargingStation station = new ChargingStation();
+        station.setLatitude(latitude);
+        station.setLongitude(-8.65);
+        station.setOperator(operator);
+        return stationRepo.save(station).getId();
+    }
+
+    private List<Long> listedStationIds() {
+        return stationService.getStations(new Keyset(0, 100)).items().stream().map(StationSummary::id).toList();
+    }
+
+    // Takes a fresh heartbeat on the primary and copies the whole primary onto the replicas
+    private void replicate(JdbcTemplate... replicas) {
+        routing.checkReplicas();
+        List<String> script = new JdbcTemplate(primaryDataSource).queryForList("script nopasswords nosettings", String.class);
+        for (JdbcTemplate replica : replicas) {
+            replica.execute("drop all objects");
+            script.stream().filter(sql -> !sql.startsWith("--") && !sql.startsWith("CREATE USER")).forEach(replica::execute);
+        }
+        routing.checkReplicas();
+    }
+
+    private void lagBehind(JdbcTemplate replica, long millis) {
+        replica.update("update " + ReplicaRoutingDataSource.HEARTBEAT_TABLE + " set beat_at = ? where id = 1",
+            System.currentTimeMillis() - millis);
+        routing.checkReplicas();
+    }
+
+    private double reads(String target) {
+        return meterRegistry.get("evsync.datasource.reads").tag("target", target).counter().count();
+    }
+
+    @Test
+    void testReadOnlyTransactionsAreServedByReplicas() {
+        Long first = addStation(40.1);
+        replicate(replicaA, replicaB);
+        Long second = addStation(40.2);
+
+        double replicaReads = reads("replica");
+        assertThat(listedStationIds()).containsExactly(first);
+        assertThat(listedStationIds()).containsExactly(first);
+        assertThat(reads("replica")).isEqualTo(replicaReads + 2);
+
+        // Writes and plain reads stay on the primary
+        assertThat(stationRepo.findAll()).extracting(ChargingStation::getId).containsExactly(first, second);
+
+        // A replica read must not have cached the stale list for later reads
+        replicate(replicaA, replicaB);
+        assertThat(listedStationIds()).containsExactly(first, second);
+    }
+
+    @Test
+    void testLaggingReplicaIsSkippedAndPrimaryIsTheLastResort() {
+        Long first = addStation(40.1);
+        replicate(replicaA, replicaB);
+        Long second = addStation(40.2);
+        replicate(replicaB);
+        lagBehind(replicaA, 10_000);
+
+        assertThat(routing.isFresh(0)).isFalse();
+        assertThat(routing.isFresh(1)).isTrue();
+        for (int i = 0; i < 4; i++) {
+            assertThat(listedStationIds()).containsExactly(first, second);
+        }
+
+        lagBehind(replicaB, 10_000);
+        Long third = addStation(40.3);
+
+        double primaryReads = reads("primary");
+        assertThat(listedStationIds()).containsExactly(first, second, third);
+        assertThat(reads("primary")).isEqualTo(primaryReads + 1);
+    }
+
+    @Test
+    void testUnreachableOrEmptyReplicaIsNeverUsed() {
+        Long first = addStation(40.1);
+        routing.checkReplicas();
+
+        assertThat(routing.isFresh(0)).isFalse();
+        assertThat(routing.isFresh(1)).isFalse();
+        assertThat(listedStationIds()).containsExactly(first);
+    }
+}
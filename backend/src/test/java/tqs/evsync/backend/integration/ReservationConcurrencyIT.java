@@ -0,0 +1,168 @@
+package tqs.evsync.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import tqs.evsync.backend.model.ChargingOutlet;
+import tqs.evsync.backend.model.ChargingStation;
+import tqs.evsync.backend.model.Consumer;
+import tqs.evsync.backend.model.Operator;
+import tqs.evsync.backend.model.Reservation;
+import tqs.evsync.backend.model.enums.ChargingStationStatus;
+import tqs.evsync.backend.model.enums.OperatorType;
+import tqs.evsync.backend.model.enums.ReservationStatus;
+import tqs.evsync.backend.repository.ChargingOutletRepository;
+import tqs.evsync.backend.repository.ChargingStationRepository;
+import tqs.evsync.backend.repository.ConsumerRepository;
+import tqs.evsync.backend.repository.OperatorRepository;
+import tqs.evsync.backend.repository.ReservationRepository;
+import tqs.evsync.backend.service.ReservationService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ReservationConcurrencyIT {
+
+    private static final int OUTLETS = 4;
+    private static final int BOOKINGS = 400;
+    private static final int THREADS = 32;
+    // Well under what H2 does on a laptop, so only a serialised booking path trips it
+    private static final double MIN_REQUESTS_PER_SECOND = 20;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ConsumerRepository consumerRepo;
+
+    @Autowired
+    private OperatorRepository operatorRepo;
+
+    @Autowired
+    private ChargingStationRepository stationRepo;
+
+    @Autowired
+    private ChargingOutletRepository outletRepo;
+
+    @Autowired
+    private ReservationRepository reservationRepo;
+
+    private Long consumerId;
+    private Long stationId;
+
+    @BeforeEach
+    void setup() {
+        Consumer consumer = new Consumer();
+        consumer.setEmail("concurrency@example.com");
+        consumer.setPassword("1234");
+        consumerId = consumerRepo.save(consumer).getId();
+
+        Operator operator = new Operator();
+        operator.setEmail("concurrency_op@example.com");
+        operator.setPassword("1234");
+        operator.setOperatorType(OperatorType.OPERATOR);
+        operator = operatorRepo.save(operator);
+
+        ChargingStation station = new ChargingStation();
+        station.setLatitude(40.63);
+        station.setLongitude(-8.65);
+        station.setStatus(ChargingStationStatus.AVAILABLE);
+        station.setOperator(operator);
+        station = stationRepo.save(station);
+        stationId = station.getId();
+
+        for (int i = 0; i < OUTLETS; i++) {
+            ChargingOutlet outlet = new ChargingOutlet();
+            outlet.setMaxPower(22);
+            outlet.setChargingStation(station);
+            outletRepo.save(outlet);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationRepo.deleteAll();
+        outletRepo.deleteAll();
+        stationRepo.deleteAll();
+        operatorRepo.deleteAll();
+        consumerRepo.deleteAll();
+    }
+
+    @Test
+    void testParallelBookingsNeverOverlapOnAnOutlet() throws Exception {
+        // 400 one-hour bookings on half-hour offsets over a 24h window: plenty of contention
+        // for 4 outlets, so many requests must be rejected and none may double-book.
+        LocalDateTime day = LocalDateTime.parse("2030-01-01T00:00:00");
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < BOOKINGS; i++) {
+            String startTime = day.plusMinutes(30L * (i % 47)).toString();
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    reservationService.createReservation(consumerId, stationId, startTime, 1.0);
+                    booked.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(2, TimeUnit.MINUTES);
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began);
+        pool.shutdown();
+
+        assertThat(booked.get() + rejected.get()).isEqualTo(BOOKINGS);
+        assertThat(BOOKINGS * 1000.0 / Math.max(1, elapsedMs))
+            .as("requests per second for %d requests (%d booked, %d rejected) in %d ms",
+                BOOKINGS, booked.get(), rejected.get(), elapsedMs)
+            .isGreaterThanOrEqualTo(MIN_REQUESTS_PER_SECOND);
+
+        Map<Long, List<Reservation>> byOutlet = reservationRepo.findAll().stream()
+            .filter(r -> r.getStatus() != ReservationStatus.CANCELLED)
+            .collect(Collectors.groupingBy(r -> r.getOutlet().getId()));
+        int overlaps = 0;
+        for (List<Reservation> reservations : byOutlet.values()) {
+            for (int a = 0; a < reservations.size(); a++) {
+                for (int b = a + 1; b < reservations.size(); b++) {
+                    Reservation x = reservations.get(a);
+                    Reservation y = reservations.get(b);
+                    if (x.getStartAt().isBefore(y.getEndAt()) && y.getStartAt().isBefore(x.getEndAt())) {
+                        overlaps++;
+                    }
+                }
+            }
+        }
+        assertThat(overlaps).isZero();
+        // Every outlet can hold at most one booking per half-hour start, and at least a third
+        // of them however the one-hour bookings happen to interleave
+        assertThat(booked.get()).isLessThanOrEqualTo(OUTLETS * 47);
+        assertThat(booked.get()).isGreaterThanOrEqualTo(OUTLETS * 47 / 3);
+    }
+}
@@ -94,6 +94,76 @@ public class ReservationControllerIT {
                 .andExpect(jsonPath("$.status").value("PENDING"));
     }
 
+    @Test
+    void testCreateReservation_OverlappingSlotRejected() throws Exception {
+        ChargingOutlet outlet = new ChargingOutlet();
+        outlet.setMaxPower(22);
+        outlet.setAvailable(true);
+        outlet.setChargingStation(stationRepo.findById(stationId).orElseThrow());
+        outletRepo.save(outlet);
+
+        mockMvc.perform(post("/api/reservations")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("consumerId", consumerId.toString())
+                .param("stationId", stationId.toString())
+                .param("startTime", "2025-06-02T09:00:00")
+                .param("duration", "1.0"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/reservations")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("consumerId", consumerId.toString())
+                .param("stationId", stationId.toString())
+                .param("startTime", "2025-06-02T09:30:00")
+                .param("duration", "1.0"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/reservations")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("consumerId", consumerId.toString())
+                .param("stationId", stationId.toString())
+                .param("startTime", "2025-06-02T10:00:00")
+                .param("duration", "1.0"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testStationAvailability() throws Exception {
+        ChargingOutlet outlet = new ChargingOutlet();
+        outlet.setMaxPower(22);
+        outlet.setAvailable(true);
+        outlet.setChargingStation(stationRepo.findById(stationId).orElseThrow());
+        outletRepo.save(outlet);
+
+        mockMvc.perform(post("/api/reservations")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("consumerId", consumerId.toString())
+                .param("stationId", stationId.toString())
+                .param("startTime", "2025-06-03T09:10:00")
+                .param("duration", "1.0"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/stations/" + stationId + "/availability")
+                .param("date", "2025-06-03")
+                .param("slotMinutes", "30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.slotMinutes").value(30))
+                .andExpect(jsonPath("$.outlets[0].freeWindows.length()").value(2))
+                .andExpect(jsonPath("$.outlets[0].freeWindows[0].start").value("2025-06-03T00:00:00"))
+                .andExpect(jsonPath("$.outlets[0].freeWindows[0].end").value("2025-06-03T09:00:00"))
+                .andExpect(jsonPath("$.outlets[0].freeWindows[1].start").value("2025-06-03T10:30:00"))
+                .andExpect(jsonPath("$.outlets[0].freeWindows[1].end").value("2025-06-04T00:00:00"));
+
+        mockMvc.perform(get("/api/stations/" + stationId + "/availability")
+                .param("date", "2025-06-03")
+                .param("slotMinutes", "7"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/stations/999999/availability")
+                .param("date", "2025-06-03"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void testGetReservation_NotFound() throws Exception {
         mockMvc.perform(get("/api/reservations/9999"))
@@ -108,6 +178,7 @@ public class ReservationControllerIT {
         ChargingOutlet outlet = new ChargingOutlet();
         outlet.setMaxPower(22);
         outlet.setAvailable(true);
+        outlet.setCostPerHour(10.0);
         outlet.setChargingStation(stationRepo.findById(stationId).orElseThrow());
         outletRepo.save(outlet);
 
@@ -137,6 +208,8 @@ public class ReservationControllerIT {
 
         reservation = reservationRepo.findById(reservationId).orElseThrow();
         assertThat(reservation.getStatus()).isEqualTo(ReservationStatus.CONFIRMED);
+        // 20% of 1.5h at 10/h
+        assertThat(consumerRepo.findById(consumerId).orElseThrow().getWallet()).isEqualTo(97.0);
 
         mockMvc.perform(post("/api/reservations/" + reservationId + "/cancel")
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED))
@@ -0,0 +1,223 @@
+package tqs.evsync.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import tqs.evsync.backend.index.OutletScheduleIndex;
+import tqs.evsync.backend.model.ChargingOutlet;
+import tqs.evsync.backend.model.ChargingStation;
+import tqs.evsync.backend.model.Consumer;
+import tqs.evsync.backend.model.Operator;
+import tqs.evsync.backend.model.OutboxEvent;
+import tqs.evsync.backend.model.Reservation;
+import tqs.evsync.backend.model.enums.OperatorType;
+import tqs.evsync.backend.model.enums.ReservationStatus;
+import tqs.evsync.backend.outbox.DomainEvent;
+import tqs.evsync.backend.repository.ChargingOutletRepository;
+import tqs.evsync.backend.repository.ChargingStationRepository;
+import tqs.evsync.backend.repository.ConsumerRepository;
+import tqs.evsync.backend.repository.OperatorRepository;
+import tqs.evsync.backend.repository.OutboxEventRepository;
+import tqs.evsync.backend.repository.ReservationRepository;
+import tqs.evsync.backend.service.ReservationExpiryScheduler;
+import tqs.evsync.backend.service.ReservationService;
+
+@SpringBootTest(properties = {
+    "evsync.reservations.pending-ttl=300ms",
+    "evsync.reservations.expiry-tick-ms=50",
+    "evsync.outbox.relay-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+public class ReservationExpiryIT {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationExpiryScheduler expiryScheduler;
+
+    @Autowired
+    private OutletScheduleIndex scheduleIndex;
+
+    @Autowired
+    private ConsumerRepository consumerRepo;
+
+    @Autowired
+    private OperatorRepository operatorRepo;
+
+    @Autowired
+    private ChargingStationRepository stationRepo;
+
+    @Autowired
+    private ChargingOutletRepository outletRepo;
+
+    @Autowired
+    private ReservationRepository reservationRepo;
+
+    @Autowired
+    private OutboxEventRepository outboxRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long consumerId;
+    private Long stationId;
+    private Long outletId;
+
+    @BeforeEach
+    void setup() {
+        Consumer consumer = new Consumer();
+        consumer.setEmail("expiry@example.com");
+        consumer.setPassword("1234");
+        consumer.setWallet(100.0);
+        consumerId = consumerRepo.save(consumer).getId();
+
+        Operator operator = new Operator();
+        operator.setEmail("expiry_op@example.com");
+        operator.setPassword("1234");
+        operator.setOperatorType(OperatorType.OPERATOR);
+        operator = operatorRepo.save(operator);
+
+        ChargingStation station = new ChargingStation();
+        station.setLatitude(40.63);
+        station.setLongitude(-8.65);
+        station.setOperator(operator);
+        station = stationRepo.save(station);
+        stationId = station.getId();
+
+        ChargingOutlet outlet = new ChargingOutlet();
+        outlet.setMaxPower(22);
+        outlet.setCostPerHour(2.0);
+        outlet.setChargingStation(station);
+        outletId = outletRepo.save(outlet).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRepo.deleteAllInBatch();
+        reservationRepo.deleteAll();
+        outletRepo.deleteAll();
+        stationRepo.deleteAll();
+        operatorRepo.deleteAll();
+        consumerRepo.deleteAll();
+    }
+
+    private ReservationStatus awaitStatus(Long reservationId, ReservationStatus expected) throws InterruptedException {
+        ReservationStatus status = null;
+        for (int i = 0; i < 60; i++) {
+            status = reservationRepo.findById(reservationId).orElseThrow().getStatus();
+            if (status == expected) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+        return status;
+    }
+
+    @Test
+    void testPendingReservationExpiresAndFreesOutlet() throws Exception {
+        Reservation r = reservationService.createReservation(consumerId, stationId, "2030-01-01T09:00:00", 1.0);
+        LocalDateTime start = r.getStartAt();
+
+        assertThat(awaitStatus(r.getId(), ReservationStatus.CANCELLED)).isEqualTo(ReservationStatus.CANCELLED);
+        // The slot is released right after the batch update commits
+        for (int i = 0; i < 20 && !scheduleIndex.isFree(outletId, start, start.plusHours(1)); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(scheduleIndex.isFree(outletId, start, start.plusHours(1))).isTrue();
+        // Recorded with the bulk update
+        assertThat(outboxRepo.findAll()).filteredOn(e -> e.getAggregateId().equals(r.getId()))
+            .extracting(OutboxEvent::getEventType)
+            .containsExactly(DomainEvent.RESERVATION_CREATED, DomainEvent.RESERVATION_EXPIRED);
+
+        // The slot can be booked again
+        Reservation again = reservationService.createReservation(consumerId, stationId, "2030-01-01T09:00:00", 1.0);
+        assertThat(again.getOutlet().getId()).isEqualTo(outletId);
+    }
+
+    @Test
+    void testScheduleOnlyHoldsCommittedBookings() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 4, 9, 0);
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            Reservation r = new Reservation();
+            r.setStation(stationRepo.findById(stationId).orElseThrow());
+            r.setOutlet(outletRepo.findById(outletId).orElseThrow());
+            r.setStartTime("2030-01-04T09:00:00");
+            r.setDuration(1.0);
+            r.setStatus(ReservationStatus.CONFIRMED);
+            reservationRepo.saveAndFlush(r);
+
+            assertThat(scheduleIndex.isFree(outletId, start, start.plusHours(1))).isTrue();
+            tx.setRollbackOnly();
+        });
+        assertThat(scheduleIndex.isFree(outletId, start, start.plusHours(1))).isTrue();
+
+        reservationService.createReservation(consumerId, stationId, "2030-01-04T09:00:00", 1.0);
+        assertThat(scheduleIndex.isFree(outletId, start, start.plusHours(1))).isFalse();
+    }
+
+    @Test
+    void testConfirmationLosingToTheExpiryLeavesItCancelled() {
+        Reservation r = new Reservation();
+        r.setConsumer(consumerRepo.findById(consumerId).orElseThrow());
+        r.setStation(stationRepo.findById(stationId).orElseThrow());
+        r.setOutlet(outletRepo.findById(outletId).orElseThrow());
+        r.setStartTime("2030-01-05T09:00:00");
+        r.setDuration(1.0);
+        r.setStatus(ReservationStatus.PENDING);
+        r.setCreatedAt(LocalDateTime.now());
+        Long id = reservationRepo.save(r).getId();
+
+        TransactionTemplate separate = new TransactionTemplate(transactionManager);
+        separate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        assertThatThrownBy(() -> new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            // Read as PENDING, then cancelled by the expiry before the confirmation writes
+            reservationRepo.findById(id).orElseThrow();
+            separate.executeWithoutResult(inner -> reservationRepo.expirePending(List.of(id)));
+            reservationService.confirmReservation(id);
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(reservationRepo.findById(id).orElseThrow().getStatus()).isEqualTo(ReservationStatus.CANCELLED);
+        assertThat(consumerRepo.findById(consumerId).orElseThrow().getWallet()).isEqualTo(100.0);
+    }
+
+    @Test
+    void testConfirmedReservationDoesNotExpire() throws Exception {
+        Reservation r = reservationService.createReservation(consumerId, stationId, "2030-01-02T09:00:00", 1.0);
+        reservationService.confirmReservation(r.getId());
+
+        Thread.sleep(600);
+
+        assertThat(reservationRepo.findById(r.getId()).orElseThrow().getStatus()).isEqualTo(ReservationStatus.CONFIRMED);
+    }
+
+    @Test
+    void testPendingReservationsReloadedOnStartup() throws Exception {
+        Reservation r = new Reservation();
+        r.setConsumer(consumerRepo.findById(consumerId).orElseThrow());
+        r.setStation(stationRepo.findById(stationId).orElseThrow());
+        r.setOutlet(outletRepo.findById(outletId).orElseThrow());
+        r.setStartTime("2030-01-03T09:00:00");
+        r.setDuration(1.0);
+        r.setStatus(ReservationStatus.PENDING);
+        r.setCreatedAt(LocalDateTime.now().minusHours(1));
+        r = reservationRepo.save(r);
+
+        expiryScheduler.loadPending();
+
+        assertThat(awaitStatus(r.getId(), ReservationStatus.CANCELLED)).isEqualTo(ReservationStatus.CANCELLED);
+    }
+}
@@ -0,0 +1,161 @@
+package tqs.evsync.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.cache.CacheManager;
+
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import tqs.evsync.backend.config.SecondLevelCacheConfig;
+import tqs.evsync.backend.model.ChargingOutlet;
+import tqs.evsync.backend.model.ChargingStation;
+import tqs.evsync.backend.model.Consumer;
+import tqs.evsync.backend.model.Operator;
+import tqs.evsync.backend.model.enums.ChargingStationStatus;
+import tqs.evsync.backend.model.enums.OperatorType;
+import tqs.evsync.backend.repository.ChargingOutletRepository;
+import tqs.evsync.backend.repository.ChargingStationRepository;
+import tqs.evsync.backend.repository.ConsumerRepository;
+import tqs.evsync.backend.repository.OperatorRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class SecondLevelCacheIT {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ChargingStationRepository stationRepo;
+
+    @Autowired
+    private ChargingOutletRepository outletRepo;
+
+    @Autowired
+    private OperatorRepository operatorRepo;
+
+    @Autowired
+    private ConsumerRepository consumerRepo;
+
+    private Long stationId;
+    private Long operatorId;
+    private Long consumerId;
+
+    @BeforeEach
+    void setup() {
+        Operator operator = new Operator();
+        operator.setEmail("cache_op@example.com");
+        operator.setPassword("1234");
+        operator.setOperatorType(OperatorType.OPERATOR);
+        operatorId = operatorRepo.save(operator).getId();
+
+        ChargingStation station = new ChargingStation();
+        station.setLatitude(40.63);
+        station.setLongitude(-8.65);
+        station.setStatus(ChargingStationStatus.AVAILABLE);
+        station.setOperator(operator);
+        station = stationRepo.save(station);
+        stationId = station.getId();
+
+        ChargingOutlet outlet = new ChargingOutlet();
+        outlet.setMaxPower(22);
+        outlet.setChargingStation(station);
+        outletRepo.save(outlet);
+
+        Consumer consumer = new Consumer();
+        consumer.setEmail("cache@example.com");
+        consumer.setPassword("1234");
+        consumer.setWallet(50.0);
+        consumerId = consumerRepo.save(consumer).getId();
+
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outletRepo.deleteAll();
+        stationRepo.deleteAll();
+        operatorRepo.deleteAll();
+        consumerRepo.deleteAll();
+    }
+
+    private double hits(String region) {
+        return meterRegistry.get("cache.gets").tag("cache", region).tag("result", "hit").functionCounter().count();
+    }
+
+    @Test
+    void testStationReadsAreServedFromCache() {
+        double before = hits(SecondLevelCacheConfig.STATIONS);
+
+        stationRepo.findById(stationId).orElseThrow();
+        assertThat(entityManagerFactory.getCache().contains(ChargingStation.class, stationId)).isTrue();
+        stationRepo.findById(stationId).orElseThrow();
+        ChargingStation withOutlets = stationRepo.findWithOutletsById(stationId).orElseThrow();
+
+        assertThat(withOutlets.getChargingOutlets()).hasSize(1);
+        assertThat(hits(SecondLevelCacheConfig.STATIONS)).isGreaterThan(before);
+    }
+
+    @Test
+    void testUpdatesAreVisibleThroughTheCache() {
+        stationRepo.findById(stationId).orElseThrow();
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            ChargingStation station = stationRepo.findById(stationId).orElseThrow();
+            station.setStatus(ChargingStationStatus.MAINTENANCE);
+        });
+
+        assertThat(stationRepo.findById(stationId).orElseThrow().getStatus()).isEqualTo(ChargingStationStatus.MAINTENANCE);
+    }
+
+    @Test
+    void testOperatorsAreCachedButConsumersAreNot() {
+        operatorRepo.findById(operatorId).orElseThrow();
+        consumerRepo.findById(consumerId).orElseThrow();
+
+        assertThat(entityManagerFactory.getCache().contains(Operator.class, operatorId)).isTrue();
+        assertThat(entityManagerFactory.getCache().contains(Consumer.class, consumerId)).isFalse();
+    }
+
+    @Test
+    void testWalletUpdatesDoNotEmptyTheCatalogueCache() {
+        stationRepo.findById(stationId).orElseThrow();
+
+        transactionTemplate.executeWithoutResult(tx -> consumerRepo.debitWallet(consumerId, 500));
+
+        assertThat(entityManagerFactory.getCache().contains(ChargingStation.class, stationId)).isTrue();
+        assertThat(consumerRepo.findById(consumerId).orElseThrow().getWallet()).isEqualTo(45.0);
+    }
+
+    @Test
+    void testCatalogueRegionsAreSizeBounded() {
+        CacheManager cacheManager = ((JCacheRegionFactory) entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getCache().getRegionFactory()).getCacheManager();
+
+        for (String region : new String[] {SecondLevelCacheConfig.STATIONS, SecondLevelCacheConfig.STATION_OUTLETS,
+                SecondLevelCacheConfig.OUTLETS, SecondLevelCacheConfig.USERS, "default-query-results-region"}) {
+            @SuppressWarnings("unchecked")
+            CaffeineConfiguration<Object, Object> configuration =
+                cacheManager.getCache(region).getConfiguration(CaffeineConfiguration.class);
+            assertThat(configuration.getMaximumSize()).as(region).isPresent();
+        }
+    }
+}
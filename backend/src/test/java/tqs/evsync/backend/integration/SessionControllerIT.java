@@ -9,6 +9,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -20,25 +23,33 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import tqs.evsync.backend.dto.MeterSample;
 import tqs.evsync.backend.model.ChargingOutlet;
+import tqs.evsync.backend.model.ChargingSession;
 import tqs.evsync.backend.model.ChargingStation;
 import tqs.evsync.backend.model.Consumer;
 import tqs.evsync.backend.model.Operator;
 import tqs.evsync.backend.model.Reservation;
+import tqs.evsync.backend.model.enums.ChargingSessionStatus;
 import tqs.evsync.backend.model.enums.OperatorType;
 import tqs.evsync.backend.model.enums.ReservationStatus;
 import tqs.evsync.backend.repository.ChargingOutletRepository;
 import tqs.evsync.backend.repository.ChargingSessionRepository;
 import tqs.evsync.backend.repository.ChargingStationRepository;
 import tqs.evsync.backend.repository.ConsumerRepository;
+import tqs.evsync.backend.repository.MeterChunkRepository;
 import tqs.evsync.backend.repository.OperatorRepository;
 import tqs.evsync.backend.repository.ReservationRepository;
+import tqs.evsync.backend.service.MeterIngestionService;
+import tqs.evsync.backend.service.SettlementWorker;
 
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -70,6 +81,21 @@ public class SessionControllerIT {
     @Autowired
     private ChargingSessionRepository sessionRepo;
 
+    @Autowired
+    private MeterChunkRepository meterChunkRepo;
+
+    @Autowired
+    private MeterIngestionService meterIngestionService;
+
+    @Autowired
+    private SettlementWorker settlementWorker;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private Long outletId;
 
     private Long reservationId;
@@ -117,6 +143,7 @@ public class SessionControllerIT {
 
     @AfterEach
     void tearDown() {
+        meterChunkRepo.deleteAll();
         sessionRepo.deleteAll();
         reservationRepo.deleteAll();
         outletRepo.deleteAll();
@@ -187,6 +214,15 @@ public class SessionControllerIT {
 
         String response = createResult.getResponse().getContentAsString();
         Long sessionId = objectMapper.readTree(response).get("id").asLong();
+        Long stationId = outletRepo.findById(outletId).orElseThrow().getChargingStation().getId();
+
+        mockMvc.perform(get("/api/v1/sessions/active/outlet/" + outletId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sessionId").value(sessionId))
+                .andExpect(jsonPath("$.stationId").value(stationId));
+        mockMvc.perform(get("/api/v1/sessions/active").param("stationId", stationId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
 
         mockMvc.perform(put("/api/v1/sessions/" + sessionId + "/end")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -194,7 +230,147 @@ public class SessionControllerIT {
                                 "energyUsed", 15.0,
                                 "totalCost", 7.5))))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.status").value("COMPLETED"));
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.settlementStatus").value("PENDING"));
+
+        mockMvc.perform(get("/api/v1/sessions/active/outlet/" + outletId))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/sessions/active").param("stationId", stationId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    private Long activeSessionStartedHoursAgo(long hours) {
+        ChargingOutlet outlet = outletRepo.findById(outletId).orElseThrow();
+        outlet.setCostPerHour(10.0);
+        outletRepo.save(outlet);
+
+        ChargingSession session = new ChargingSession();
+        session.setStartTime(LocalDateTime.now().minusHours(hours));
+        session.setStatus(ChargingSessionStatus.ACTIVE);
+        session.setReservation(reservationRepo.findById(reservationId).orElseThrow());
+        session.setOutlet(outlet);
+        return sessionRepo.save(session).getId();
+    }
+
+    @Test
+    void testEndedSessionIsSettledAsynchronously() throws Exception {
+        Long sessionId = activeSessionStartedHoursAgo(2);
+        Long consumerId = reservationRepo.findById(reservationId).orElseThrow().getConsumer().getId();
+
+        mockMvc.perform(get("/api/v1/sessions/" + sessionId + "/settlement"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(put("/api/v1/sessions/" + sessionId + "/end")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("energyUsed", 30.0))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.settlementStatus").value("PENDING"));
+
+        mockMvc.perform(put("/api/v1/sessions/" + sessionId + "/end")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("energyUsed", 30.0))))
+                .andExpect(status().isConflict());
+
+        settlementWorker.settlePending();
+
+        mockMvc.perform(get("/api/v1/sessions/" + sessionId + "/settlement"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SETTLED"))
+                .andExpect(jsonPath("$.totalCost").value(20.0));
+        // 2h at 10/h minus the 5.0 reservation fee
+        assertThat(consumerRepo.findById(consumerId).orElseThrow().getWallet()).isEqualTo(85.0);
+    }
+
+    @Test
+    void testSettlementFailsOnInsufficientFunds() throws Exception {
+        Long sessionId = activeSessionStartedHoursAgo(20);
+        Long consumerId = reservationRepo.findById(reservationId).orElseThrow().getConsumer().getId();
+
+        mockMvc.perform(put("/api/v1/sessions/" + sessionId + "/end")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("energyUsed", 80.0))))
+                .andExpect(status().isOk());
+
+        settlementWorker.settlePending();
+
+        mockMvc.perform(get("/api/v1/sessions/" + sessionId + "/settlement"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("FAILED"))
+                .andExpect(jsonPath("$.failureReason").exists());
+        assertThat(consumerRepo.findById(consumerId).orElseThrow().getWallet()).isEqualTo(100.0);
     }
  
-}
\ No newline at end of file
+    @Test
+    void testIngestMeterSamples() throws Exception {
+        MvcResult createResult = mockMvc.perform(post("/api/v1/sessions/start?reservationId=" + reservationId)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Long sessionId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+
+        List<Map<String, Object>> samples = List.of(
+                Map.of("sessionId", sessionId, "sampledAt", "2025-06-01T09:00:00Z", "energyKwh", 0.0, "powerKw", 11.0),
+                Map.of("sessionId", sessionId, "sampledAt", "2025-06-01T09:00:05Z", "energyKwh", 0.015, "powerKw", 11.2),
+                Map.of("sessionId", sessionId, "sampledAt", "2025-06-01T09:00:10Z", "energyKwh", -1.0, "powerKw", 11.2),
+                Map.of("sessionId", sessionId + 1000, "sampledAt", "2025-06-01T09:00:10Z", "energyKwh", 0.0, "powerKw", 7.0));
+
+        mockMvc.perform(post("/api/v1/sessions/samples")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(samples)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.accepted").value(2))
+                .andExpect(jsonPath("$.invalid").value(1))
+                .andExpect(jsonPath("$.unknownSession").value(1));
+
+        // Still in the open chunk
+        meterIngestionService.flush();
+        mockMvc.perform(get("/api/v1/sessions/" + sessionId + "/samples"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+
+        meterIngestionService.flushAll();
+        assertThat(meterChunkRepo.count()).isEqualTo(1);
+
+        mockMvc.perform(get("/api/v1/sessions/" + sessionId + "/samples"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].energyKwh").value(0.015));
+
+        mockMvc.perform(get("/api/v1/sessions/" + sessionId + "/series")
+                        .param("from", "2025-06-01T09:00:00Z")
+                        .param("to", "2025-06-01T09:01:00Z")
+                        .param("step", "PT1M"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].samples").value(2))
+                .andExpect(jsonPath("$[0].energyKwh").value(0.015))
+                .andExpect(jsonPath("$[0].maxPowerKw").value(11.2));
+    }
+
+    @Test
+    void testFailedChunkWriteIsRetried() throws Exception {
+        MvcResult createResult = mockMvc.perform(post("/api/v1/sessions/start?reservationId=" + reservationId)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Long sessionId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+        meterIngestionService.ingest(List.of(
+                new MeterSample(sessionId, Instant.parse("2025-06-01T09:00:00Z"), 0.0, 11.0),
+                new MeterSample(sessionId, Instant.parse("2025-06-01T09:00:05Z"), 0.015, 11.2)));
+
+        jdbcTemplate.execute("alter table meter_chunk rename to meter_chunk_away");
+        try {
+            assertThat(meterIngestionService.flushAll()).isZero();
+            assertThat(meterRegistry.get("evsync.meter.retry.size").gauge().value()).isEqualTo(2);
+        } finally {
+            jdbcTemplate.execute("alter table meter_chunk_away rename to meter_chunk");
+        }
+        // Readable while waiting, and written by the next flush, scheduled or not
+        mockMvc.perform(get("/api/v1/sessions/" + sessionId + "/samples"))
+                .andExpect(jsonPath("$.length()").value(2));
+        meterIngestionService.flush();
+        assertThat(meterChunkRepo.count()).isEqualTo(1);
+        assertThat(meterRegistry.get("evsync.meter.retry.size").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,103 @@
+package tqs.evsync.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import tqs.evsync.backend.dto.MeterSample;
+import tqs.evsync.backend.index.ActiveSessionRegistry;
+import tqs.evsync.backend.model.ChargingSession;
+import tqs.evsync.backend.model.OutboxEvent;
+import tqs.evsync.backend.model.enums.ChargingSessionStatus;
+import tqs.evsync.backend.model.enums.SettlementStatus;
+import tqs.evsync.backend.outbox.DomainEvent;
+import tqs.evsync.backend.repository.ChargingSessionRepository;
+import tqs.evsync.backend.repository.MeterChunkRepository;
+import tqs.evsync.backend.repository.OutboxEventRepository;
+import tqs.evsync.backend.service.MeterIngestionService;
+import tqs.evsync.backend.service.StaleSessionReaper;
+
+@SpringBootTest(properties = {
+    "evsync.sessions.stale-after=1h",
+    "evsync.sessions.reaper-batch-size=1",
+    "evsync.sessions.reaper-interval-ms=3600000",
+    "evsync.settlement.interval-ms=3600000",
+    "evsync.outbox.relay-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+public class StaleSessionReaperIT {
+
+    @Autowired
+    private StaleSessionReaper reaper;
+
+    @Autowired
+    private ChargingSessionRepository sessionRepo;
+
+    @Autowired
+    private MeterChunkRepository meterChunkRepo;
+
+    @Autowired
+    private MeterIngestionService meterIngestionService;
+
+    @Autowired
+    private ActiveSessionRegistry activeSessions;
+
+    @Autowired
+    private OutboxEventRepository outboxRepo;
+
+    @AfterEach
+    void tearDown() {
+        meterIngestionService.flushAll();
+        meterChunkRepo.deleteAll();
+        outboxRepo.deleteAllInBatch();
+        sessionRepo.deleteAll();
+    }
+
+    private Long session(ChargingSessionStatus status, LocalDateTime startTime) {
+        ChargingSession session = new ChargingSession();
+        session.setStatus(status);
+        session.setStartTime(startTime);
+        return sessionRepo.save(session).getId();
+    }
+
+    @Test
+    void testSilentSessionsAreInterruptedOneBatchPerRun() {
+        LocalDateTime threeHoursAgo = LocalDateTime.now().minusHours(3);
+        Long silent = session(ChargingSessionStatus.ACTIVE, threeHoursAgo);
+        Long alsoSilent = session(ChargingSessionStatus.ACTIVE, threeHoursAgo.plusMinutes(1));
+        Long sendingSamples = session(ChargingSessionStatus.ACTIVE, threeHoursAgo);
+        Long recent = session(ChargingSessionStatus.ACTIVE, LocalDateTime.now().minusMinutes(10));
+        Long completed = session(ChargingSessionStatus.COMPLETED, threeHoursAgo);
+
+        meterIngestionService.ingest(List.of(new MeterSample(sendingSamples, Instant.now().minusSeconds(60), 1.0, 7.0)));
+        meterIngestionService.flush();
+
+        assertThat(reaper.reap()).isEqualTo(1);
+        assertThat(reaper.reap()).isEqualTo(1);
+        assertThat(reaper.reap()).isZero();
+
+        for (Long id : List.of(silent, alsoSilent)) {
+            ChargingSession session = sessionRepo.findById(id).orElseThrow();
+            assertThat(session.getStatus()).isEqualTo(ChargingSessionStatus.INTERRUPTED);
+            assertThat(session.getEndTime()).isEqualTo(session.getStartTime());
+            assertThat(session.getSettlementStatus()).isEqualTo(SettlementStatus.PENDING);
+            assertThat(activeSessions.get(id)).isNull();
+        }
+        assertThat(sessionRepo.findById(sendingSamples).orElseThrow().getStatus()).isEqualTo(ChargingSessionStatus.ACTIVE);
+        assertThat(sessionRepo.findById(sendingSamples).orElseThrow().getLastActivityAt()).isNotNull();
+        assertThat(activeSessions.get(sendingSamples)).isNotNull();
+        assertThat(sessionRepo.findById(recent).orElseThrow().getStatus()).isEqualTo(ChargingSessionStatus.ACTIVE);
+        // One event per interrupted session, recorded with the bulk update
+        assertThat(outboxRepo.findAll()).filteredOn(e -> e.getEventType().equals(DomainEvent.SESSION_INTERRUPTED))
+            .extracting(OutboxEvent::getAggregateId).containsExactlyInAnyOrder(silent, alsoSilent);
+        assertThat(sessionRepo.findById(completed).orElseThrow().getStatus()).isEqualTo(ChargingSessionStatus.COMPLETED);
+    }
+}
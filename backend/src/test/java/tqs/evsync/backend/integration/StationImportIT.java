@@ -0,0 +1,158 @@
+package tqs.evsync.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import tqs.evsync.backend.model.ChargingStation;
+import tqs.evsync.backend.model.Operator;
+import tqs.evsync.backend.model.OutboxEvent;
+import tqs.evsync.backend.model.enums.ChargingStationStatus;
+import tqs.evsync.backend.model.enums.OperatorType;
+import tqs.evsync.backend.outbox.DomainEvent;
+import tqs.evsync.backend.repository.ChargingOutletRepository;
+import tqs.evsync.backend.repository.ChargingStationRepository;
+import tqs.evsync.backend.repository.OperatorRepository;
+import tqs.evsync.backend.repository.OutboxEventRepository;
+
+@SpringBootTest(properties = {
+    "evsync.import.chunk-size=2",
+    "evsync.outbox.relay-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class StationImportIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OperatorRepository operatorRepo;
+
+    @Autowired
+    private ChargingStationRepository stationRepo;
+
+    @Autowired
+    private ChargingOutletRepository outletRepo;
+
+    @Autowired
+    private OutboxEventRepository outboxRepo;
+
+    private Long operatorId;
+
+    @BeforeEach
+    void setup() {
+        Operator operator = new Operator();
+        operator.setEmail("import_op@example.com");
+        operator.setPassword("1234");
+        operator.setOperatorType(OperatorType.OPERATOR);
+        operatorId = operatorRepo.save(operator).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRepo.deleteAllInBatch();
+        outletRepo.deleteAllInBatch();
+        stationRepo.deleteAllInBatch();
+        operatorRepo.deleteAll();
+    }
+
+    @Test
+    void testCsvImportReportsRejectedRowsAndWritesTheRest() throws Exception {
+        // Warm the query cache so the import has to invalidate it
+        mockMvc.perform(get("/charging-station")).andExpect(jsonPath("$.length()").value(0));
+
+        String csv = """
+            latitude,longitude,status,outlets
+            40.6405,-8.6538,AVAILABLE,22/10.0;50/15.5
+            41.1579,-8.6291,,11/5.0
+            200,-8.6,AVAILABLE,22/10.0
+            40.6443,-8.6455,BROKEN,
+
+            38.7223,-9.1393,MAINTENANCE,
+            40.2,abc,AVAILABLE,
+            40.3,-8.5,AVAILABLE,0/10.0
+            """;
+
+        mockMvc.perform(post("/charging-station/import")
+                .param("operatorId", operatorId.toString())
+                .contentType("text/csv")
+                .content(csv))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.stationsImported").value(3))
+            .andExpect(jsonPath("$.outletsImported").value(3))
+            .andExpect(jsonPath("$.rowsRejected").value(4))
+            .andExpect(jsonPath("$.errors[0].line").value(4))
+            .andExpect(jsonPath("$.errors[0].message").value("Latitude must be within [-90, 90]"))
+            .andExpect(jsonPath("$.errors[1].line").value(5))
+            .andExpect(jsonPath("$.errors[2].line").value(8))
+            .andExpect(jsonPath("$.errors[3].line").value(9));
+
+        mockMvc.perform(get("/charging-station"))
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$[0].operator.id").value(operatorId))
+            .andExpect(jsonPath("$[0].outletCount").value(2))
+            .andExpect(jsonPath("$[1].status").value("AVAILABLE"))
+            .andExpect(jsonPath("$[2].status").value("MAINTENANCE"));
+
+        // The spatial index learns about the new stations without a restart
+        mockMvc.perform(get("/charging-station/nearby/40.6405/-8.6538/1"))
+            .andExpect(jsonPath("$.length()").value(1));
+
+        ChargingStation first = stationRepo.findWithOutletsById(stationRepo.findAll().get(0).getId()).orElseThrow();
+        assertThat(first.getChargingOutlets()).extracting("maxPower").containsExactlyInAnyOrder(22, 50);
+    }
+
+    @Test
+    void testNdjsonImport() throws Exception {
+        String ndjson = """
+            {"latitude": 40.6405, "longitude": -8.6538, "outlets": [{"maxPower": 22, "costPerHour": 10.0}]}
+            {"latitude": 41.1579, "longitude": -8.6291, "status": "OCCUPIED"}
+            {"latitude": 41.1579,
+            """;
+
+        mockMvc.perform(post("/charging-station/import")
+                .param("operatorId", operatorId.toString())
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(ndjson))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.stationsImported").value(2))
+            .andExpect(jsonPath("$.outletsImported").value(1))
+            .andExpect(jsonPath("$.rowsRejected").value(1))
+            .andExpect(jsonPath("$.errors[0].line").value(3));
+
+        assertThat(stationRepo.findAll()).extracting(ChargingStation::getStatus)
+            .containsExactlyInAnyOrder(ChargingStationStatus.AVAILABLE, ChargingStationStatus.OCCUPIED);
+        // Written in the chunk's transaction, one per station
+        assertThat(outboxRepo.findAll()).filteredOn(e -> e.getEventType().equals(DomainEvent.STATION_ADDED))
+            .extracting(OutboxEvent::getAggregateId)
+            .containsExactlyInAnyOrderElementsOf(stationRepo.findAll().stream().map(ChargingStation::getId).toList());
+    }
+
+    @Test
+    void testRejectsUnknownOperatorAndBadHeader() throws Exception {
+        mockMvc.perform(post("/charging-station/import")
+                .param("operatorId", "999999")
+                .contentType("text/csv")
+                .content("latitude,longitude\n40.0,-8.0\n"))
+            .andExpect(status().isNotFound());
+
+        mockMvc.perform(post("/charging-station/import")
+                .param("operatorId", operatorId.toString())
+                .contentType("text/csv")
+                .content("lat,lon\n40.0,-8.0\n"))
+            .andExpect(status().isBadRequest());
+    }
+}
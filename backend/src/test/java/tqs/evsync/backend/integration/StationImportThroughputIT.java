@@ -0,0 +1,90 @@
+package tqs.evsync.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import tqs.evsync.backend.model.Operator;
+import tqs.evsync.backend.model.enums.OperatorType;
+import tqs.evsync.backend.repository.ChargingOutletRepository;
+import tqs.evsync.backend.repository.ChargingStationRepository;
+import tqs.evsync.backend.repository.OperatorRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class StationImportThroughputIT {
+
+    private static final int STATIONS = 100_000;
+    // A fifth of what H2 does on a laptop: a whole country's stations in minutes at worst
+    private static final double MIN_STATIONS_PER_SECOND = 500;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OperatorRepository operatorRepo;
+
+    @Autowired
+    private ChargingStationRepository stationRepo;
+
+    @Autowired
+    private ChargingOutletRepository outletRepo;
+
+    private Long operatorId;
+
+    @BeforeEach
+    void setup() {
+        Operator operator = new Operator();
+        operator.setEmail("bulk_op@example.com");
+        operator.setPassword("1234");
+        operator.setOperatorType(OperatorType.OPERATOR);
+        operatorId = operatorRepo.save(operator).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outletRepo.deleteAllInBatch();
+        stationRepo.deleteAllInBatch();
+        operatorRepo.deleteAll();
+    }
+
+    @Test
+    void testLoadsOneHundredThousandStations() throws Exception {
+        StringBuilder csv = new StringBuilder("latitude,longitude,status,outlets\n");
+        for (int i = 0; i < STATIONS; i++) {
+            csv.append(36.0 + (i % 1000) * 0.006).append(',')
+               .append(-9.5 + (i / 1000) * 0.03).append(",AVAILABLE,22/10.0;50/15.0\n");
+        }
+
+        long began = System.nanoTime();
+        mockMvc.perform(post("/charging-station/import")
+                .param("operatorId", operatorId.toString())
+                .contentType("text/csv")
+                .content(csv.toString().getBytes(StandardCharsets.UTF_8)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.stationsImported").value(STATIONS))
+            .andExpect(jsonPath("$.outletsImported").value(2 * STATIONS))
+            .andExpect(jsonPath("$.rowsRejected").value(0));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began);
+
+        assertThat(stationRepo.count()).isEqualTo(STATIONS);
+        assertThat(outletRepo.count()).isEqualTo(2L * STATIONS);
+        assertThat(STATIONS * 1000.0 / Math.max(1, elapsedMs))
+            .as("stations per second for %d stations and %d outlets in %d ms", STATIONS, 2 * STATIONS, elapsedMs)
+            .isGreaterThanOrEqualTo(MIN_STATIONS_PER_SECOND);
+    }
+}
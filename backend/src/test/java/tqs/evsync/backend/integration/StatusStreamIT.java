@@ -0,0 +1,204 @@
+package tqs.evsync.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import tqs.evsync.backend.events.StatusBroadcaster;
+import tqs.evsync.backend.model.ChargingOutlet;
+import tqs.evsync.backend.model.ChargingSession;
+import tqs.evsync.backend.model.ChargingStation;
+import tqs.evsync.backend.model.Operator;
+import tqs.evsync.backend.model.Reservation;
+import tqs.evsync.backend.model.enums.ChargingSessionStatus;
+import tqs.evsync.backend.model.enums.ChargingStationStatus;
+import tqs.evsync.backend.model.enums.OperatorType;
+import tqs.evsync.backend.model.enums.ReservationStatus;
+import tqs.evsync.backend.repository.ChargingOutletRepository;
+import tqs.evsync.backend.repository.ChargingSessionRepository;
+import tqs.evsync.backend.repository.ChargingStationRepository;
+import tqs.evsync.backend.repository.OperatorRepository;
+import tqs.evsync.backend.repository.ReservationRepository;
+import tqs.evsync.backend.service.ReservationExpiryScheduler;
+import tqs.evsync.backend.service.StaleSessionReaper;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class StatusStreamIT {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private StatusBroadcaster broadcaster;
+
+    @Autowired
+    private ChargingStationRepository stationRepo;
+
+    @Autowired
+    private OperatorRepository operatorRepo;
+
+    @Autowired
+    private ChargingOutletRepository outletRepo;
+
+    @Autowired
+    private ReservationRepository reservationRepo;
+
+    @Autowired
+    private ChargingSessionRepository sessionRepo;
+
+    @Autowired
+    private ReservationExpiryScheduler expiryScheduler;
+
+    @Autowired
+    private StaleSessionReaper reaper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final List<CompletableFuture<?>> streams = new ArrayList<>();
+    private Long watchedId;
+    private Long otherId;
+
+    private ChargingStation station(Operator operator, double lat, double lon) {
+        ChargingStation station = new ChargingStation();
+        station.setLatitude(lat);
+        station.setLongitude(lon);
+        station.setStatus(ChargingStationStatus.AVAILABLE);
+        station.setOperator(operator);
+        return stationRepo.save(station);
+    }
+
+    @BeforeEach
+    void setup() {
+        Operator operator = new Operator();
+        operator.setEmail("stream_op@example.com");
+        operator.setPassword("1234");
+        operator.setOperatorType(OperatorType.OPERATOR);
+        operator = operatorRepo.save(operator);
+
+        watchedId = station(operator, 40.63, -8.65).getId();
+        otherId = station(operator, 38.72, -9.14).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        streams.forEach(s -> s.cancel(true));
+        client.shutdownNow();
+        sessionRepo.deleteAll();
+        reservationRepo.deleteAll();
+        outletRepo.deleteAll();
+        stationRepo.deleteAll();
+        operatorRepo.deleteAll();
+    }
+
+    private BlockingQueue<String> subscribe(String query) throws Exception {
+        int before = broadcaster.subscriberCount();
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/events/status" + query))
+            .header("Accept", "text/event-stream")
+            .build();
+        CompletableFuture<HttpResponse<Stream<String>>> response = client.sendAsync(request, HttpResponse.BodyHandlers.ofLines());
+        streams.add(response);
+        response.thenAccept(r -> r.body().forEach(lines::add));
+        for (int i = 0; i < 100 && broadcaster.subscriberCount() == before; i++) {
+            Thread.sleep(20);
+        }
+        return lines;
+    }
+
+    private String nextData(BlockingQueue<String> lines) throws InterruptedException {
+        while (true) {
+            String line = lines.poll(5, TimeUnit.SECONDS);
+            if (line == null) {
+                return null;
+            }
+            if (line.startsWith("data:")) {
+                return line.substring(5);
+            }
+        }
+    }
+
+    private void updateStatus(Long id, ChargingStationStatus status) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/charging-station/" + id + "/status?status=" + status))
+            .PUT(HttpRequest.BodyPublishers.noBody())
+            .build();
+        assertThat(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void testStationStatusChangeIsPushedToMatchingSubscribers() throws Exception {
+        BlockingQueue<String> byId = subscribe("?stationIds=" + watchedId);
+        BlockingQueue<String> byBox = subscribe("?minLat=38&maxLat=39&minLon=-10&maxLon=-9");
+
+        updateStatus(otherId, ChargingStationStatus.OCCUPIED);
+        updateStatus(watchedId, ChargingStationStatus.OUT_OF_SERVICE);
+
+        String watched = nextData(byId);
+        assertThat(watched).contains("\"entity\":\"station\"", "\"id\":" + watchedId, "OUT_OF_SERVICE");
+        assertThat(watched).doesNotContain("latitude");
+
+        String boxed = nextData(byBox);
+        assertThat(boxed).contains("\"id\":" + otherId, "OCCUPIED");
+        assertThat(List.of(byBox.toArray(new String[0]))).noneMatch(l -> l.contains("\"id\":" + watchedId + ","));
+    }
+
+    @Test
+    void testBulkExpiryAndReapingArePushedWithTheStationLocation() throws Exception {
+        ChargingStation watched = stationRepo.findById(watchedId).orElseThrow();
+        ChargingOutlet outlet = new ChargingOutlet();
+        outlet.setMaxPower(22);
+        outlet.setCostPerHour(2.0);
+        outlet.setChargingStation(watched);
+        outlet = outletRepo.save(outlet);
+
+        Reservation reservation = new Reservation();
+        reservation.setStation(watched);
+        reservation.setOutlet(outlet);
+        reservation.setStartTime("2030-01-01T09:00:00");
+        reservation.setDuration(1.0);
+        reservation.setStatus(ReservationStatus.PENDING);
+        reservation.setCreatedAt(LocalDateTime.now().minusHours(1));
+        reservationRepo.save(reservation);
+
+        ChargingSession session = new ChargingSession();
+        session.setOutlet(outlet);
+        session.setStatus(ChargingSessionStatus.ACTIVE);
+        session.setStartTime(LocalDateTime.now().minusDays(1));
+        sessionRepo.save(session);
+
+        // Only events that carry the station's location match a bounding box
+        BlockingQueue<String> byBox = subscribe("?minLat=40&maxLat=41&minLon=-9&maxLon=-8");
+        expiryScheduler.loadPending();
+        reaper.reap();
+
+        List<String> received = List.of(nextData(byBox), nextData(byBox));
+        assertThat(received).anySatisfy(e -> assertThat(e).contains("\"entity\":\"reservation\"", "CANCELLED"));
+        assertThat(received).anySatisfy(e -> assertThat(e).contains("\"entity\":\"session\"", "INTERRUPTED"));
+    }
+
+    @Test
+    void testPartialBoundingBoxRejected() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/events/status?minLat=1"))
+            .build();
+        assertThat(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(400);
+    }
+}
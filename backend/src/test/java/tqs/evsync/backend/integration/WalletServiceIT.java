@@ -0,0 +1,163 @@
+package tqs.evsync.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import tqs.evsync.backend.model.Consumer;
+import tqs.evsync.backend.model.enums.WalletTransactionType;
+import tqs.evsync.backend.repository.ConsumerRepository;
+import tqs.evsync.backend.repository.WalletSnapshotRepository;
+import tqs.evsync.backend.repository.WalletTransactionRepository;
+import tqs.evsync.backend.service.WalletService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class WalletServiceIT {
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private ConsumerRepository consumerRepo;
+
+    @Autowired
+    private WalletTransactionRepository transactionRepo;
+
+    @Autowired
+    private WalletSnapshotRepository snapshotRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long consumerId;
+
+    @BeforeEach
+    void setup() {
+        Consumer consumer = new Consumer();
+        consumer.setEmail("wallet@example.com");
+        consumer.setPassword("1234");
+        consumer.setWallet(10.0);
+        consumerId = walletService.register(consumer).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        snapshotRepo.deleteAll();
+        transactionRepo.deleteAll();
+        consumerRepo.deleteAll();
+    }
+
+    @Test
+    void testDebitNeverOverdraws() {
+        assertThat(walletService.debit(consumerId, 600, WalletTransactionType.RESERVATION_FEE, null)).isTrue();
+        assertThat(walletService.debit(consumerId, 600, WalletTransactionType.RESERVATION_FEE, null)).isFalse();
+
+        assertThat(walletService.balanceCents(consumerId)).isEqualTo(400);
+        assertThat(walletService.getTransactions(consumerId)).hasSize(2);
+    }
+
+    @Test
+    void testUnknownConsumerRejected() {
+        assertThatThrownBy(() -> walletService.debit(999999L, 100, WalletTransactionType.SESSION_CHARGE, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> walletService.credit(999999L, 100, WalletTransactionType.TOP_UP, null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testConcurrentCreditsAndDebitsLoseNothing() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger debited = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 200; i++) {
+            boolean credit = i % 2 == 0;
+            futures.add(pool.submit(() -> {
+                start.await();
+                if (credit) {
+                    walletService.credit(consumerId, 100, WalletTransactionType.TOP_UP, null);
+                } else if (walletService.debit(consumerId, 150, WalletTransactionType.SESSION_CHARGE, null)) {
+                    debited.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(1, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        long expected = 1000 + 100 * 100 - 150L * debited.get();
+        assertThat(walletService.balanceCents(consumerId)).isEqualTo(expected).isNotNegative();
+        assertThat(walletService.ledgerBalanceCents(consumerId)).isEqualTo(expected);
+    }
+
+    @Test
+    void testSnapshotPlusTailMatchesBalance() {
+        walletService.credit(consumerId, 250, WalletTransactionType.TOP_UP, null);
+        assertThat(walletService.takeSnapshots()).isEqualTo(1);
+        assertThat(snapshotRepo.findFirstByConsumerIdOrderByLastTransactionIdDesc(consumerId).orElseThrow().getBalanceCents())
+            .isEqualTo(1250);
+
+        walletService.debit(consumerId, 50, WalletTransactionType.RESERVATION_FEE, null);
+        walletService.setBalance(consumerId, 2000);
+
+        assertThat(walletService.takeSnapshots()).isEqualTo(1);
+        assertThat(walletService.ledgerBalanceCents(consumerId)).isEqualTo(2000);
+        assertThat(walletService.balanceCents(consumerId)).isEqualTo(2000);
+    }
+
+    @Test
+    void testEntryCommittedAfterALaterIdIsStillSnapshotted() throws Exception {
+        Consumer other = new Consumer();
+        other.setEmail("wallet2@example.com");
+        other.setPassword("1234");
+        Long otherId = walletService.register(other).getId();
+        walletService.takeSnapshots();
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        CountDownLatch credited = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> open = pool.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            walletService.credit(consumerId, 100, WalletTransactionType.TOP_UP, null);
+            credited.countDown();
+            try {
+                release.await(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        assertThat(credited.await(1, TimeUnit.MINUTES)).isTrue();
+        // Gets a higher id than the still uncommitted top-up and is snapshotted first
+        walletService.credit(otherId, 50, WalletTransactionType.TOP_UP, null);
+        assertThat(walletService.takeSnapshots()).isEqualTo(1);
+
+        release.countDown();
+        open.get(1, TimeUnit.MINUTES);
+        pool.shutdown();
+
+        assertThat(walletService.takeSnapshots()).isEqualTo(1);
+        assertThat(snapshotRepo.findFirstByConsumerIdOrderByLastTransactionIdDesc(consumerId).orElseThrow().getBalanceCents())
+            .isEqualTo(1100);
+    }
+}
@@ -17,6 +17,14 @@ public class ConsumerTest {
         assertEquals(50, consumer.getWallet());
     }
 
+    @Test
+    void testWalletIsKeptInWholeCents() {
+        Consumer consumer = new Consumer();
+        consumer.setWallet(0.1 + 0.2);
+        assertEquals(30, consumer.getWalletCents());
+        assertEquals(0.3, consumer.getWallet());
+    }
+
     @Test
     void testReservationsGetterSetter() {
         Consumer consumer = new Consumer();
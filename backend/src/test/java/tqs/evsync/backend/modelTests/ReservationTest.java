@@ -5,6 +5,8 @@ import tqs.evsync.backend.model.Reservation;
 import tqs.evsync.backend.model.Consumer;
 import tqs.evsync.backend.model.enums.ReservationStatus;
 
+import java.time.LocalDateTime;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class ReservationTest {
@@ -26,4 +28,17 @@ public class ReservationTest {
         assertEquals(ReservationStatus.PENDING, reservation.getStatus());
         assertEquals(consumer, reservation.getConsumer());
     }
+
+    @Test
+    void testEndAtFollowsStartAndDuration() {
+        Reservation reservation = new Reservation();
+        reservation.setDuration(1.5);
+        reservation.setStartTime("2025-05-20T18:00");
+
+        assertEquals(LocalDateTime.parse("2025-05-20T18:00"), reservation.getStartAt());
+        assertEquals(LocalDateTime.parse("2025-05-20T19:30"), reservation.getEndAt());
+
+        reservation.setDuration(0.25);
+        assertEquals(LocalDateTime.parse("2025-05-20T18:15"), reservation.getEndAt());
+    }
 }
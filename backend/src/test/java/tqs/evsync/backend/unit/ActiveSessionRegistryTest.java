@@ -0,0 +1,69 @@
+package tqs.evsync.backend.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tqs.evsync.backend.index.ActiveSessionRegistry;
+import tqs.evsync.backend.index.ActiveSessionRegistry.ActiveSession;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ActiveSessionRegistryTest {
+
+    private static final LocalDateTime T = LocalDateTime.parse("2025-06-01T09:00:00");
+
+    private ActiveSessionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ActiveSessionRegistry();
+        registry.rebuild(List.of(
+            new ActiveSession(1L, 10L, 100L, 1000L, T),
+            new ActiveSession(2L, 11L, 100L, 1001L, T),
+            new ActiveSession(3L, 20L, 200L, null, T)
+        ));
+    }
+
+    @Test
+    void testLookupByOutletAndStation() {
+        assertTrue(registry.isLoaded());
+        assertEquals(1L, registry.byOutlet(10L).sessionId());
+        assertNull(registry.byOutlet(12L));
+        assertEquals(List.of(1L, 2L), registry.byStation(100L).stream().map(ActiveSession::sessionId).sorted().toList());
+        assertEquals(List.of(), registry.byStation(300L));
+        assertEquals(3, registry.all().size());
+    }
+
+    @Test
+    void testRemoveClearsEveryKey() {
+        registry.remove(1L);
+
+        assertNull(registry.get(1L));
+        assertNull(registry.byOutlet(10L));
+        assertEquals(List.of(2L), registry.byStation(100L).stream().map(ActiveSession::sessionId).toList());
+
+        registry.remove(3L);
+        assertEquals(List.of(), registry.byStation(200L));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void testPutMovesSessionToNewOutlet() {
+        registry.put(new ActiveSession(1L, 20L, 200L, 1000L, T));
+
+        assertNull(registry.byOutlet(10L));
+        assertEquals(1L, registry.byOutlet(20L).sessionId());
+        assertEquals(List.of(2L), registry.byStation(100L).stream().map(ActiveSession::sessionId).toList());
+        assertEquals(3, registry.size());
+    }
+
+    @Test
+    void testRemovingOlderSessionKeepsNewerOneOnSameOutlet() {
+        registry.put(new ActiveSession(4L, 10L, 100L, null, T.plusHours(1)));
+        registry.remove(1L);
+
+        assertEquals(4L, registry.byOutlet(10L).sessionId());
+    }
+}
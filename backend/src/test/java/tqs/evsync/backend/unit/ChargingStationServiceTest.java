@@ -1,7 +1,8 @@
 package tqs.evsync.backend.unit;
 
 import org.junit.jupiter.api.Test;
-import tqs.evsync.backend.model.ChargingStation;
+import tqs.evsync.backend.dto.StationSummary;
+import tqs.evsync.backend.index.StationSpatialIndex;
 import tqs.evsync.backend.repository.ChargingOutletRepository;
 import tqs.evsync.backend.repository.ChargingStationRepository;
 import tqs.evsync.backend.repository.OperatorRepository;
@@ -10,6 +11,7 @@ import tqs.evsync.backend.service.ChargingStationService;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.Mockito.*;
 
 
@@ -20,18 +22,15 @@ public class ChargingStationServiceTest {
         ChargingStationRepository stationRepo = mock(ChargingStationRepository.class);
         OperatorRepository operatorRepo = mock(OperatorRepository.class);
         ChargingOutletRepository outletRepo = mock(ChargingOutletRepository.class);
-        ChargingStationService service = new ChargingStationService(stationRepo, operatorRepo, outletRepo, null);
+        ChargingStationService service = new ChargingStationService(stationRepo, operatorRepo, outletRepo, null, new StationSpatialIndex(0.1), null, null);
 
-        ChargingStation s1 = new ChargingStation();
-        s1.setId(1L); s1.setLatitude(40.64); s1.setLongitude(-8.65);
+        StationSummary s1 = new StationSummary(1L, 40.64, -8.65, null, 1L, 0L);
+        StationSummary s2 = new StationSummary(2L, 42.0, -9.0, null, 1L, 0L);
 
-        ChargingStation s2 = new ChargingStation();
-        s2.setId(2L); s2.setLatitude(42.0); s2.setLongitude(-9.0);
+        when(stationRepo.findSummariesWithinBoundingBox(anyDouble(), anyDouble(), anyDouble(), anyDouble())).thenReturn(List.of(s1, s2));
 
-        when(stationRepo.findAll()).thenReturn(List.of(s1, s2));
-
-        List<ChargingStation> result = service.getStationsNear(40.64, -8.65, 10.0);
+        List<StationSummary> result = service.getStationSummariesNear(40.64, -8.65, 10.0, null);
         assertEquals(1, result.size());
-        assertEquals(1L, result.get(0).getId());
+        assertEquals(1L, result.get(0).id());
     }
 }
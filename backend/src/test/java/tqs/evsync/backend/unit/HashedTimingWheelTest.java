@@ -0,0 +1,68 @@
+package tqs.evsync.backend.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tqs.evsync.backend.util.HashedTimingWheel;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HashedTimingWheelTest {
+
+    private HashedTimingWheel<Long> wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new HashedTimingWheel<>(100, 8, 0);
+    }
+
+    @Test
+    void testExpiresOnlyDueKeys() {
+        wheel.schedule(1L, 250);
+        wheel.schedule(2L, 700);
+
+        assertEquals(List.of(), wheel.advance(200));
+        assertEquals(List.of(1L), wheel.advance(300));
+        assertEquals(List.of(2L), wheel.advance(700));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testDeadlineBeyondOneRevolutionWaitsForItsTurn() {
+        wheel.schedule(1L, 1000);   // tick 10 shares a bucket with tick 2
+
+        assertEquals(List.of(), wheel.advance(200));
+        assertEquals(List.of(), wheel.advance(900));
+        assertEquals(List.of(1L), wheel.advance(1000));
+    }
+
+    @Test
+    void testLongPauseExpiresEverythingDue() {
+        for (long i = 0; i < 20; i++) {
+            wheel.schedule(i, 100 * (i + 1));
+        }
+
+        assertEquals(20, wheel.advance(100_000).size());
+    }
+
+    @Test
+    void testCancelAndReschedule() {
+        wheel.schedule(1L, 200);
+        wheel.schedule(2L, 200);
+        assertTrue(wheel.cancel(1L));
+        assertFalse(wheel.cancel(1L));
+        wheel.schedule(2L, 500);
+
+        assertEquals(List.of(), wheel.advance(400));
+        assertEquals(List.of(2L), wheel.advance(500));
+    }
+
+    @Test
+    void testPastDeadlineFiresOnNextTick() {
+        wheel.advance(1000);
+        wheel.schedule(1L, 0);
+
+        assertEquals(List.of(1L), wheel.advance(1100));
+    }
+}
@@ -0,0 +1,87 @@
+package tqs.evsync.backend.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tqs.evsync.backend.idempotency.InMemoryIdempotencyStore;
+import tqs.evsync.backend.idempotency.StoredResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryIdempotencyStoreTest {
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-06-01T09:00:00Z");
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private MutableClock clock;
+    private InMemoryIdempotencyStore store;
+
+    private static StoredResponse response(String body) {
+        return new StoredResponse("fp", 200, "application/json", body.getBytes());
+    }
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        store = new InMemoryIdempotencyStore(3, Duration.ofMinutes(10), clock);
+    }
+
+    @Test
+    void testFindReturnsSavedResponse() {
+        store.save("a", response("{}"));
+
+        assertEquals("{}", new String(store.find("a").orElseThrow().body()));
+        assertTrue(store.find("b").isEmpty());
+    }
+
+    @Test
+    void testEntriesExpireAfterTtl() {
+        store.save("a", response("1"));
+        clock.now = clock.now.plus(Duration.ofMinutes(10));
+
+        assertTrue(store.find("a").isEmpty());
+    }
+
+    @Test
+    void testOldestEntryEvictedWhenFull() {
+        store.save("a", response("1"));
+        store.save("b", response("2"));
+        store.save("c", response("3"));
+        store.save("d", response("4"));
+
+        assertEquals(3, store.size());
+        assertTrue(store.find("a").isEmpty());
+        assertTrue(store.find("d").isPresent());
+    }
+
+    @Test
+    void testExpiredEntriesPurgedOnSave() {
+        store.save("a", response("1"));
+        store.save("b", response("2"));
+        clock.now = clock.now.plus(Duration.ofMinutes(11));
+        store.save("c", response("3"));
+
+        assertEquals(1, store.size());
+    }
+}
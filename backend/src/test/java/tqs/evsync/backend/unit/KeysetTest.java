@@ -0,0 +1,53 @@
+package tqs.evsync.backend.unit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import tqs.evsync.backend.paging.Keyset;
+import tqs.evsync.backend.paging.KeysetPage;
+import tqs.evsync.backend.paging.Pagination;
+
+public class KeysetTest {
+
+    private final Pagination pagination = new Pagination(50);
+
+    @Test
+    void testDefaultsToFirstPageOfMaxSize() {
+        Keyset keyset = pagination.keyset(null, null);
+
+        assertEquals(0L, keyset.after());
+        assertEquals(50, keyset.limit());
+        assertEquals(51, keyset.fetch().getPageSize());
+        assertEquals(0L, keyset.fetch().getOffset());
+    }
+
+    @Test
+    void testLimitIsCappedAndValidated() {
+        assertEquals(50, pagination.keyset(null, 10_000).limit());
+        assertEquals(7, pagination.keyset(null, 7).limit());
+        assertThrows(IllegalArgumentException.class, () -> pagination.keyset(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> pagination.keyset("not a cursor!", 5));
+    }
+
+    @Test
+    void testPageTrimsProbeRowAndCursorResumesAfterLastItem() {
+        KeysetPage<Long> page = new Keyset(0L, 3).page(List.of(4L, 8L, 15L, 16L), Function.identity());
+
+        assertEquals(List.of(4L, 8L, 15L), page.items());
+        assertNotNull(page.nextCursor());
+        assertEquals(15L, pagination.keyset(page.nextCursor(), 3).after());
+    }
+
+    @Test
+    void testLastPageHasNoCursor() {
+        KeysetPage<Long> page = new Keyset(15L, 3).page(List.of(16L, 23L), Function.identity());
+
+        assertEquals(List.of(16L, 23L), page.items());
+        assertNull(page.nextCursor());
+        assertNull(page.toResponse().getHeaders().getFirst(KeysetPage.NEXT_CURSOR_HEADER));
+    }
+}
@@ -0,0 +1,55 @@
+package tqs.evsync.backend.unit;
+
+import org.junit.jupiter.api.Test;
+import tqs.evsync.backend.util.MeterChunkCodec;
+import tqs.evsync.backend.util.MeterChunkCodec.Point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MeterChunkCodecTest {
+
+    @Test
+    void testRoundTrip() {
+        List<Point> points = List.of(
+            new Point(1_748_768_400_000L, 0, 11_000),
+            new Point(1_748_768_405_000L, 15, 11_200),
+            new Point(1_748_768_410_000L, 31, 10_900),
+            new Point(1_748_768_416_500L, 48, 0));
+
+        assertEquals(points, MeterChunkCodec.decode(MeterChunkCodec.encode(points)));
+    }
+
+    @Test
+    void testEmptyChunk() {
+        assertEquals(List.of(), MeterChunkCodec.decode(MeterChunkCodec.encode(List.of())));
+    }
+
+    @Test
+    void testNegativeDeltasSurvive() {
+        List<Point> points = List.of(new Point(10_000, 500, 7_000), new Point(5_000, 400, 22_000), new Point(-1, -3, 0));
+
+        assertEquals(points, MeterChunkCodec.decode(MeterChunkCodec.encode(points)));
+    }
+
+    @Test
+    void testRegularSamplesPackIntoFewBytes() {
+        Random random = new Random(7);
+        List<Point> points = new ArrayList<>();
+        long energy = 0;
+        for (int i = 0; i < 256; i++) {
+            long power = 11_000 + random.nextInt(200);
+            energy += power * 5 / 3600;
+            points.add(new Point(1_748_768_400_000L + i * 5_000L, energy, power));
+        }
+
+        byte[] data = MeterChunkCodec.encode(points);
+
+        assertEquals(points, MeterChunkCodec.decode(data));
+        // One byte for the steady interval, one for energy, up to two for power
+        assertTrue(data.length < 256 * 4 + 16, "chunk took " + data.length + " bytes");
+    }
+}
@@ -0,0 +1,81 @@
+package tqs.evsync.backend.unit;
+
+import org.junit.jupiter.api.Test;
+import tqs.evsync.backend.util.MpscRingBuffer;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MpscRingBufferTest {
+
+    @Test
+    void testDrainsInOrder() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(8);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(buffer.offer(i));
+        }
+
+        List<Integer> out = new ArrayList<>();
+        assertEquals(3, buffer.drain(out::add, 3));
+        assertEquals(2, buffer.drain(out::add, 10));
+        assertEquals(List.of(0, 1, 2, 3, 4), out);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void testOfferFailsWhenFull() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+
+        buffer.drain(i -> { }, 1);
+        assertTrue(buffer.offer(4));
+    }
+
+    @Test
+    void testCapacityMustBePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new MpscRingBuffer<>(6));
+    }
+
+    @Test
+    void testConcurrentProducersLoseNothing() throws Exception {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(1024);
+        int producers = 8;
+        int perProducer = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            });
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        start.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (seen.size() < producers * perProducer && System.nanoTime() < deadline) {
+            buffer.drain(seen::add, 256);
+        }
+        pool.shutdown();
+
+        assertEquals(producers * perProducer, seen.size());
+    }
+}
@@ -0,0 +1,112 @@
+package tqs.evsync.backend.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tqs.evsync.backend.index.OutletScheduleIndex;
+import tqs.evsync.backend.index.OutletScheduleIndex.Booking;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OutletScheduleIndexTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.parse("2025-06-01T09:00");
+
+    private OutletScheduleIndex index;
+
+    private static Booking booking(long reservationId, long outletId, String start, double hours) {
+        LocalDateTime startAt = LocalDateTime.parse(start);
+        return new Booking(reservationId, outletId, startAt, startAt.plusMinutes((long) (hours * 60)));
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new OutletScheduleIndex();
+        index.rebuild(List.of(
+            booking(1L, 10L, "2025-06-01T09:00", 1.5),   // 09:00 - 10:30
+            booking(2L, 10L, "2025-06-01T12:00", 0.5),   // 12:00 - 12:30
+            booking(3L, 20L, "2025-06-01T09:00", 8.0)    // other outlet, all day
+        ));
+    }
+
+    @Test
+    void testOverlapDetection() {
+        assertFalse(index.isFree(10L, NINE.plusMinutes(30), NINE.plusMinutes(60)));
+        assertFalse(index.isFree(10L, NINE.minusMinutes(30), NINE.plusMinutes(1)));
+        assertFalse(index.isFree(10L, NINE.minusHours(1), NINE.plusHours(5)));
+        assertFalse(index.isFree(20L, NINE.plusHours(7), NINE.plusHours(9)));
+    }
+
+    @Test
+    void testTouchingIntervalsDoNotConflict() {
+        assertTrue(index.isFree(10L, NINE.plusMinutes(90), NINE.plusHours(3)));
+        assertTrue(index.isFree(10L, NINE.minusHours(1), NINE));
+    }
+
+    @Test
+    void testUnknownOutletIsFree() {
+        assertTrue(index.isFree(99L, NINE, NINE.plusHours(1)));
+    }
+
+    @Test
+    void testRemoveReleasesSlot() {
+        index.remove(1L);
+
+        assertTrue(index.isFree(10L, NINE, NINE.plusHours(1)));
+        assertFalse(index.isFree(10L, NINE.plusHours(3), NINE.plusHours(4)));
+    }
+
+    @Test
+    void testAddReplacesExistingBookingForReservation() {
+        index.add(booking(2L, 10L, "2025-06-01T15:00", 1.0));
+
+        assertTrue(index.isFree(10L, NINE.plusHours(3), NINE.plusHours(4)));
+        assertFalse(index.isFree(10L, NINE.plusHours(6), NINE.plusHours(7)));
+    }
+
+    @Test
+    void testLongBookingFoundAfterShorterOnesStartLater() {
+        index.add(booking(4L, 30L, "2025-06-01T06:00", 10.0));
+        index.add(booking(5L, 30L, "2025-06-01T07:00", 0.5));
+
+        assertFalse(index.isFree(30L, NINE.plusHours(5), NINE.plusHours(6)));
+    }
+
+    @Test
+    void testDayBitmapMarksTouchedSlots() {
+        long[] bits = index.dayBitmap(10L, LocalDate.parse("2025-06-01"));
+        BitSet busy = BitSet.valueOf(bits);
+
+        // 09:00 - 10:30 is slots 108..125, 12:00 - 12:30 is slots 144..149
+        assertEquals(18 + 6, busy.cardinality());
+        assertEquals(108, busy.nextSetBit(0));
+        assertEquals(126, busy.nextClearBit(108));
+        assertEquals(144, busy.nextSetBit(126));
+        assertEquals(150, busy.nextClearBit(144));
+        assertEquals(0, BitSet.valueOf(index.dayBitmap(10L, LocalDate.parse("2025-06-02"))).cardinality());
+    }
+
+    @Test
+    void testDayBitmapSplitsBookingsAcrossMidnight() {
+        index.add(booking(6L, 40L, "2025-06-01T23:50", 0.5));
+
+        BitSet first = BitSet.valueOf(index.dayBitmap(40L, LocalDate.parse("2025-06-01")));
+        BitSet second = BitSet.valueOf(index.dayBitmap(40L, LocalDate.parse("2025-06-02")));
+        assertEquals(List.of(286, 287), first.stream().boxed().toList());
+        assertEquals(List.of(0, 1, 2, 3), second.stream().boxed().toList());
+    }
+
+    @Test
+    void testDayBitmapKeepsOverlappingBitsOnRemove() {
+        index.add(booking(7L, 20L, "2025-06-01T16:00", 2.0));
+        index.remove(3L);
+
+        BitSet busy = BitSet.valueOf(index.dayBitmap(20L, LocalDate.parse("2025-06-01")));
+        assertEquals(192, busy.nextSetBit(0));
+        assertEquals(24, busy.cardinality());
+    }
+}
@@ -0,0 +1,129 @@
+package tqs.evsync.backend.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tqs.evsync.backend.index.StationSpatialIndex;
+import tqs.evsync.backend.index.StationSpatialIndex.Neighbour;
+import tqs.evsync.backend.model.ChargingStation;
+import tqs.evsync.backend.model.enums.ChargingStationStatus;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StationSpatialIndexTest {
+
+    private StationSpatialIndex index;
+
+    private static ChargingStation station(long id, double lat, double lon, ChargingStationStatus status) {
+        ChargingStation s = new ChargingStation();
+        s.setId(id);
+        s.setLatitude(lat);
+        s.setLongitude(lon);
+        s.setStatus(status);
+        return s;
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new StationSpatialIndex(0.1);
+        index.rebuild(List.of(
+            station(1L, 40.6405, -8.6538, ChargingStationStatus.AVAILABLE),   // Aveiro
+            station(2L, 40.6443, -8.6455, ChargingStationStatus.OCCUPIED),    // Aveiro, ~0.8 km away
+            station(3L, 41.1579, -8.6291, ChargingStationStatus.AVAILABLE),   // Porto, ~57 km away
+            station(4L, 38.7223, -9.1393, ChargingStationStatus.AVAILABLE)    // Lisbon
+        ));
+    }
+
+    @Test
+    void testRadiusSearchOnlyReturnsStationsInsideCircle() {
+        assertEquals(List.of(1L, 2L), index.idsWithin(40.6405, -8.6538, 5.0, null).stream().sorted().toList());
+        assertEquals(List.of(1L, 2L, 3L), index.idsWithin(40.6405, -8.6538, 60.0, null).stream().sorted().toList());
+    }
+
+    @Test
+    void testStatusFilter() {
+        assertEquals(List.of(1L), index.idsWithin(40.6405, -8.6538, 5.0, ChargingStationStatus.AVAILABLE));
+    }
+
+    @Test
+    void testLargeRadiusCoversWholeCatalogue() {
+        assertEquals(4, index.idsWithin(40.0, -8.0, 20000.0, null).size());
+    }
+
+    @Test
+    void testPutMovesAndUpdatesExistingStation() {
+        index.put(station(2L, 38.7200, -9.1400, ChargingStationStatus.AVAILABLE));
+
+        assertEquals(List.of(1L), index.idsWithin(40.6405, -8.6538, 5.0, null));
+        assertEquals(List.of(2L, 4L), index.idsWithin(38.7223, -9.1393, 1.0, ChargingStationStatus.AVAILABLE).stream().sorted().toList());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void testRemove() {
+        index.remove(1L);
+
+        assertEquals(List.of(2L), index.idsWithin(40.6405, -8.6538, 5.0, null));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testSearchAcrossAntimeridian() {
+        index.put(station(5L, 0.0, 179.99, ChargingStationStatus.AVAILABLE));
+        index.put(station(6L, 0.0, -179.99, ChargingStationStatus.AVAILABLE));
+
+        assertEquals(List.of(5L, 6L), index.idsWithin(0.0, 180.0, 5.0, null).stream().sorted().toList());
+    }
+
+    @Test
+    void testStationsWithoutCoordinatesAreIgnored() {
+        ChargingStation noCoords = new ChargingStation();
+        noCoords.setId(7L);
+        index.put(noCoords);
+
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void testNearestIsSortedAndBounded() {
+        List<Neighbour> nearest = index.nearest(40.6405, -8.6538, 3, null);
+
+        assertEquals(List.of(1L, 2L, 3L), nearest.stream().map(Neighbour::id).toList());
+        assertEquals(0.0, nearest.get(0).distanceKm(), 1e-9);
+        assertTrue(nearest.get(1).distanceKm() < nearest.get(2).distanceKm());
+    }
+
+    @Test
+    void testNearestWithStatusFilter() {
+        List<Neighbour> nearest = index.nearest(40.6443, -8.6455, 2, ChargingStationStatus.AVAILABLE);
+
+        assertEquals(List.of(1L, 3L), nearest.stream().map(Neighbour::id).toList());
+    }
+
+    @Test
+    void testNearestReturnsEverythingWhenKExceedsCatalogue() {
+        assertEquals(4, index.nearest(0.0, 0.0, 10, null).size());
+    }
+
+    @Test
+    void testNearestMatchesBruteForce() {
+        Random random = new Random(42);
+        List<ChargingStation> stations = IntStream.range(0, 2000)
+            .mapToObj(i -> station(i, 40 + random.nextDouble() * 2, -9 + random.nextDouble() * 2, ChargingStationStatus.AVAILABLE))
+            .toList();
+        index.rebuild(stations);
+
+        List<Long> expected = stations.stream()
+            .sorted((a, b) -> Double.compare(
+                StationSpatialIndex.distanceKm(41.0, -8.0, a.getLatitude(), a.getLongitude()),
+                StationSpatialIndex.distanceKm(41.0, -8.0, b.getLatitude(), b.getLongitude())))
+            .limit(25)
+            .map(ChargingStation::getId)
+            .toList();
+
+        assertEquals(expected, index.nearest(41.0, -8.0, 25, null).stream().map(Neighbour::id).toList());
+    }
+}
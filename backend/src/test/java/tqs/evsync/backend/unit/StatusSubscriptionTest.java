@@ -0,0 +1,81 @@
+package tqs.evsync.backend.unit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tqs.evsync.backend.events.StatusEvent;
+import tqs.evsync.backend.events.StatusFilter;
+import tqs.evsync.backend.events.StatusSubscription;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatusSubscriptionTest {
+
+    private static class RecordingEmitter extends SseEmitter {
+        final List<SseEventBuilder> sent = new ArrayList<>();
+        boolean fail;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (fail) {
+                throw new IOException("client gone");
+            }
+            sent.add(builder);
+        }
+    }
+
+    private static StatusEvent outlet(long id, long stationId, String status, double lat, double lon) {
+        return new StatusEvent("outlet", id, stationId, id, status, Instant.now(), lat, lon);
+    }
+
+    @Test
+    void testFilterByStationIds() {
+        StatusFilter filter = new StatusFilter(Set.of(1L), null, null, null, null);
+
+        assertTrue(filter.matches(outlet(10, 1, "AVAILABLE", 40.6, -8.6)));
+        assertFalse(filter.matches(outlet(11, 2, "AVAILABLE", 40.6, -8.6)));
+    }
+
+    @Test
+    void testFilterByBoundingBox() {
+        StatusFilter filter = new StatusFilter(Set.of(), 40.0, 41.0, -9.0, -8.0);
+
+        assertTrue(filter.matches(outlet(10, 1, "AVAILABLE", 40.6, -8.6)));
+        assertFalse(filter.matches(outlet(11, 2, "AVAILABLE", 38.7, -9.1)));
+        assertTrue(StatusFilter.all().matches(outlet(11, 2, "AVAILABLE", 38.7, -9.1)));
+    }
+
+    @Test
+    void testUpdatesCoalesceWhileSendIsPending() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        StatusSubscription subscription = new StatusSubscription(emitter, StatusFilter.all());
+
+        assertTrue(subscription.offer(outlet(10, 1, "AVAILABLE", 0, 0)));
+        // A send is now due, later events only replace what is pending
+        assertFalse(subscription.offer(outlet(10, 1, "OCCUPIED", 0, 0)));
+        assertFalse(subscription.offer(outlet(10, 1, "AVAILABLE", 0, 0)));
+        assertFalse(subscription.offer(outlet(20, 1, "OCCUPIED", 0, 0)));
+        subscription.drain();
+
+        assertEquals(2, emitter.sent.size());
+        assertTrue(subscription.offer(outlet(10, 1, "OCCUPIED", 0, 0)));
+    }
+
+    @Test
+    void testFailedSendClosesSubscription() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.fail = true;
+        StatusSubscription subscription = new StatusSubscription(emitter, StatusFilter.all());
+
+        subscription.offer(outlet(10, 1, "AVAILABLE", 0, 0));
+        subscription.drain();
+
+        assertTrue(subscription.isClosed());
+        assertFalse(subscription.offer(outlet(10, 1, "OCCUPIED", 0, 0)));
+    }
+}
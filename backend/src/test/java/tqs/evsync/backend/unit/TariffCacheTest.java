@@ -0,0 +1,46 @@
+package tqs.evsync.backend.unit;
+
+import org.junit.jupiter.api.Test;
+import tqs.evsync.backend.pricing.Tariff;
+import tqs.evsync.backend.pricing.TariffCache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TariffCacheTest {
+
+    private final TariffCache cache = new TariffCache();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Tariff load() {
+        loads.incrementAndGet();
+        return Tariff.FREE;
+    }
+
+    @Test
+    void testCompiledOnceUntilInvalidated() {
+        cache.get(1L, this::load);
+        cache.get(1L, this::load);
+        assertEquals(1, loads.get());
+
+        cache.invalidate(1L);
+        cache.get(1L, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testTariffLoadedDuringAnInvalidationIsNotKept() {
+        // The outlet is changed while its old rows are being compiled
+        Tariff stale = cache.get(1L, () -> {
+            cache.invalidate(1L);
+            return load();
+        });
+        assertSame(Tariff.FREE, stale);
+        assertEquals(0, cache.size());
+
+        cache.get(1L, this::load);
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.size());
+    }
+}
@@ -0,0 +1,85 @@
+package tqs.evsync.backend.unit;
+
+import org.junit.jupiter.api.Test;
+import tqs.evsync.backend.dto.TariffDefinition;
+import tqs.evsync.backend.dto.TariffDefinition.Band;
+import tqs.evsync.backend.pricing.Tariff;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TariffTest {
+
+    private static final double EPS = 1e-9;
+
+    // 6/h by day, 3/h overnight (22:00-06:00), 12/h peak (18:00-20:00)
+    private static final Tariff TOU = Tariff.compile(new TariffDefinition(6.0, 0.3, 0.5, 10, List.of(
+        new Band(22 * 60, 6 * 60, 3.0),
+        new Band(18 * 60, 20 * 60, 12.0))));
+
+    @Test
+    void testFlatRateMatchesMinutesTimesHourlyCost() {
+        Tariff flat = Tariff.compile(new TariffDefinition(10.0, 0, 0, 0, null));
+
+        assertEquals(15.0, flat.timeCost(LocalDateTime.parse("2025-06-01T09:00:00"), 90), EPS);
+        assertEquals(3.0, flat.reservationFee(LocalDateTime.parse("2025-06-01T09:00:00"), 90), EPS);
+        assertEquals(0.0, flat.timeCost(LocalDateTime.parse("2025-06-01T09:00:00"), 0), EPS);
+    }
+
+    @Test
+    void testTimeOfDayBands() {
+        assertEquals(12.0, TOU.timeCost(18 * 60, 60), EPS);
+        // 17:30-18:30: half an hour at 6 and half at 12
+        assertEquals(9.0, TOU.timeCost(17 * 60 + 30, 60), EPS);
+        // 21:00-23:00: one hour at 6 and one overnight at 3
+        assertEquals(9.0, TOU.timeCost(21 * 60, 120), EPS);
+    }
+
+    @Test
+    void testWrapsPastMidnightAndWholeDays() {
+        double day = TOU.timeCost(0, Tariff.MINUTES_PER_DAY);
+        // 8h at 3, 2h at 12, 14h at 6
+        assertEquals(8 * 3.0 + 2 * 12.0 + 14 * 6.0, day, EPS);
+        assertEquals(2 * 3.0, TOU.timeCost(23 * 60, 120), EPS);
+        assertEquals(2 * day + 2 * 3.0, TOU.timeCost(23 * 60, 2L * Tariff.MINUTES_PER_DAY + 120), EPS);
+    }
+
+    @Test
+    void testEnergyAndIdleComponents() {
+        assertEquals(3.0, TOU.energyCost(10.0), EPS);
+        assertEquals(0.0, TOU.energyCost(-1.0), EPS);
+        assertEquals(0.0, TOU.idleFee(10), EPS);
+        assertEquals(2.5, TOU.idleFee(15), EPS);
+        assertEquals(12.0 + 3.0 + 2.5,
+            TOU.price(LocalDateTime.parse("2025-06-01T18:00:00"), 60, 10.0, 15), EPS);
+    }
+
+    @Test
+    void testMatchesMinuteByMinuteSum() {
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            int start = random.nextInt(Tariff.MINUTES_PER_DAY);
+            int minutes = random.nextInt(3 * Tariff.MINUTES_PER_DAY);
+            double expected = 0;
+            for (int m = 0; m < minutes; m++) {
+                expected += TOU.timeCost((start + m) % Tariff.MINUTES_PER_DAY, 1);
+            }
+            assertEquals(expected, TOU.timeCost(start, minutes), 1e-6);
+        }
+    }
+
+    @Test
+    void testRejectsInvalidDefinitions() {
+        assertThrows(IllegalArgumentException.class,
+            () -> Tariff.compile(new TariffDefinition(-1.0, 0, 0, 0, null)));
+        assertThrows(IllegalArgumentException.class,
+            () -> Tariff.compile(new TariffDefinition(1.0, 0, 0, 0, List.of(new Band(60, 60, 2.0)))));
+        assertThrows(IllegalArgumentException.class,
+            () -> Tariff.compile(new TariffDefinition(1.0, 0, 0, 0, List.of(new Band(0, 1441, 2.0)))));
+        assertThrows(IllegalArgumentException.class,
+            () -> Tariff.compile(new TariffDefinition(1.0, Double.NaN, 0, 0, null)));
+    }
+}
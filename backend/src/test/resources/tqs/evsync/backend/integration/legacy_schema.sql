@@ -0,0 +1,110 @@
+-- Schema the entities produced under ddl-auto=update before migrations existed, from the
+-- first release; the starting point of databases that are baselined at V1
+
+create table app_user (
+    id bigint not null auto_increment,
+    user_type varchar(31) not null,
+    email varchar(255),
+    password varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table charging_outlet (
+    cost_per_hour float(53) not null,
+    is_available bit not null,
+    max_power integer not null,
+    charging_station_id bigint,
+    id bigint not null auto_increment,
+    status enum ('AVAILABLE','MAINTENANCE','OCCUPIED','OUT_OF_SERVICE'),
+    primary key (id)
+) engine=InnoDB;
+
+create table charging_session (
+    energy_consumed float(53) not null,
+    total_cost float(53) not null,
+    end_time datetime(6),
+    id bigint not null auto_increment,
+    outlet_id bigint,
+    reservation_id bigint,
+    start_time datetime(6),
+    status enum ('ACTIVE','CANCELLED','COMPLETED','INTERRUPTED'),
+    primary key (id)
+) engine=InnoDB;
+
+create table charging_station (
+    latitude float(53),
+    longitude float(53),
+    status tinyint,
+    id bigint not null auto_increment,
+    operator_id bigint,
+    primary key (id)
+) engine=InnoDB;
+
+create table consumer (
+    wallet float(53) not null,
+    id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table operator (
+    operator_type tinyint,
+    id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table reservation (
+    duration float(53),
+    reservation_fee float(53) not null,
+    consumer_id bigint,
+    id bigint not null auto_increment,
+    outlet_id bigint,
+    station_id bigint,
+    start_time varchar(255),
+    status enum ('CANCELLED','COMPLETED','CONFIRMED','IN_PROGRESS','PENDING'),
+    primary key (id)
+) engine=InnoDB;
+
+alter table charging_outlet
+   add constraint FKib11f4lcfajxsaadltavp2is5
+   foreign key (charging_station_id)
+   references charging_station (id);
+
+alter table charging_session
+   add constraint FK1rjoohexjybl64de9os8g986b
+   foreign key (outlet_id)
+   references charging_outlet (id);
+
+alter table charging_session
+   add constraint FK3hkrvdkm78bnph6aijcgql022
+   foreign key (reservation_id)
+   references reservation (id);
+
+alter table charging_station
+   add constraint FK1y2iil4jg5t7grj295ro9ptk
+   foreign key (operator_id)
+   references operator (id);
+
+alter table consumer
+   add constraint FKaijpubr7ef1e1opjol9xgvan2
+   foreign key (id)
+   references app_user (id);
+
+alter table operator
+   add constraint FKb02sy9767xq0au2yl9q0wvh1e
+   foreign key (id)
+   references app_user (id);
+
+alter table reservation
+   add constraint FKqi36dyfjynce4oihkgoy3ehlv
+   foreign key (consumer_id)
+   references consumer (id);
+
+alter table reservation
+   add constraint FK1gsqsxjctysvj931co1cvww13
+   foreign key (outlet_id)
+   references charging_outlet (id);
+
+alter table reservation
+   add constraint FKbtip2oka1pm5fkqokwrfkdaig
+   foreign key (station_id)
+   references charging_station (id);